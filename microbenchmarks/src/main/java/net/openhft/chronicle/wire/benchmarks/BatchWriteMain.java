@@ -0,0 +1,95 @@
+/*
+ *     Copyright (C) 2015-2020 chronicle.software
+ *
+ *     This program is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU Lesser General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License.
+ *
+ *     This program is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU Lesser General Public License for more details.
+ *
+ *     You should have received a copy of the GNU Lesser General Public License
+ *     along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package net.openhft.chronicle.wire.benchmarks;
+
+import net.openhft.chronicle.bytes.Bytes;
+import net.openhft.chronicle.core.Jvm;
+import net.openhft.chronicle.wire.BinaryWire;
+import net.openhft.chronicle.wire.DocumentContext;
+import net.openhft.chronicle.wire.WriteBatch;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.openjdk.jmh.runner.options.TimeValue;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares publishing each document with its own ordered header write vs a batch published with one.
+ */
+@State(Scope.Thread)
+public class BatchWriteMain {
+    static final int BATCH = 64;
+    final Bytes<?> bytes = Bytes.allocateDirect(BATCH * 512L).unchecked(true);
+    final BinaryWire wire = new BinaryWire(bytes);
+    @Param({"16", "64", "256"})
+    int messageSize;
+    byte[] payload;
+
+    public static void main(String... args) throws RunnerException {
+        int time = Jvm.getBoolean("longTest") ? 30 : 5;
+        System.out.println("measurementTime: " + time + " secs");
+        Options opt = new OptionsBuilder()
+                .include(BatchWriteMain.class.getSimpleName())
+                .warmupIterations(3)
+                .measurementIterations(3)
+                .forks(3)
+                .mode(Mode.AverageTime)
+                .warmupTime(TimeValue.seconds(2))
+                .measurementTime(TimeValue.seconds(time))
+                .timeUnit(TimeUnit.NANOSECONDS)
+                .build();
+
+        new Runner(opt).run();
+    }
+
+    @Setup
+    public void setup() {
+        // as for a queue shared between processes
+        wire.usePadding(true);
+        // the 4 byte header is part of the message
+        payload = new byte[messageSize - 4];
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH)
+    public long perMessage() {
+        bytes.clear();
+        for (int i = 0; i < BATCH; i++)
+            writeMessage();
+        return bytes.writePosition();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH)
+    public long batched() {
+        bytes.clear();
+        try (WriteBatch batch = wire.writingBatch()) {
+            for (int i = 0; i < BATCH; i++)
+                writeMessage();
+        }
+        return bytes.writePosition();
+    }
+
+    private void writeMessage() {
+        try (DocumentContext dc = wire.writingDocument()) {
+            dc.wire().bytes().write(payload);
+        }
+    }
+}
@@ -0,0 +1,116 @@
+/*
+ *     Copyright (C) 2015-2020 chronicle.software
+ *
+ *     This program is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU Lesser General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License.
+ *
+ *     This program is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU Lesser General Public License for more details.
+ *
+ *     You should have received a copy of the GNU Lesser General Public License
+ *     along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package net.openhft.chronicle.wire.benchmarks;
+
+import net.openhft.chronicle.bytes.Bytes;
+import net.openhft.chronicle.core.Jvm;
+import net.openhft.chronicle.wire.BinaryWire;
+import net.openhft.chronicle.wire.LongArrayValueBitSet;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.openjdk.jmh.runner.options.TimeValue;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The bulk operations of LongArrayValueBitSet compared with the per word volatile read or compare-and-swap.
+ */
+@State(Scope.Thread)
+public class BitSetBulkMain {
+    @Param({"1000000", "100000000"})
+    int bits;
+    Bytes<?> bytes, bytes2;
+    LongArrayValueBitSet set, set2;
+
+    public static void main(String... args) throws RunnerException {
+        int time = Jvm.getBoolean("longTest") ? 30 : 5;
+        System.out.println("measurementTime: " + time + " secs");
+        Options opt = new OptionsBuilder()
+                .include(BitSetBulkMain.class.getSimpleName())
+                .warmupIterations(3)
+                .measurementIterations(3)
+                .forks(3)
+                .mode(Mode.AverageTime)
+                .warmupTime(TimeValue.seconds(2))
+                .measurementTime(TimeValue.seconds(time))
+                .timeUnit(TimeUnit.MICROSECONDS)
+                .build();
+
+        new Runner(opt).run();
+    }
+
+    @Setup
+    public void setup() {
+        bytes = Bytes.allocateElasticDirect();
+        bytes2 = Bytes.allocateElasticDirect();
+        set = new LongArrayValueBitSet(bits, new BinaryWire(bytes));
+        set2 = new LongArrayValueBitSet(bits, new BinaryWire(bytes2));
+        Random random = new Random(1);
+        for (int i = 0; i < bits / 16; i++) {
+            set.set(random.nextInt(bits));
+            set2.set(random.nextInt(bits));
+        }
+        // so all the words are in use
+        set.set(bits - 1);
+        set2.set(bits - 1);
+    }
+
+    @TearDown
+    public void tearDown() {
+        set.close();
+        set2.close();
+        bytes.releaseLast();
+        bytes2.releaseLast();
+    }
+
+    @Benchmark
+    public int cardinality() {
+        return set.cardinality();
+    }
+
+    @Benchmark
+    public int cardinalitySnapshot() {
+        return set.cardinalitySnapshot();
+    }
+
+    @Benchmark
+    public void or() {
+        set.or(set2);
+    }
+
+    @Benchmark
+    public void orExclusive() {
+        set.orExclusive(set2);
+    }
+
+    @Benchmark
+    public long[] copyWordByWord() {
+        long[] words = new long[set.getWordsInUse()];
+        for (int i = 0; i < words.length; i++)
+            words[i] = set.getWord(i);
+        return words;
+    }
+
+    @Benchmark
+    public long[] toLongArray() {
+        return set.toLongArray();
+    }
+}
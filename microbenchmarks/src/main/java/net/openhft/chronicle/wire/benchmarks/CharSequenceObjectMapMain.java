@@ -0,0 +1,125 @@
+/*
+ *     Copyright (C) 2015-2020 chronicle.software
+ *
+ *     This program is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU Lesser General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License.
+ *
+ *     This program is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU Lesser General Public License for more details.
+ *
+ *     You should have received a copy of the GNU Lesser General Public License
+ *     along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package net.openhft.chronicle.wire.benchmarks;
+
+import net.openhft.chronicle.bytes.Bytes;
+import net.openhft.chronicle.core.Jvm;
+import net.openhft.chronicle.wire.CharSequenceObjectMap;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.openjdk.jmh.runner.options.TimeValue;
+
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares looking up field names with a TreeMap, as WireMarshaller used to, vs a CharSequenceObjectMap
+ * with a StringBuilder or a range of Bytes.
+ */
+@State(Scope.Thread)
+public class CharSequenceObjectMapMain {
+    final StringBuilder sb = new StringBuilder();
+    final Bytes<?> bytes = Bytes.allocateElasticDirect();
+    @Param({"8", "64", "512"})
+    int fields;
+    TreeMap<CharSequence, Integer> treeMap;
+    CharSequenceObjectMap<Integer> map;
+    String[] names;
+    long[] offsets;
+    int next;
+
+    public static void main(String... args) throws RunnerException {
+        int time = Jvm.getBoolean("longTest") ? 30 : 5;
+        System.out.println("measurementTime: " + time + " secs");
+        Options opt = new OptionsBuilder()
+                .include(CharSequenceObjectMapMain.class.getSimpleName())
+                .warmupIterations(3)
+                .measurementIterations(3)
+                .forks(3)
+                .mode(Mode.AverageTime)
+                .warmupTime(TimeValue.seconds(2))
+                .measurementTime(TimeValue.seconds(time))
+                .timeUnit(TimeUnit.NANOSECONDS)
+                .build();
+
+        new Runner(opt).run();
+    }
+
+    private static int compare(CharSequence cs0, CharSequence cs1) {
+        for (int i = 0, len = Math.min(cs0.length(), cs1.length()); i < len; i++) {
+            int cmp = Character.compare(cs0.charAt(i), cs1.charAt(i));
+            if (cmp != 0)
+                return cmp;
+        }
+        return Integer.compare(cs0.length(), cs1.length());
+    }
+
+    @Setup
+    public void setup() {
+        treeMap = new TreeMap<>(CharSequenceObjectMapMain::compare);
+        map = new CharSequenceObjectMap<>(fields * 2);
+        names = new String[fields];
+        offsets = new long[fields + 1];
+        bytes.clear();
+        for (int i = 0; i < fields; i++) {
+            String name = "field" + Integer.toString(i * 7919, 36);
+            names[i] = name;
+            treeMap.put(name, i);
+            map.put(name, i);
+            offsets[i] = bytes.writePosition();
+            bytes.append8bit(name);
+        }
+        offsets[fields] = bytes.writePosition();
+    }
+
+    @TearDown
+    public void tearDown() {
+        bytes.releaseLast();
+    }
+
+    private int nextIndex() {
+        if (++next >= fields)
+            next = 0;
+        return next;
+    }
+
+    private StringBuilder nextName() {
+        sb.setLength(0);
+        sb.append(names[nextIndex()]);
+        return sb;
+    }
+
+    @Benchmark
+    public Integer treeMap() {
+        return treeMap.get(nextName());
+    }
+
+    @Benchmark
+    public Integer charSequence() {
+        return map.get(nextName());
+    }
+
+    @Benchmark
+    public Integer bytesRange() {
+        int i = nextIndex();
+        long offset = offsets[i];
+        return map.get(bytes, offset, (int) (offsets[i + 1] - offset));
+    }
+}
@@ -0,0 +1,89 @@
+/*
+ *     Copyright (C) 2015-2020 chronicle.software
+ *
+ *     This program is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU Lesser General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License.
+ *
+ *     This program is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU Lesser General Public License for more details.
+ *
+ *     You should have received a copy of the GNU Lesser General Public License
+ *     along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+
+package net.openhft.chronicle.wire.benchmarks;
+
+import net.openhft.chronicle.bytes.Bytes;
+import net.openhft.chronicle.core.Jvm;
+import net.openhft.chronicle.wire.Wire;
+import net.openhft.chronicle.wire.WireType;
+import net.openhft.chronicle.wire.YamlWire;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.openjdk.jmh.runner.options.TimeValue;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Reading fixed point prices from JSON, YAML and TEXT compared with the general Bytes.parseDouble.
+ */
+@State(Scope.Thread)
+public class DoubleParseMain {
+    @Param({"TEXT", "YAML", "JSON"})
+    String wireType;
+    @Param({"1234.5678", "0.00012345", "1.2345678E9"})
+    String price;
+    Wire wire;
+    Bytes<?> bytes;
+
+    public static void main(String... args) throws RunnerException {
+        int time = Jvm.getBoolean("longTest") ? 30 : 5;
+        System.out.println("measurementTime: " + time + " secs");
+        Options opt = new OptionsBuilder()
+                .include(DoubleParseMain.class.getSimpleName())
+                .warmupIterations(3)
+                .measurementIterations(3)
+                .forks(3)
+                .mode(Mode.AverageTime)
+                .warmupTime(TimeValue.seconds(2))
+                .measurementTime(TimeValue.seconds(time))
+                .timeUnit(TimeUnit.NANOSECONDS)
+                .build();
+
+        new Runner(opt).run();
+    }
+
+    @Setup
+    public void setup() {
+        bytes = Bytes.allocateElasticDirect();
+        bytes.append(wireType.equals("JSON") ? "\"price\":" : "price: ").append(price).append('\n');
+        wire = WireType.valueOf(wireType).apply(bytes);
+    }
+
+    @TearDown
+    public void tearDown() {
+        bytes.releaseLast();
+    }
+
+    @Benchmark
+    public double readFloat64() {
+        if (wire instanceof YamlWire)
+            ((YamlWire) wire).reset();
+        else
+            bytes.readPosition(0);
+        return wire.read("price").float64();
+    }
+
+    @Benchmark
+    public double bytesParseDouble() {
+        bytes.readPosition(bytes.writePosition() - price.length() - 1);
+        return bytes.parseDouble();
+    }
+}
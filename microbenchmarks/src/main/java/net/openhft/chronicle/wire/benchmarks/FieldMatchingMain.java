@@ -0,0 +1,111 @@
+/*
+ *     Copyright (C) 2015-2020 chronicle.software
+ *
+ *     This program is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU Lesser General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License.
+ *
+ *     This program is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU Lesser General Public License for more details.
+ *
+ *     You should have received a copy of the GNU Lesser General Public License
+ *     along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package net.openhft.chronicle.wire.benchmarks;
+
+import net.openhft.chronicle.bytes.Bytes;
+import net.openhft.chronicle.core.Jvm;
+import net.openhft.chronicle.core.util.StringUtils;
+import net.openhft.chronicle.wire.*;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.openjdk.jmh.runner.options.TimeValue;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the cost of matching the fields of a 24 field DTO in BinaryWire by decoding each name into a StringBuilder
+ * vs comparing the pre-encoded name in place.
+ */
+@State(Scope.Thread)
+public class FieldMatchingMain {
+    static final int FIELDS = 24;
+    final Bytes<?> bytes = Bytes.allocateDirect(1024).unchecked(true);
+    final Wire wire = new BinaryWire(bytes, false, false, false, Integer.MAX_VALUE, "binary", false);
+    final String[] names = new String[FIELDS];
+    final WireKey[] encodedKeys = new WireKey[FIELDS];
+    final StringBuilder sb = new StringBuilder();
+    final Wide wide = new Wide();
+
+    public FieldMatchingMain() {
+        for (int i = 0; i < FIELDS; i++) {
+            names[i] = "field" + (char) ('A' + i) + "Value";
+            encodedKeys[i] = new EncodedWireKey(names[i]);
+        }
+        for (int i = 0; i < FIELDS; i++)
+            wire.write(names[i]).int64(i);
+    }
+
+    public static void main(String... args) throws RunnerException {
+        int time = Jvm.getBoolean("longTest") ? 30 : 5;
+        System.out.println("measurementTime: " + time + " secs");
+        Options opt = new OptionsBuilder()
+                .include(FieldMatchingMain.class.getSimpleName())
+                .warmupIterations(3)
+                .measurementIterations(3)
+                .forks(3)
+                .mode(Mode.AverageTime)
+                .warmupTime(TimeValue.seconds(2))
+                .measurementTime(TimeValue.seconds(time))
+                .timeUnit(TimeUnit.NANOSECONDS)
+                .build();
+
+        new Runner(opt).run();
+    }
+
+    // the path before pre-encoded keys, decode then compare
+    @Benchmark
+    @OperationsPerInvocation(FIELDS)
+    public long decodeThenCompare() {
+        bytes.readPosition(0);
+        long sum = 0;
+        for (int i = 0; i < FIELDS; i++) {
+            ValueIn in = wire.read(sb);
+            if (!StringUtils.isEqual(sb, names[i]))
+                throw new AssertionError();
+            sum += in.int64();
+        }
+        return sum;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(FIELDS)
+    public long matchInPlace() {
+        bytes.readPosition(0);
+        long sum = 0;
+        for (int i = 0; i < FIELDS; i++)
+            sum += wire.read(encodedKeys[i]).int64();
+        return sum;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(FIELDS)
+    public Wide readMarshallable() {
+        bytes.readPosition(0);
+        wide.readMarshallable(wire);
+        return wide;
+    }
+
+    static class Wide extends SelfDescribingMarshallable {
+        long fieldAValue, fieldBValue, fieldCValue, fieldDValue, fieldEValue, fieldFValue,
+                fieldGValue, fieldHValue, fieldIValue, fieldJValue, fieldKValue, fieldLValue,
+                fieldMValue, fieldNValue, fieldOValue, fieldPValue, fieldQValue, fieldRValue,
+                fieldSValue, fieldTValue, fieldUValue, fieldVValue, fieldWValue, fieldXValue;
+    }
+}
@@ -0,0 +1,99 @@
+/*
+ *     Copyright (C) 2015-2020 chronicle.software
+ *
+ *     This program is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU Lesser General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License.
+ *
+ *     This program is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU Lesser General Public License for more details.
+ *
+ *     You should have received a copy of the GNU Lesser General Public License
+ *     along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+
+package net.openhft.chronicle.wire.benchmarks;
+
+import net.openhft.chronicle.bytes.Bytes;
+import net.openhft.chronicle.core.Jvm;
+import net.openhft.chronicle.wire.Wire;
+import net.openhft.chronicle.wire.WireType;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.openjdk.jmh.runner.options.TimeValue;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Writing short identifiers and 1 KB of text as a String and as Bytes to TextWire, YamlWire and JSONWire, which
+ * is dominated by checking whether the text needs quotes or escaping.
+ */
+@State(Scope.Thread)
+public class TextEscapeMain {
+    @Param({"TEXT", "YAML", "JSON"})
+    String wireType;
+    @Param({"identifier", "1kb"})
+    String text;
+    Wire wire;
+    String string;
+    Bytes<?> bytes;
+
+    public static void main(String... args) throws RunnerException {
+        int time = Jvm.getBoolean("longTest") ? 30 : 5;
+        System.out.println("measurementTime: " + time + " secs");
+        Options opt = new OptionsBuilder()
+                .include(TextEscapeMain.class.getSimpleName())
+                .warmupIterations(3)
+                .measurementIterations(3)
+                .forks(3)
+                .mode(Mode.AverageTime)
+                .warmupTime(TimeValue.seconds(2))
+                .measurementTime(TimeValue.seconds(time))
+                .timeUnit(TimeUnit.NANOSECONDS)
+                .build();
+
+        new Runner(opt).run();
+    }
+
+    @Setup
+    public void setup() {
+        wire = WireType.valueOf(wireType).apply(Bytes.allocateElasticDirect());
+        if (text.equals("identifier")) {
+            string = "orderQuantity";
+        } else {
+            StringBuilder sb = new StringBuilder();
+            while (sb.length() < 1024)
+                sb.append("The quick brown fox jumps over the lazy dog 0123456789. ");
+            sb.setLength(1024);
+            string = sb.toString();
+        }
+        bytes = Bytes.allocateElasticDirect();
+        bytes.append8bit(string);
+    }
+
+    @TearDown
+    public void tearDown() {
+        wire.bytes().releaseLast();
+        bytes.releaseLast();
+    }
+
+    @Benchmark
+    public Wire writeString() {
+        wire.bytes().clear();
+        wire.getValueOut().text(string);
+        return wire;
+    }
+
+    @Benchmark
+    public Wire writeBytes() {
+        wire.bytes().clear();
+        wire.getValueOut().text(bytes);
+        return wire;
+    }
+}
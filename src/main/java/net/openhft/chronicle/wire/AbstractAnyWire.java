@@ -200,6 +200,12 @@ public abstract class AbstractAnyWire extends AbstractWire implements Wire {
         return wireAcquisition.acquireWire().acquireWritingDocument(metaData);
     }
 
+    @NotNull
+    @Override
+    public WriteBatch writingBatch() {
+        return wireAcquisition.acquireWire().writingBatch();
+    }
+
     @Override
     public String readingPeekYaml() {
         return wireAcquisition.acquireWire().readingPeekYaml();
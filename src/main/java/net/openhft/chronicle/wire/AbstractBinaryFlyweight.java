@@ -0,0 +1,104 @@
+/*
+ * Copyright 2016-2020 chronicle.software
+ *
+ * https://chronicle.software
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.openhft.chronicle.wire;
+
+import net.openhft.chronicle.bytes.Bytes;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Arrays;
+
+/**
+ * Base class for flyweights generated by {@link GenerateBinaryFlyweight}.
+ * <p>
+ * The offset of each field is found the first time it is asked for, scanning only as far as needed and noting any
+ * other known fields passed on the way.
+ */
+public abstract class AbstractBinaryFlyweight implements BinaryFlyweight {
+    private static final long UNKNOWN = -1;
+
+    private final EventNameHash fieldNames;
+    private final long[] offsets;
+    private Bytes<?> bytes;
+    private long scanPosition;
+    private long end;
+
+    protected AbstractBinaryFlyweight(@NotNull EventNameHash fieldNames) {
+        this.fieldNames = fieldNames;
+        this.offsets = new long[fieldNames.size()];
+        Arrays.fill(offsets, UNKNOWN);
+    }
+
+    @Override
+    public void bind(@NotNull DocumentContext dc) {
+        final Wire wire = dc.wire();
+        if (!(wire instanceof BinaryWire))
+            throw new IllegalArgumentException("Only BinaryWire can be viewed, was " + (wire == null ? null : wire.getClass()));
+        final Bytes<?> bytes = wire.bytes();
+        bind(bytes, bytes.readPosition(), bytes.readRemaining());
+    }
+
+    @Override
+    public void bind(@NotNull Bytes<?> bytes, long position, long length) {
+        this.bytes = bytes;
+        this.scanPosition = position;
+        this.end = position + length;
+        Arrays.fill(offsets, UNKNOWN);
+    }
+
+    /**
+     * @return the ValueIn for a field or null if this field is not in the message.
+     */
+    @Nullable
+    protected ValueIn valueIn(int index) {
+        final long offset = offsetOf(index);
+        if (offset < 0)
+            return null;
+        return Wires.binaryWireForRead(bytes, offset, end - offset).getValueIn();
+    }
+
+    private long offsetOf(int index) {
+        if (bytes == null)
+            throw new IllegalStateException("Not bound to a message");
+        while (offsets[index] == UNKNOWN && scanPosition < end)
+            scanField();
+        return offsets[index];
+    }
+
+    private void scanField() {
+        final BinaryWire wire = Wires.binaryWireForRead(bytes, scanPosition, end - scanPosition);
+        final Bytes<?> wireBytes = wire.bytes();
+        wire.consumePadding();
+        if (wireBytes.readRemaining() <= 0) {
+            scanPosition = end;
+            return;
+        }
+        final int index = fieldNames.readEventIndex(wire);
+        if (index < 0 && !wire.skipFieldName()) {
+            // not a field so nothing more can be indexed
+            scanPosition = end;
+            return;
+        }
+        final long valueStart = wireBytes.readPosition();
+        wire.getValueIn().skipValue();
+        scanPosition = wireBytes.readPosition();
+        // the first of a repeated field wins, as it would with read(name)
+        if (index >= 0 && offsets[index] == UNKNOWN)
+            offsets[index] = valueStart;
+    }
+}
@@ -1,14 +1,18 @@
 package net.openhft.chronicle.wire;
 
-import java.time.LocalDateTime;
-import java.time.ZoneId;
-import java.time.ZoneOffset;
-import java.time.ZonedDateTime;
+import net.openhft.chronicle.bytes.Bytes;
+import net.openhft.chronicle.bytes.BytesStore;
+
+import java.io.IOException;
+import java.time.*;
 import java.time.format.DateTimeFormatter;
 import java.time.format.DateTimeFormatterBuilder;
 import java.time.format.DateTimeParseException;
 import java.time.temporal.TemporalAccessor;
 import java.time.temporal.TemporalQueries;
+import java.time.zone.ZoneOffsetTransition;
+import java.time.zone.ZoneRules;
+import java.util.Arrays;
 import java.util.concurrent.TimeUnit;
 
 /**
@@ -20,14 +24,36 @@ import java.util.concurrent.TimeUnit;
  * <p>
  * Parsing of ISO dates with or without timestamps is supported. When an ISO date
  * is read with no timezone, it is assumed to be in the converter's zone.
+ * <p>
+ * The built-in converters parse and format the common {@code yyyy-MM-dd'T'HH:mm:ss[.fraction][offset]} form
+ * without creating any objects, from and to either text or bytes, see {@link #useFastISO()}. Other forms, and
+ * all values for other subclasses, use a DateTimeFormatter and the protected hooks.
  */
 public abstract class AbstractTimestampLongConverter implements LongConverter {
     public static final ZoneId UTC = ZoneId.of("UTC");
     public static final String TIMESTAMP_LONG_CONVERTERS_ZONE_ID_SYSTEM_PROPERTY = "timestampLongConverters.zoneId";
+    private static final long NO_VALUE = Long.MIN_VALUE;
+    private static final int NO_OFFSET = Integer.MIN_VALUE;
+    private static final int SECONDS_PER_HOUR = 3600;
+    private static final int SECONDS_PER_DAY = 86400;
+    // more than the largest zone offset so a local time can't be on the other side of a transition.
+    private static final int TRANSITION_MARGIN = SECONDS_PER_DAY;
+    private static final long OFFSET_MASK = 0xFFFFFF;
+    private static final long STABLE = 1L << 24;
+    // the last date with a four digit year as year * 10000 + month * 100 + day
+    private static final long MAX_DATE = 9999_12_31L;
+    private static final long[] POWERS_OF_TEN = {1, 10, 100, 1000, 10000, 100000, 1000000, 10000000, 100000000, 1000000000};
+
     private final ZoneId zoneId;
     private final DateTimeFormatter dtf;
     private final long amountPerSecond;
     private final long nanosPerAmount;
+    private final int fractionDigits;
+    private final boolean appendOffset;
+    private final int fixedOffset;
+    private final boolean fastISO;
+    // UTC hour << 32 | STABLE if there is no transition near this hour | offset in seconds
+    private volatile long offsetCache = Long.MIN_VALUE;
 
     protected AbstractTimestampLongConverter(TimeUnit timeUnit) {
         this(System.getProperty(TIMESTAMP_LONG_CONVERTERS_ZONE_ID_SYSTEM_PROPERTY, UTC.toString()), timeUnit);
@@ -38,12 +64,182 @@ public abstract class AbstractTimestampLongConverter implements LongConverter {
         this.amountPerSecond = timeUnit.convert(1, TimeUnit.SECONDS);
         this.nanosPerAmount = TimeUnit.NANOSECONDS.convert(1, timeUnit);
         this.dtf = createFormatter();
+        this.fractionDigits = Arrays.binarySearch(POWERS_OF_TEN, amountPerSecond);
+        // only a ZonedDateTime is formatted with an offset.
+        this.appendOffset = !this.zoneId.equals(UTC);
+        final ZoneRules rules = this.zoneId.getRules();
+        this.fixedOffset = rules.isFixedOffset() ? rules.getOffset(Instant.EPOCH).getTotalSeconds() : NO_OFFSET;
+        this.fastISO = fractionDigits >= 0 && useFastISO();
+    }
+
+    /**
+     * When true the common ISO form is parsed and formatted directly rather than with {@link #appendFraction},
+     * {@link #parseFormattedDate} and {@link #parseTimestamp}, with up to as many fraction digits as the time unit
+     * has. This is called once on construction.
+     *
+     * @return false unless a subclass reads and writes exactly what the built-in converters do.
+     */
+    protected boolean useFastISO() {
+        return false;
+    }
+
+    private static int digits(CharSequence text, int start, int count) {
+        int value = 0;
+        for (int i = start; i < start + count; i++) {
+            final int ch = text.charAt(i);
+            if (ch < '0' || ch > '9')
+                return -1;
+            value = value * 10 + (ch - '0');
+        }
+        return value;
+    }
+
+    private static boolean isLeapYear(long year) {
+        return (year & 3) == 0 && (year % 100 != 0 || year % 400 == 0);
+    }
+
+    private static int lengthOfMonth(int year, int month) {
+        switch (month) {
+            case 2:
+                return isLeapYear(year) ? 29 : 28;
+            case 4:
+            case 6:
+            case 9:
+            case 11:
+                return 30;
+            default:
+                return 31;
+        }
+    }
+
+    // days from civil, see http://howardhinnant.github.io/date_algorithms.html
+    static long epochDay(int year, int month, int day) {
+        final long y = month <= 2 ? year - 1 : year;
+        final long era = Math.floorDiv(y, 400);
+        final long yoe = y - era * 400;
+        final long doy = (153 * (month > 2 ? month - 3 : month + 9) + 2) / 5 + day - 1;
+        final long doe = yoe * 365 + yoe / 4 - yoe / 100 + doy;
+        return era * 146097 + doe - 719468;
+    }
+
+    // civil from days, see http://howardhinnant.github.io/date_algorithms.html
+    // returns year * 10000 + month * 100 + day
+    static long civilDate(long epochDay) {
+        final long z = epochDay + 719468;
+        final long era = Math.floorDiv(z, 146097);
+        final long doe = z - era * 146097;
+        final long yoe = (doe - doe / 1460 + doe / 36524 - doe / 146096) / 365;
+        final long doy = doe - (365 * yoe + yoe / 4 - yoe / 100);
+        final long mp = (5 * doy + 2) / 153;
+        final long day = doy - (153 * mp + 2) / 5 + 1;
+        final long month = mp < 10 ? mp + 3 : mp - 9;
+        final long year = yoe + era * 400 + (month <= 2 ? 1 : 0);
+        return year * 10000 + month * 100 + day;
+    }
+
+    private static void appendDigits(Appendable text, long value, int digits) throws IOException {
+        for (int i = digits - 1; i >= 0; i--)
+            text.append((char) ('0' + value / POWERS_OF_TEN[i] % 10));
+    }
+
+    /**
+     * @return the offset of a Z, +HH:MM or +HH:MM:SS suffix in seconds or NO_OFFSET if it isn't one of these.
+     */
+    private static int parseOffset(CharSequence text, int pos, int end) {
+        final int sign = text.charAt(pos);
+        if (sign == 'Z')
+            return pos + 1 == end ? 0 : NO_OFFSET;
+        if ((sign != '+' && sign != '-') || (end - pos != 6 && end - pos != 9) || text.charAt(pos + 3) != ':')
+            return NO_OFFSET;
+        final int hours = digits(text, pos + 1, 2);
+        final int minutes = digits(text, pos + 4, 2);
+        int seconds = 0;
+        if (end - pos == 9) {
+            if (text.charAt(pos + 6) != ':')
+                return NO_OFFSET;
+            seconds = digits(text, pos + 7, 2);
+        }
+        if (hours < 0 || hours > 18 || minutes < 0 || minutes > 59 || seconds < 0 || seconds > 59)
+            return NO_OFFSET;
+        final int total = hours * SECONDS_PER_HOUR + minutes * 60 + seconds;
+        return sign == '-' ? -total : total;
     }
 
     @Override
     public long parse(CharSequence text) {
         if (text == null || text.length() == 0)
             return 0;
+        if (fastISO) {
+            final long value = parseISO(text, 0, text.length());
+            if (value != NO_VALUE)
+                return value;
+        }
+        return parseWithFormatter(text);
+    }
+
+    @Override
+    public long parse(BytesStore<?, ?> bytes, long offset, int length) {
+        if (length == 0)
+            return 0;
+        // a BytesStore is a CharSequence of its readable bytes
+        final long from = offset - bytes.readPosition();
+        if (fastISO && from >= 0 && from + length <= bytes.readRemaining()) {
+            final long value = parseISO(bytes, (int) from, (int) from + length);
+            if (value != NO_VALUE)
+                return value;
+        }
+        return LongConverter.super.parse(bytes, offset, length);
+    }
+
+    /**
+     * Parses the characters from <code>from</code> up to <code>end</code>.
+     *
+     * @return the value or NO_VALUE if this isn't the common form and the formatter has to be used.
+     */
+    private long parseISO(CharSequence text, int from, int end) {
+        if (end - from < 19)
+            return NO_VALUE;
+        final int separator = text.charAt(from + 4);
+        if (!isDateSeparator(separator) || text.charAt(from + 7) != separator || text.charAt(from + 10) != 'T'
+                || text.charAt(from + 13) != ':' || text.charAt(from + 16) != ':')
+            return NO_VALUE;
+        final int year = digits(text, from, 4);
+        final int month = digits(text, from + 5, 2);
+        final int day = digits(text, from + 8, 2);
+        final int hour = digits(text, from + 11, 2);
+        final int minute = digits(text, from + 14, 2);
+        final int second = digits(text, from + 17, 2);
+        if (year < 1 || month < 1 || month > 12 || day < 1 || day > lengthOfMonth(year, month)
+                || hour < 0 || hour > 23 || minute < 0 || minute > 59 || second < 0 || second > 59)
+            return NO_VALUE;
+
+        int pos = from + 19;
+        long fraction = 0;
+        if (pos < end && text.charAt(pos) == '.') {
+            final int start = ++pos;
+            for (int ch; pos < end && (ch = text.charAt(pos)) >= '0' && ch <= '9'; pos++)
+                fraction = fraction * 10 + (ch - '0');
+            final int count = pos - start;
+            if (count == 0 || count > fractionDigits)
+                return NO_VALUE;
+            fraction *= POWERS_OF_TEN[fractionDigits - count];
+        }
+
+        final long localSecond = epochDay(year, month, day) * SECONDS_PER_DAY
+                + hour * SECONDS_PER_HOUR + minute * 60 + second;
+        final int zoneOffset = pos == end
+                ? offsetForLocal(localSecond)
+                : parseOffset(text, pos, end);
+        if (zoneOffset == NO_OFFSET)
+            return NO_VALUE;
+        return (localSecond - zoneOffset) * amountPerSecond + fraction;
+    }
+
+    private static boolean isDateSeparator(int ch) {
+        return ch == '-' || ch == '/';
+    }
+
+    long parseWithFormatter(CharSequence text) {
         try {
             if (text.length() > 4 && text.charAt(4) == '/')
                 text = text.toString().replace('/', '-');
@@ -99,6 +295,122 @@ public abstract class AbstractTimestampLongConverter implements LongConverter {
             text.append(value);
             return;
         }
+        if (!appendISO(text, value))
+            appendWithFormatter(text, value);
+    }
+
+    @Override
+    public void append(Bytes<?> text, long value) {
+        if (value <= 0) {
+            text.append(value);
+            return;
+        }
+        if (!appendISO(text, value)) {
+            final StringBuilder sb = Wires.acquireStringBuilder();
+            appendWithFormatter(sb, value);
+            text.append(sb);
+        }
+    }
+
+    /**
+     * @return false if the value couldn't be appended in the common form, in which case nothing was appended.
+     */
+    private boolean appendISO(Appendable text, long value) {
+        if (!fastISO)
+            return false;
+        final long epochSecond = value / amountPerSecond;
+        final int offset = offsetForUTC(epochSecond);
+        final long localSecond = epochSecond + offset;
+        final long date = civilDate(Math.floorDiv(localSecond, SECONDS_PER_DAY));
+        if (date > MAX_DATE)
+            return false;
+        final int secondOfDay = (int) Math.floorMod(localSecond, SECONDS_PER_DAY);
+        try {
+            appendDigits(text, date / 10000, 4);
+            text.append('-');
+            appendDigits(text, date / 100 % 100, 2);
+            text.append('-');
+            appendDigits(text, date % 100, 2);
+            text.append('T');
+            appendDigits(text, secondOfDay / SECONDS_PER_HOUR, 2);
+            text.append(':');
+            appendDigits(text, secondOfDay / 60 % 60, 2);
+            text.append(':');
+            appendDigits(text, secondOfDay % 60, 2);
+            long fraction = value % amountPerSecond;
+            if (fraction != 0) {
+                int digits = fractionDigits;
+                for (; fraction % 10 == 0; digits--)
+                    fraction /= 10;
+                text.append('.');
+                appendDigits(text, fraction, digits);
+            }
+            if (appendOffset)
+                appendOffset(text, offset);
+        } catch (IOException e) {
+            throw new AssertionError(e);
+        }
+        return true;
+    }
+
+    private static void appendOffset(Appendable text, int offset) throws IOException {
+        if (offset == 0) {
+            text.append('Z');
+            return;
+        }
+        text.append(offset < 0 ? '-' : '+');
+        final int abs = Math.abs(offset);
+        appendDigits(text, abs / SECONDS_PER_HOUR, 2);
+        text.append(':');
+        appendDigits(text, abs / 60 % 60, 2);
+        if (abs % 60 != 0) {
+            text.append(':');
+            appendDigits(text, abs % 60, 2);
+        }
+    }
+
+    private int offsetForUTC(long epochSecond) {
+        if (fixedOffset != NO_OFFSET)
+            return fixedOffset;
+        final long entry = offsetEntry(epochSecond);
+        if ((entry & STABLE) != 0)
+            return offsetOf(entry);
+        return zoneId.getRules().getOffset(Instant.ofEpochSecond(epochSecond)).getTotalSeconds();
+    }
+
+    /**
+     * @return the offset for a local time or NO_OFFSET if there is a transition near it.
+     */
+    private int offsetForLocal(long localSecond) {
+        if (fixedOffset != NO_OFFSET)
+            return fixedOffset;
+        // the local time is within TRANSITION_MARGIN of the same UTC time.
+        final long entry = offsetEntry(localSecond);
+        return (entry & STABLE) != 0 ? offsetOf(entry) : NO_OFFSET;
+    }
+
+    private static int offsetOf(long entry) {
+        return (int) (entry << 40 >> 40);
+    }
+
+    private long offsetEntry(long epochSecond) {
+        final long hour = Math.floorDiv(epochSecond, SECONDS_PER_HOUR);
+        long entry = offsetCache;
+        if ((entry >> 32) != hour)
+            offsetCache = entry = newOffsetEntry(hour);
+        return entry;
+    }
+
+    private long newOffsetEntry(long hour) {
+        final long start = hour * SECONDS_PER_HOUR;
+        final ZoneRules rules = zoneId.getRules();
+        final int offset = rules.getOffset(Instant.ofEpochSecond(start)).getTotalSeconds();
+        final ZoneOffsetTransition next = rules.nextTransition(Instant.ofEpochSecond(start - TRANSITION_MARGIN));
+        final boolean stable = next == null || next.toEpochSecond() >= start + SECONDS_PER_HOUR + TRANSITION_MARGIN;
+        return (hour << 32) | (stable ? STABLE : 0) | (offset & OFFSET_MASK);
+    }
+
+    void appendWithFormatter(StringBuilder text, long value) {
         LocalDateTime ldt = LocalDateTime.ofEpochSecond(
                 value / amountPerSecond,
                 (int) (value % amountPerSecond * nanosPerAmount),
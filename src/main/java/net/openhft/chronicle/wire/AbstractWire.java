@@ -55,6 +55,8 @@ public abstract class AbstractWire implements Wire {
     protected final boolean use8bit;
 
     protected ClassLookup classLookup = ClassAliasPool.CLASS_ALIASES;
+    @NotNull
+    protected WireInterner interner = WireInterners.defaultInterner();
     protected Object parent;
     int usedCount = 0;
     private Pauser pauser;
@@ -103,6 +105,21 @@ public abstract class AbstractWire implements Wire {
         this.pauser = pauser;
     }
 
+    /**
+     * @return the interner used for text read by this wire
+     */
+    @NotNull
+    public WireInterner interner() {
+        return interner;
+    }
+
+    /**
+     * Use a different interner e.g. one per thread or one for just this wire, see {@link WireInterners}
+     */
+    public void interner(@NotNull WireInterner interner) {
+        this.interner = interner;
+    }
+
     @Override
     public void clear() {
         bytes.clear();
@@ -17,6 +17,9 @@
  */
 package net.openhft.chronicle.wire;
 
+import net.openhft.chronicle.bytes.Bytes;
+import net.openhft.chronicle.bytes.BytesStore;
+import net.openhft.chronicle.bytes.BytesUtil;
 import net.openhft.chronicle.core.Jvm;
 import net.openhft.chronicle.core.util.StringUtils;
 
@@ -38,6 +41,15 @@ public class Base128LongConverter implements LongConverter {
         return v;
     }
 
+    @Override
+    public long parse(BytesStore<?, ?> bytes, long offset, int length) {
+        lengthCheck(bytes, offset, length);
+        long v = 0;
+        for (int i = 0; i < length; i++)
+            v = (v << 7) + bytes.readUnsignedByte(offset + i);
+        return v;
+    }
+
     @Override
     public void append(StringBuilder text, long value) {
         int start = text.length();
@@ -52,4 +64,20 @@ public class Base128LongConverter implements LongConverter {
             text.setLength(start + maxParseLength());
         }
     }
+
+    @Override
+    public void append(Bytes<?> text, long value) {
+        final long rp = text.readPosition();
+        final int start = text.length();
+        while (value != 0) {
+            text.writeByte((byte) (value & 0x7F));
+            value >>>= 7;
+        }
+        BytesUtil.reverse(text, start);
+
+        if (text.length() > start + maxParseLength()) {
+            Jvm.warn().on(getClass(), "truncated because the value was too large");
+            text.readLimit(rp + start + maxParseLength());
+        }
+    }
 }
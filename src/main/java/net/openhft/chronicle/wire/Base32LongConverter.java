@@ -17,6 +17,9 @@
  */
 package net.openhft.chronicle.wire;
 
+import net.openhft.chronicle.bytes.Bytes;
+import net.openhft.chronicle.bytes.BytesStore;
+import net.openhft.chronicle.bytes.BytesUtil;
 import net.openhft.chronicle.core.Jvm;
 import net.openhft.chronicle.core.util.StringUtils;
 
@@ -48,6 +51,18 @@ public class Base32LongConverter implements LongConverter {
         return v;
     }
 
+    @Override
+    public long parse(BytesStore<?, ?> bytes, long offset, int length) {
+        lengthCheck(bytes, offset, length);
+        long v = 0;
+        for (int i = 0; i < length; i++) {
+            byte b = ENCODE[bytes.readUnsignedByte(offset + i)];
+            if (b >= 0)
+                v = (v << 5) + (b & 0xff);
+        }
+        return v;
+    }
+
     @Override
     public void append(StringBuilder text, long value) {
         int start = text.length();
@@ -62,4 +77,20 @@ public class Base32LongConverter implements LongConverter {
             text.setLength(start + maxParseLength());
         }
     }
+
+    @Override
+    public void append(Bytes<?> text, long value) {
+        final long rp = text.readPosition();
+        final int start = text.length();
+        while (value != 0) {
+            int v = (int) (value & (BASE - 1));
+            value >>>= 5;
+            text.append(DECODE[v]);
+        }
+        BytesUtil.reverse(text, start);
+        if (text.length() > start + maxParseLength()) {
+            Jvm.warn().on(getClass(), "truncated because the value was too large");
+            text.readLimit(rp + start + maxParseLength());
+        }
+    }
 }
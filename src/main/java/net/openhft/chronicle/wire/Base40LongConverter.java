@@ -17,6 +17,9 @@
  */
 package net.openhft.chronicle.wire;
 
+import net.openhft.chronicle.bytes.Bytes;
+import net.openhft.chronicle.bytes.BytesStore;
+import net.openhft.chronicle.bytes.BytesUtil;
 import net.openhft.chronicle.core.Jvm;
 import net.openhft.chronicle.core.util.StringUtils;
 
@@ -66,6 +69,18 @@ public class Base40LongConverter implements LongConverter {
         return v;
     }
 
+    @Override
+    public long parse(BytesStore<?, ?> bytes, long offset, int length) {
+        lengthCheck(bytes, offset, length);
+        long v = 0;
+        for (int i = 0; i < length; i++) {
+            byte b = encode[bytes.readUnsignedByte(offset + i)];
+            if (b >= 0)
+                v = v * BASE + b;
+        }
+        return v;
+    }
+
     @Override
     public void append(StringBuilder text, long value) {
         final int start = text.length();
@@ -89,4 +104,29 @@ public class Base40LongConverter implements LongConverter {
             text.setLength(start + maxParseLength());
         }
     }
+
+    @Override
+    public void append(Bytes<?> text, long value) {
+        final long rp = text.readPosition();
+        final int start = text.length();
+        if (value < 0) {
+            long hi = (value >>> 32);
+            long h2 = hi / BASE;
+            long mod = hi % BASE;
+            long val2 = (mod << 32) + (value & 0xFFFFFFFFL);
+            int l2 = (int) (val2 / BASE), v = (int) (val2 % BASE);
+            text.append(decode[v]);
+            value = (h2 << 32) + (l2 & 0xFFFFFFFFL);
+        }
+        while (value != 0) {
+            int v = (int) (value % BASE);
+            value /= BASE;
+            text.append(decode[v]);
+        }
+        BytesUtil.reverse(text, start);
+        if (text.length() > start + maxParseLength()) {
+            Jvm.warn().on(getClass(), "truncated because the value was too large");
+            text.readLimit(rp + start + maxParseLength());
+        }
+    }
 }
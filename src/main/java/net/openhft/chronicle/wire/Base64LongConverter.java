@@ -17,6 +17,9 @@
  */
 package net.openhft.chronicle.wire;
 
+import net.openhft.chronicle.bytes.Bytes;
+import net.openhft.chronicle.bytes.BytesStore;
+import net.openhft.chronicle.bytes.BytesUtil;
 import net.openhft.chronicle.core.Jvm;
 import net.openhft.chronicle.core.util.StringUtils;
 
@@ -55,6 +58,18 @@ public class Base64LongConverter implements LongConverter {
         return v;
     }
 
+    @Override
+    public long parse(BytesStore<?, ?> bytes, long offset, int length) {
+        lengthCheck(bytes, offset, length);
+        long v = 0;
+        for (int i = 0; i < length; i++) {
+            byte b = LOOKUP[bytes.readUnsignedByte(offset + i)];
+            if (b >= 0)
+                v = (v << 6) + (b & 0xff);
+        }
+        return v;
+    }
+
     @Override
     public void append(StringBuilder text, long value) {
         final int start = text.length();
@@ -69,4 +84,20 @@ public class Base64LongConverter implements LongConverter {
             text.setLength(start + maxParseLength());
         }
     }
+
+    @Override
+    public void append(Bytes<?> text, long value) {
+        final long rp = text.readPosition();
+        final int start = text.length();
+        while (value != 0) {
+            text.append(CODES[(int) (value & 0x3F)]);
+            value >>>= 6;
+        }
+        BytesUtil.reverse(text, start);
+
+        if (text.length() > start + maxParseLength()) {
+            Jvm.warn().on(getClass(), "truncated because the value was too large");
+            text.readLimit(rp + start + maxParseLength());
+        }
+    }
 }
@@ -18,6 +18,7 @@
 package net.openhft.chronicle.wire;
 
 import net.openhft.chronicle.bytes.Bytes;
+import net.openhft.chronicle.bytes.BytesStore;
 import net.openhft.chronicle.bytes.BytesUtil;
 import net.openhft.chronicle.core.Jvm;
 import net.openhft.chronicle.core.util.StringUtils;
@@ -65,6 +66,18 @@ public class Base85LongConverter implements LongConverter {
         return v;
     }
 
+    @Override
+    public long parse(BytesStore<?, ?> bytes, long offset, int length) {
+        lengthCheck(bytes, offset, length);
+        long v = 0;
+        for (int i = 0; i < length; i++) {
+            byte b = ENCODE[bytes.readUnsignedByte(offset + i)];
+            if (b >= 0)
+                v = v * BASE + b;
+        }
+        return v;
+    }
+
     @Override
     public void append(StringBuilder text, long value) {
         final int start = text.length();
@@ -90,8 +103,8 @@ public class Base85LongConverter implements LongConverter {
         }
     }
 
+    @Override
     public void append(Bytes<?> text, long value) {
-        lengthCheck(text);
         final long rp = text.readPosition();
         int start = text.length();
         if (value < 0) {
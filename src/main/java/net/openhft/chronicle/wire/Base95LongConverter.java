@@ -17,6 +17,9 @@
  */
 package net.openhft.chronicle.wire;
 
+import net.openhft.chronicle.bytes.Bytes;
+import net.openhft.chronicle.bytes.BytesStore;
+import net.openhft.chronicle.bytes.BytesUtil;
 import net.openhft.chronicle.core.Jvm;
 import net.openhft.chronicle.core.util.StringUtils;
 
@@ -45,6 +48,15 @@ public class Base95LongConverter implements LongConverter {
         return v;
     }
 
+    @Override
+    public long parse(BytesStore<?, ?> bytes, long offset, int length) {
+        lengthCheck(bytes, offset, length);
+        long v = 0;
+        for (int i = 0; i < length; i++)
+            v = v * BASE + bytes.readUnsignedByte(offset + i) - ' ' + 1;
+        return v;
+    }
+
     @Override
     public void append(StringBuilder text, long value) {
         int start = text.length();
@@ -65,4 +77,26 @@ public class Base95LongConverter implements LongConverter {
             text.setLength(start + maxParseLength());
         }
     }
+
+    @Override
+    public void append(Bytes<?> text, long value) {
+        final long rp = text.readPosition();
+        final int start = text.length();
+        if (value < 0) {
+            BigInteger bi = BigInteger.valueOf(value).add(TWO_TO_64);
+            int v = bi.mod(BASE_BI).intValueExact();
+            value = bi.divide(BASE_BI).longValueExact();
+            text.append((char) (' ' + v - 1));
+        }
+        while (value != 0) {
+            int v = (int) (value % BASE);
+            value /= BASE;
+            text.append((char) (' ' + v - 1));
+        }
+        BytesUtil.reverse(text, start);
+        if (text.length() > start + maxParseLength()) {
+            Jvm.warn().on(getClass(), "truncated because the value was too large");
+            text.readLimit(rp + start + maxParseLength());
+        }
+    }
 }
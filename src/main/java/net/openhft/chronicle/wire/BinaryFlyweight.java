@@ -0,0 +1,39 @@
+/*
+ * Copyright 2016-2020 chronicle.software
+ *
+ * https://chronicle.software
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.openhft.chronicle.wire;
+
+import net.openhft.chronicle.bytes.Bytes;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * A view over a BinaryWire message which decodes fields in place, only when they are asked for.
+ * <p>
+ * An interface of getters can extend this to bind it directly, see {@link Wires#binaryFlyweight(Class)}
+ */
+public interface BinaryFlyweight {
+    /**
+     * Bind to the rest of the current document, the read position is not changed.
+     */
+    void bind(@NotNull DocumentContext dc);
+
+    /**
+     * Bind to a range of bytes containing fields written by a BinaryWire. The bytes are not copied so must not be
+     * changed while the view is in use.
+     */
+    void bind(@NotNull Bytes<?> bytes, long position, long length);
+}
@@ -34,6 +34,8 @@ public class BinaryReadDocumentContext implements ReadDocumentContext {
     protected boolean present;
     protected boolean notComplete;
     protected long readPosition;
+    // where the content after the header starts, or -1 if unknown
+    private long contentStart = -1;
     protected long readLimit;
     protected boolean metaData;
     protected boolean rollback;
@@ -106,6 +108,18 @@ public class BinaryReadDocumentContext implements ReadDocumentContext {
         }
     }
 
+    /**
+     * The document wasn't read to the end, so remember any strings it anchors for later documents to refer to.
+     * This reads from the start of the document as close may have been called in the middle of a value.
+     */
+    private static void registerSkippedStringAnchors(BinaryWire wire, long start, long end) {
+        try {
+            wire.registerStringAnchors(start, end);
+        } catch (Exception e) {
+            Jvm.warn().on(BinaryReadDocumentContext.class, e);
+        }
+    }
+
     @Override
     public void close() {
         if (rollbackIfNeeded())
@@ -119,6 +133,11 @@ public class BinaryReadDocumentContext implements ReadDocumentContext {
             fullReadForDeltaWire(wire0, start);
         }
 
+        if (present && contentStart >= 0 && wire0 instanceof BinaryWire
+                && ((BinaryWire) wire0).getStringDictionary() > 0 && wire0.bytes().readPosition() < readPosition)
+            registerSkippedStringAnchors((BinaryWire) wire0, contentStart, readPosition);
+        contentStart = -1;
+
         start = -1;
         if (readLimit > 0 && wire0 != null) {
             @NotNull final Bytes<?> bytes = wire0.bytes();
@@ -155,6 +174,7 @@ public class BinaryReadDocumentContext implements ReadDocumentContext {
         wire.getValueIn().resetState();
         wire.getValueOut().resetBetweenDocuments();
         readPosition = readLimit = -1;
+        contentStart = -1;
         @NotNull final Bytes<?> bytes = wire.bytes();
         setStart(bytes.readPosition());
 
@@ -185,6 +205,7 @@ public class BinaryReadDocumentContext implements ReadDocumentContext {
         metaData = Wires.isReadyMetaData(header);
         readLimit = bytes.readLimit();
         readPosition = bytes.readPosition() + len;
+        contentStart = bytes.readPosition();
 
         bytes.readLimit(readPosition);
         present = true;
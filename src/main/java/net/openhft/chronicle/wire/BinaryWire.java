@@ -20,9 +20,7 @@ package net.openhft.chronicle.wire;
 import net.openhft.chronicle.bytes.*;
 import net.openhft.chronicle.bytes.internal.NativeBytesStore;
 import net.openhft.chronicle.bytes.ref.*;
-import net.openhft.chronicle.bytes.util.Bit8StringInterner;
 import net.openhft.chronicle.bytes.util.Compression;
-import net.openhft.chronicle.bytes.util.UTF8StringInterner;
 import net.openhft.chronicle.core.ClassLocal;
 import net.openhft.chronicle.core.Jvm;
 import net.openhft.chronicle.core.Maths;
@@ -61,8 +59,6 @@ import static net.openhft.chronicle.wire.Wires.GENERATE_TUPLES;
 public class BinaryWire extends AbstractWire implements Wire {
 
     private static final boolean SUPPORT_DELTA = supportDelta();
-    private static final UTF8StringInterner UTF8 = new UTF8StringInterner(4096);
-    private static final Bit8StringInterner BIT8 = new Bit8StringInterner(1024);
     private static final ClassValue<Boolean> USES_SELF_DESCRIBING = ClassLocal.withInitial(k -> {
         Object m = ObjectUtils.newInstance(k);
         if (m instanceof Marshallable)
@@ -70,6 +66,17 @@ public class BinaryWire extends AbstractWire implements Wire {
         return true;
     });
     private static int SPEC = Integer.getInteger("BinaryWire.SPEC", 18);
+    private static final boolean WRITE_SCHEMA_HASH = Jvm.getBoolean("wire.writeSchemaHash");
+    static final int MIN_DICTIONARY_LENGTH = 4;
+    static final int MAX_DICTIONARY_LENGTH = 128;
+    static final String RESET_STRING_DICTIONARY = "resetStringDictionary";
+    // the most strings a reader without setStringDictionary will accept references to
+    static final int DEFAULT_STRING_DICTIONARY_LIMIT = Integer.getInteger("wire.stringDictionary.limit", 1 << 16);
+    private static final String[] NO_STRINGS = {};
+    // a schema hash is written as PADDING32, the length, this marker and the 64-bit hash so older readers skip it.
+    private static final int SCHEMA_HASH_MARKER = 'S';
+    private static final int SCHEMA_HASH_PADDING = 1 + 8;
+    private static final int SCHEMA_HASH_LENGTH = 1 + 4 + SCHEMA_HASH_PADDING;
     private final FixedBinaryValueOut fixedValueOut = new FixedBinaryValueOut();
     @NotNull
     private final FixedBinaryValueOut valueOut;
@@ -78,13 +85,19 @@ public class BinaryWire extends AbstractWire implements Wire {
     private final boolean numericFields;
     private final boolean fieldLess;
     private final int compressedSize;
-    private final WriteDocumentContext writeContext = new BinaryWriteDocumentContext(this);
+    private final BinaryWriteDocumentContext writeContext = new BinaryWriteDocumentContext(this);
     @NotNull
     private final BinaryReadDocumentContext readContext;
     private final StringBuilder stringBuilder = new StringBuilder();
     private DefaultValueIn defaultValueIn;
     private String compression;
     private Boolean overrideSelfDescribing = null;
+    private boolean writeSchemaHash = WRITE_SCHEMA_HASH;
+    // strings written by reference, null unless enabled with setStringDictionary
+    private CharSequenceObjectMap<Integer> stringsOut;
+    private int stringDictionaryCapacity;
+    private String[] stringsIn = NO_STRINGS;
+    private final StringBuilder anchorBuilder = new StringBuilder();
 
     public BinaryWire(@NotNull Bytes bytes) {
         this(bytes, false, false, false, Integer.MAX_VALUE, "binary", SUPPORT_DELTA);
@@ -133,6 +146,71 @@ public class BinaryWire extends AbstractWire implements Wire {
         return this;
     }
 
+    /**
+     * @return whether marshallables written by a WireMarshaller start with a hash of their field names and types.
+     */
+    public boolean isWriteSchemaHash() {
+        return writeSchemaHash;
+    }
+
+    /**
+     * @param writeSchemaHash when true, marshallables written by a WireMarshaller start with a hash of their field
+     *                        names and types, allowing a reader with the same schema to read the values positionally.
+     */
+    public BinaryWire setWriteSchemaHash(boolean writeSchemaHash) {
+        this.writeSchemaHash = writeSchemaHash;
+        return this;
+    }
+
+    public String getCompression() {
+        return compression;
+    }
+
+    /**
+     * @param compression the name of a {@link WireCompression} to use for bytes of at least the compressed size.
+     */
+    public BinaryWire setCompression(String compression) {
+        this.compression = WireCompressions.acquire(compression).name();
+        return this;
+    }
+
+    public int getStringDictionary() {
+        return stringDictionaryCapacity;
+    }
+
+    /**
+     * Repeated text of {@value #MIN_DICTIONARY_LENGTH} to {@value #MAX_DICTIONARY_LENGTH} characters is written as
+     * a reference to the first time it was written, up to <code>capacity</code> distinct strings. This is for a
+     * stream which is read in order from the start or a {@link #resetStringDictionary()}, e.g. a connection.
+     * <p>
+     * A reader should be given at least the writer's capacity. This bounds the references it accepts, and it also
+     * reads the strings anchored in values it skips so later references to them can be resolved. A reader without
+     * a dictionary only remembers the strings it reads and accepts up to <code>-Dwire.stringDictionary.limit</code>
+     * of them.
+     *
+     * @param capacity the maximum number of strings to remember, or 0 to disable.
+     */
+    public BinaryWire setStringDictionary(int capacity) {
+        this.stringDictionaryCapacity = capacity;
+        this.stringsOut = capacity > 0 ? new CharSequenceObjectMap<>(capacity * 2) : null;
+        return this;
+    }
+
+    /**
+     * Forget the strings written so far, writing a metadata document to show where this happened.
+     * <p>
+     * Readers don't need to act on this document as each string is sent in full again before it is referenced.
+     */
+    public void resetStringDictionary() {
+        if (stringsOut == null)
+            return;
+        int size = stringsOut.size();
+        stringsOut = new CharSequenceObjectMap<>(stringDictionaryCapacity * 2);
+        try (DocumentContext dc = writingDocument(true)) {
+            dc.wire().write(RESET_STRING_DICTIONARY).int32(size);
+        }
+    }
+
     @NotNull
     public static BinaryWire binaryOnly(@NotNull Bytes bytes) {
         return new BinaryWire(bytes, false, false, false, Integer.MAX_VALUE, "binary", false);
@@ -193,6 +271,12 @@ public class BinaryWire extends AbstractWire implements Wire {
         return writingDocument(metaData);
     }
 
+    @NotNull
+    @Override
+    public WriteBatch writingBatch() {
+        return writeContext.startBatch();
+    }
+
     @NotNull
     @Override
     public DocumentContext readingDocument() {
@@ -325,6 +409,14 @@ public class BinaryWire extends AbstractWire implements Wire {
                         wire.write(sb);
                         break outerSwitch;
                     }
+                    case STRING_ANCHOR:
+                        bytes.uncheckedReadSkipOne();
+                        wire.getValueOut().text(readStringAnchor());
+                        break outerSwitch;
+                    case STRING_REF:
+                        bytes.uncheckedReadSkipOne();
+                        wire.getValueOut().text(readStringRef());
+                        break outerSwitch;
                     case ANCHOR:
                     case UPDATED_ALIAS: {
                         @Nullable final Object o = valueIn.object();
@@ -454,9 +546,41 @@ public class BinaryWire extends AbstractWire implements Wire {
     @NotNull
     @Override
     public ValueIn read(@NotNull WireKey key) {
+        if (key instanceof EncodedWireKey && !fieldLess && readFieldInPlace((EncodedWireKey) key))
+            return valueIn;
         return read(key.name(), key.code(), key, WireKey::defaultValue);
     }
 
+    /**
+     * Fast path for fields arriving in the expected order, compares the encoded field name in place without decoding it.
+     *
+     * @return true if the next field matched and has been consumed.
+     */
+    private boolean readFieldInPlace(@NotNull EncodedWireKey key) {
+        final byte[] encoded = key.binaryField();
+        if (encoded == null || valueIn.curr().savedPosition() > 0)
+            return false;
+        int peekCode = peekCodeAfterPadding();
+        if (peekCode != (encoded[0] & 0xFF))
+            return false;
+        final int length = encoded.length;
+        if (bytes.readRemaining() < length)
+            return false;
+        final long pos = bytes.readPosition();
+        final long[] words = key.binaryWords();
+        int i = 0;
+        for (long word : words) {
+            if (bytes.readLong(pos + i) != word)
+                return false;
+            i += 8;
+        }
+        for (; i < length; i++)
+            if (bytes.readByte(pos + i) != encoded[i])
+                return false;
+        bytes.readSkip(length);
+        return true;
+    }
+
     private <T> ValueIn read(CharSequence keyName, int keyCode, T defaultSource, @NotNull Function<T, Object> defaultLookup) {
         ValueInState curr = valueIn.curr();
         @NotNull StringBuilder sb = acquireStringBuilder();
@@ -597,10 +721,10 @@ public class BinaryWire extends AbstractWire implements Wire {
     private <K> K readSmallField(int peekCode, Class<K> expectedClass) {
         bytes.uncheckedReadSkipOne();
         final int length = peekCode & 0x1F;
-        final String s = BIT8.intern(bytes, length);
+        final String s = interner.intern8bit(bytes, bytes.readPosition(), length);
         bytes.readSkip(length);
         if (expectedClass == String.class)
-            return (K) WireInternal.INTERNER.intern(s);
+            return (K) s;
         return ObjectUtils.convertTo(expectedClass, s);
     }
 
@@ -616,7 +740,7 @@ public class BinaryWire extends AbstractWire implements Wire {
             case EVENT_NAME:
                 bytes.uncheckedReadSkipOne();
                 @Nullable StringBuilder sb = read8bit();
-                return ObjectUtils.convertTo(expectedClass, WireInternal.INTERNER.intern(sb));
+                return ObjectUtils.convertTo(expectedClass, interner.intern(sb));
 
             case FIELD_ANCHOR:
                 bytes.uncheckedReadSkipOne();
@@ -749,6 +873,165 @@ public class BinaryWire extends AbstractWire implements Wire {
         }
     }
 
+    /**
+     * Reads the string after a STRING_ANCHOR code, adding it to the string dictionary.
+     */
+    @NotNull
+    protected String readStringAnchor() {
+        long ref = bytes.readStopBit();
+        int limit = stringDictionaryCapacity > 0 ? stringDictionaryCapacity : DEFAULT_STRING_DICTIONARY_LIMIT;
+        if (ref < 0 || ref >= limit)
+            throw new IORuntimeException("String reference " + ref + " is beyond the dictionary capacity " + limit);
+        StringBuilder sb = anchorBuilder;
+        bytes.readUtf8(sb);
+        String s = interner.intern(sb);
+        if (ref >= stringsIn.length)
+            stringsIn = Arrays.copyOf(stringsIn, (int) Math.min(limit, Math.max(ref + 1, Math.max(16, stringsIn.length * 2L))));
+        stringsIn[(int) ref] = s;
+        return s;
+    }
+
+    /**
+     * Adds any strings anchored in the values from <code>start</code> to <code>end</code> to the string dictionary.
+     * This is called for values which are skipped rather than read, so later references to them can be resolved.
+     * <p>
+     * The read position and limit are unchanged. Only a range which contains a STRING_ANCHOR byte is decoded, and
+     * this is only called when the reader has a string dictionary.
+     */
+    void registerStringAnchors(long start, long end) {
+        if (!mayContainStringAnchor(start, end))
+            return;
+        long position = bytes.readPosition();
+        long limit = bytes.readLimit();
+        try {
+            bytes.readPositionRemaining(start, end - start);
+            walkStringAnchors();
+        } finally {
+            bytes.readPositionRemaining(position, limit - position);
+        }
+    }
+
+    private boolean mayContainStringAnchor(long start, long end) {
+        for (long pos = start; pos < end; pos++)
+            if (bytes.readUnsignedByte(pos) == STRING_ANCHOR)
+                return true;
+        return false;
+    }
+
+    /**
+     * Skips the fields and values up to the read limit, reading any STRING_ANCHOR.
+     */
+    private void walkStringAnchors() {
+        while (bytes.readRemaining() > 0) {
+            int code = peekCode();
+            switch (code) {
+                case STRING_ANCHOR:
+                    bytes.uncheckedReadSkipOne();
+                    readStringAnchor();
+                    break;
+
+                case BYTES_LENGTH8:
+                case BYTES_LENGTH16:
+                case BYTES_LENGTH32: {
+                    long length = valueIn.readLength();
+                    long end = bytes.readPosition() + length;
+                    int first = length > 0 ? bytes.peekUnsignedByte() : -1;
+                    // raw bytes aren't fields and values.
+                    if (first != U8_ARRAY && first != I64_ARRAY && first != BYTES_MARSHALLABLE) {
+                        long limit = bytes.readLimit();
+                        bytes.readLimit(end);
+                        try {
+                            walkStringAnchors();
+                        } finally {
+                            bytes.readLimit(limit);
+                        }
+                    }
+                    bytes.readPosition(end);
+                    break;
+                }
+
+                case FIELD_NUMBER:
+                    bytes.uncheckedReadSkipOne();
+                    bytes.readStopBit();
+                    break;
+
+                case FIELD_NAME_ANY:
+                case EVENT_NAME:
+                case TYPE_PREFIX:
+                case COMMENT:
+                    bytes.uncheckedReadSkipOne();
+                    bytes.readSkip(bytes.readStopBit());
+                    break;
+
+                case FIELD_ANCHOR:
+                    bytes.uncheckedReadSkipOne();
+                    bytes.readStopBit();
+                    bytes.readSkip(bytes.readStopBit());
+                    break;
+
+                case PADDING:
+                case EVENT_OBJECT:
+                    bytes.uncheckedReadSkipOne();
+                    break;
+
+                case PADDING32:
+                    bytes.uncheckedReadSkipOne();
+                    bytes.readSkip(bytes.readUnsignedInt());
+                    break;
+
+                default: {
+                    if (code >= FIELD_NAME0 && code <= FIELD_NAME31) {
+                        bytes.readSkip(1 + (code & 0x1f));
+                        break;
+                    }
+                    long length = valueIn.readLength();
+                    // can't tell where this value ends.
+                    if (length < 0)
+                        return;
+                    bytes.readSkip(length);
+                    break;
+                }
+            }
+        }
+    }
+
+    /**
+     * Reads the reference after a STRING_REF code, returning the string it refers to.
+     */
+    @NotNull
+    protected String readStringRef() {
+        long ref = bytes.readStopBit();
+        String s = ref >= 0 && ref < stringsIn.length ? stringsIn[(int) ref] : null;
+        if (s == null)
+            throw new IORuntimeException("Unknown string reference " + ref);
+        return s;
+    }
+
+    /**
+     * Writes text by reference to the string dictionary, adding it if there is room.
+     *
+     * @return false if it should be written in full instead.
+     */
+    boolean writeDictionaryString(@NotNull CharSequence s) {
+        int length = s.length();
+        if (length < MIN_DICTIONARY_LENGTH || length > MAX_DICTIONARY_LENGTH)
+            return false;
+        Integer ref = stringsOut.get(s);
+        if (ref != null) {
+            writeCode(STRING_REF);
+            bytes.writeStopBit(ref);
+            return true;
+        }
+        int next = stringsOut.size();
+        if (next >= stringDictionaryCapacity)
+            return false;
+        stringsOut.put(s, next);
+        writeCode(STRING_ANCHOR);
+        bytes.writeStopBit(next);
+        bytes.writeUtf8(s);
+        return true;
+    }
+
     @NotNull
     protected StringBuilder readFieldNumber(CharSequence keyName, int keyCode, @NotNull StringBuilder sb, long fieldId) {
         if (valueIn instanceof DeltaValueIn) {
@@ -802,7 +1085,7 @@ public class BinaryWire extends AbstractWire implements Wire {
                 long readPosition = bytes.readPosition();
                 bytes.uncheckedReadSkipOne();
                 @Nullable StringBuilder sb = readUtf8();
-                if (StringUtils.isEqual("gzip", sb) || StringUtils.isEqual("lzw", sb)) {
+                if (sb != null && WireCompressions.forName(sb) != null) {
                     bytes.readPosition(readPosition);
                     wire.writeComment(sb);
                     wire.getValueOut().text(valueIn.text());
@@ -1078,9 +1361,25 @@ public class BinaryWire extends AbstractWire implements Wire {
     @NotNull
     @Override
     public ValueOut writeEventName(@NotNull WireKey key) {
+        if (key instanceof EncodedWireKey) {
+            final byte[] encoded = ((EncodedWireKey) key).binaryEvent();
+            if (encoded != null)
+                return writeEncoded(key, encoded);
+        }
         return writeEventName(key.name());
     }
 
+    /**
+     * Copy a pre-encoded field or event header in one write.
+     */
+    @NotNull
+    private ValueOut writeEncoded(@NotNull WireKey key, @NotNull byte[] encoded) {
+        if (bytes.retainsComments())
+            bytes.comment(key.name());
+        bytes.write(encoded);
+        return valueOut;
+    }
+
     @NotNull
     @Override
     public ValueOut writeEventName(@NotNull CharSequence name) {
@@ -1104,6 +1403,16 @@ public class BinaryWire extends AbstractWire implements Wire {
         return valueOut;
     }
 
+    @Override
+    public ValueOut writeEventId(WireKey key) {
+        if (key instanceof EncodedWireKey) {
+            final byte[] encoded = ((EncodedWireKey) key).binaryEventId();
+            if (encoded != null)
+                return writeEncoded(key, encoded);
+        }
+        return writeEventId(key.name().toString(), key.code());
+    }
+
     @Override
     public void writeStartEvent() {
         writeCode(EVENT_OBJECT);
@@ -1120,6 +1429,8 @@ public class BinaryWire extends AbstractWire implements Wire {
         if (!fieldLess) {
             if (numericFields)
                 writeField(key.code());
+            else if (key instanceof EncodedWireKey && ((EncodedWireKey) key).binaryField() != null)
+                writeEncoded(key, ((EncodedWireKey) key).binaryField());
             else
                 writeField(key.name());
         }
@@ -1169,6 +1480,90 @@ public class BinaryWire extends AbstractWire implements Wire {
         return this;
     }
 
+    void writeSchemaHash(long schemaHash) {
+        if (!writeSchemaHash || fieldLess)
+            return;
+        writeCode(PADDING32)
+                .writeUnsignedInt(SCHEMA_HASH_PADDING)
+                .writeUnsignedByte(SCHEMA_HASH_MARKER)
+                .writeLong(schemaHash);
+    }
+
+    /**
+     * @return true if the next bytes are a schema hash which matches, in which case it is consumed.
+     */
+    boolean readSchemaHash(long schemaHash) {
+        final long pos = bytes.readPosition();
+        if (bytes.readRemaining() < SCHEMA_HASH_LENGTH
+                || bytes.peekUnsignedByte() != PADDING32
+                || bytes.readUnsignedInt(pos + 1) != SCHEMA_HASH_PADDING
+                || bytes.readUnsignedByte(pos + 5) != SCHEMA_HASH_MARKER
+                || bytes.readLong(pos + 6) != schemaHash)
+            return false;
+        bytes.readSkip(SCHEMA_HASH_LENGTH);
+        return true;
+    }
+
+    /**
+     * Skip over the next field name without decoding it.
+     *
+     * @return false if the next value doesn't have a field name.
+     */
+    boolean skipFieldName() {
+        int peekCode = peekCodeAfterPadding();
+        if (peekCode >= FIELD_NAME0 && peekCode <= FIELD_NAME31) {
+            bytes.readSkip(1 + (peekCode - FIELD_NAME0));
+            return true;
+        }
+        switch (peekCode) {
+            case FIELD_NAME_ANY:
+            case EVENT_NAME:
+                bytes.uncheckedReadSkipOne();
+                bytes.readSkip(bytes.readStopBit());
+                return true;
+            case FIELD_NUMBER:
+                bytes.uncheckedReadSkipOne();
+                bytes.readStopBit();
+                return true;
+            default:
+                return false;
+        }
+    }
+
+    /**
+     * Read the next field name and look it up in place, without copying it when it is written as text.
+     *
+     * @return the value for this name, or null if it isn't in the map, in which case the name is in <code>sb</code>
+     */
+    @Nullable
+    <T> T readField(@NotNull CharSequenceObjectMap<T> map, @NotNull StringBuilder sb) {
+        int peekCode = peekCodeAfterPadding();
+        final long pos = bytes.readPosition();
+        final long offset;
+        final int length;
+        if (peekCode >= FIELD_NAME0 && peekCode <= FIELD_NAME31) {
+            offset = pos + 1;
+            length = peekCode - FIELD_NAME0;
+
+        } else if (peekCode == FIELD_NAME_ANY) {
+            bytes.uncheckedReadSkipOne();
+            length = Maths.toUInt31(bytes.readStopBit());
+            offset = bytes.readPosition();
+
+        } else {
+            read(sb);
+            return map.get(sb);
+        }
+        final T t = map.get(bytes, offset, length);
+        if (t == null) {
+            sb.setLength(0);
+            for (int i = 0; i < length; i++)
+                sb.append((char) bytes.readUnsignedByte(offset + i));
+        }
+        bytes.readPosition(offset + length);
+        return t;
+    }
+
     private void writeField(@NotNull CharSequence name) {
         if (bytes.retainsComments())
             bytes.comment(name);
@@ -1212,6 +1607,13 @@ public class BinaryWire extends AbstractWire implements Wire {
         switch (code >> 4) {
             case BinaryWireHighCode.CONTROL:
                 switch (code) {
+                    case STRING_ANCHOR:
+                    case STRING_REF: {
+                        String s = code == STRING_ANCHOR ? readStringAnchor() : readStringRef();
+                        AppendableUtil.setLength(sb, 0);
+                        AppendableUtil.append(sb, s);
+                        return sb;
+                    }
                     case BYTES_LENGTH8:
                     case BYTES_LENGTH16:
                     case BYTES_LENGTH32:
@@ -1361,6 +1763,8 @@ public class BinaryWire extends AbstractWire implements Wire {
             } else {
                 if (bytes.retainsComments())
                     bytes.comment(s);
+                if (stringsOut != null && writeDictionaryString(s))
+                    return BinaryWire.this;
                 long utflen = AppendableUtil.findUtf8Length(s);
                 if (utflen < 0x20) {
                     bytes.writeUnsignedByte((int) (STRING_0 + utflen)).appendUtf8(s);
@@ -1382,6 +1786,8 @@ public class BinaryWire extends AbstractWire implements Wire {
             } else {
                 if (bytes.retainsComments())
                     bytes.comment(s);
+                if (stringsOut != null && writeDictionaryString(s))
+                    return BinaryWire.this;
                 int len = s.length();
                 if (len < 0x20)
                     len = (int) AppendableUtil.findUtf8Length(s);
@@ -1821,6 +2227,19 @@ public class BinaryWire extends AbstractWire implements Wire {
             return BinaryWire.this;
         }
 
+        @Override
+        public long startSequence() {
+            writeCode(BYTES_LENGTH32);
+            long position = bytes.writePosition();
+            bytes.writeInt(0);
+            return position;
+        }
+
+        @Override
+        public void endSequence(long position) {
+            setSequenceLength(position);
+        }
+
         private void setSequenceLength(long position) {
             long length0 = bytes.writePosition() - position - 4;
             int length = bytes instanceof HexDumpBytes
@@ -2290,11 +2709,17 @@ public class BinaryWire extends AbstractWire implements Wire {
                 case STRING_ANY:
                     s.accept(bytes.readUtf8());
                     break;
+                case STRING_ANCHOR:
+                    s.accept(readStringAnchor());
+                    break;
+                case STRING_REF:
+                    s.accept(readStringRef());
+                    break;
                 default:
                     if (code >= STRING_0 && code <= STRING_31) {
                         @NotNull StringBuilder sb = acquireStringBuilder();
                         bytes.parseUtf8(sb, code & 0b11111);
-                        s.accept(WireInternal.INTERNER.intern(sb));
+                        s.accept(interner.intern(sb));
 
                     } else {
                         cantRead(code);
@@ -2304,7 +2729,7 @@ public class BinaryWire extends AbstractWire implements Wire {
         }
 
         private boolean isText(int code) {
-            return code == STRING_ANY ||
+            return code == STRING_ANY || code == STRING_ANCHOR || code == STRING_REF ||
                     (code >= STRING_0 && code <= STRING_31);
         }
 
@@ -2350,6 +2775,12 @@ public class BinaryWire extends AbstractWire implements Wire {
                 case NULL:
                     return null;
 
+                case STRING_ANCHOR:
+                    return readStringAnchor();
+
+                case STRING_REF:
+                    return readStringRef();
+
                 case STRING_ANY: {
                     long len0 = bytes.readStopBit();
                     if (len0 == -1L) {
@@ -2361,7 +2792,7 @@ public class BinaryWire extends AbstractWire implements Wire {
                     long end = bytes.readPosition() + len;
                     try {
                         bytes.readLimit(end);
-                        return UTF8.intern(bytes);
+                        return interner.internUtf8(bytes, bytes.readPosition(), len);
                     } finally {
                         bytes.readLimit(limit);
                         bytes.readPosition(end);
@@ -2371,12 +2802,18 @@ public class BinaryWire extends AbstractWire implements Wire {
                 case TYPE_PREFIX: {
                     @Nullable StringBuilder sb = readUtf8();
                     if (sb != null) {
+                        Bytes<?> uncompressed = Wires.acquireUncompressedBytes();
+                        if (uncompress(sb, uncompressed)) {
+                            StringBuilder text = acquireStringBuilder();
+                            uncompressed.parseUtf8(text, Maths.toInt32(uncompressed.readRemaining()));
+                            return text.toString();
+                        }
                         @Nullable byte[] bytes = Compression.uncompress(sb, this, ValueIn::bytes);
                         if (bytes != null)
                             return new String(bytes, StandardCharsets.UTF_8);
                     }
                     @Nullable StringBuilder text = readText(code, acquireStringBuilder());
-                    return WireInternal.INTERNER.intern(text);
+                    return interner.intern(text);
                 }
 
                 default: {
@@ -2384,7 +2821,7 @@ public class BinaryWire extends AbstractWire implements Wire {
                     @Nullable StringBuilder text = ((code & 0xE0) == 0xE0)
                             ? getStringBuilder(code, sb)
                             : readText(code, sb);
-                    return text == null ? null : WireInternal.INTERNER.intern(text);
+                    return text == null ? null : interner.intern(text);
                 }
             }
         }
@@ -2407,6 +2844,19 @@ public class BinaryWire extends AbstractWire implements Wire {
                 @Nullable StringBuilder sb = readUtf8();
                 assert sb != null;
 
+                if (clearBytes)
+                    toBytes.clear();
+                if (toBytes instanceof Bytes) {
+                    if (uncompress(sb, (Bytes<?>) toBytes))
+                        return wireIn();
+                } else {
+                    Bytes<?> uncompressed = Wires.acquireUncompressedBytes();
+                    if (uncompress(sb, uncompressed)) {
+                        toBytes.write(uncompressed);
+                        return wireIn();
+                    }
+                }
+
                 long length2 = readLength();
                 int code2 = readCode();
                 if (code2 != U8_ARRAY)
@@ -2498,6 +2948,9 @@ public class BinaryWire extends AbstractWire implements Wire {
 
                 case TYPE_PREFIX: {
                     @Nullable StringBuilder sb = readUtf8();
+                    Bytes<?> uncompressed = Wires.acquireUncompressedBytes();
+                    if (sb != null && uncompress(sb, uncompressed))
+                        return BytesStore.wrap(uncompressed.toByteArray());
                     @Nullable byte[] bytes = Compression.uncompress(sb, this, ValueIn::bytes);
                     if (bytes != null)
                         return BytesStore.wrap(bytes);
@@ -2608,6 +3061,31 @@ public class BinaryWire extends AbstractWire implements Wire {
             return BinaryWire.this;
         }
 
+        /**
+         * Reads a bytes field compressed with a registered {@link WireCompression} into <code>to</code>.
+         *
+         * @return false if the compression isn't known, in which case nothing is read.
+         */
+        boolean uncompress(@NotNull CharSequence compression, @NotNull Bytes<?> to) {
+            WireCompression wireCompression = WireCompressions.forName(compression);
+            if (wireCompression == null)
+                return false;
+            long length = readLength();
+            int code = readCode();
+            if (code != U8_ARRAY)
+                cantRead(code);
+            long limit = bytes.readLimit();
+            long end = bytes.readPosition() + length - 1;
+            try {
+                bytes.readLimit(end);
+                wireCompression.uncompress(bytes, to);
+            } finally {
+                bytes.readLimit(limit);
+                bytes.readPosition(end);
+            }
+            return true;
+        }
+
         @Override
         public long readLength() {
             // TODO handle non length types as well.
@@ -2694,6 +3172,22 @@ public class BinaryWire extends AbstractWire implements Wire {
                     }
                 }
 
+                case STRING_ANCHOR:
+                case STRING_REF: {
+                    // an anchor is still added to the dictionary in case the value is skipped
+                    long pos0 = bytes.readPosition();
+                    try {
+                        bytes.uncheckedReadSkipOne();
+                        if (code == STRING_ANCHOR)
+                            readStringAnchor();
+                        else
+                            bytes.readStopBit();
+                        return bytes.readPosition() - pos0;
+                    } finally {
+                        bytes.readPosition(pos0);
+                    }
+                }
+
                 case -1:
                     return 0;
 
@@ -2708,11 +3202,15 @@ public class BinaryWire extends AbstractWire implements Wire {
         @NotNull
         @Override
         public WireIn skipValue() {
+            final long start = bytes.readPosition();
             final long length = readLength();
-            if (length < 0)
+            if (length < 0) {
                 object();
-            else
+            } else {
+                if (stringDictionaryCapacity > 0)
+                    registerStringAnchors(start, bytes.readPosition() + length);
                 bytes.readSkip(length);
+            }
 
             return BinaryWire.this;
         }
@@ -3166,7 +3664,10 @@ public class BinaryWire extends AbstractWire implements Wire {
                     long limit2 = bytes.readPosition() + length;
                     bytes.readLimit(limit2);
                     try {
-                        return marshallableReader.apply(BinaryWire.this);
+                        T t = marshallableReader.apply(BinaryWire.this);
+                        if (stringDictionaryCapacity > 0)
+                            registerStringAnchors(bytes.readPosition(), limit2);
+                        return t;
                     } finally {
                         bytes.readLimit(limit);
                         bytes.readPosition(limit2);
@@ -3391,6 +3892,9 @@ public class BinaryWire extends AbstractWire implements Wire {
                             object.readMarshallable(BinaryWire.this);
                         else
                             Wires.readMarshallable(object, BinaryWire.this, false);
+                        // fields which weren't read can still anchor strings
+                        if (stringDictionaryCapacity > 0)
+                            registerStringAnchors(bytes.readPosition(), limit2);
                     } else {
                         ((ReadBytesMarshallable) object).readMarshallable(BinaryWire.this.bytes);
                     }
@@ -3443,6 +3947,8 @@ public class BinaryWire extends AbstractWire implements Wire {
                 bytes.readLimit(limit2);
                 try {
                     strategy.readUsing(object, this, BracketType.MAP);
+                    if (stringDictionaryCapacity > 0)
+                        registerStringAnchors(bytes.readPosition(), limit2);
 
                 } finally {
                     bytes.readLimit(limit);
@@ -3655,6 +4161,9 @@ public class BinaryWire extends AbstractWire implements Wire {
             switch (code >> 4) {
                 case BinaryWireHighCode.CONTROL:
                     switch (code) {
+                        case STRING_ANCHOR:
+                        case STRING_REF:
+                            return text();
                         case BYTES_LENGTH16:
                         case BYTES_LENGTH32: {
                             if (using instanceof StringBuilder) {
@@ -3788,7 +4297,10 @@ public class BinaryWire extends AbstractWire implements Wire {
                         case BYTES_LENGTH8:
                         case BYTES_LENGTH16:
                         case BYTES_LENGTH32:
+                            long start = bytes.readPosition();
                             long length = readLength();
+                            if (stringDictionaryCapacity > 0)
+                                registerStringAnchors(start, bytes.readPosition() + length);
                             bytes.readSkip(length);
                             return;
                         case ANCHOR:
@@ -3799,6 +4311,10 @@ public class BinaryWire extends AbstractWire implements Wire {
                             bytes.readSkip(1);
                             readFieldAnchor(acquireStringBuilder());
                             return;
+                        case STRING_ANCHOR:
+                        case STRING_REF:
+                            text();
+                            return;
                         default:
                             Jvm.warn().on(getClass(), "reading control code as text");
                     }
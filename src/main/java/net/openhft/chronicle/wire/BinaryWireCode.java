@@ -35,6 +35,10 @@ public enum BinaryWireCode {
     // sequence of length 0 - 255
 //        public static final int BYTES_LENGTH64 = 0x83;
 
+    // a string added to the per connection string dictionary, the stop bit reference then the UTF-8 text
+    public static final int STRING_ANCHOR = 0x84;
+    // a stop bit reference to a string previously sent as a STRING_ANCHOR
+    public static final int STRING_REF = 0x85;
     public static final int BYTES_MARSHALLABLE = 0x86; // explicitly BytesMarshallable.
     public static final int FIELD_ANCHOR = 0x87;
     public static final int ANCHOR = 0x88;
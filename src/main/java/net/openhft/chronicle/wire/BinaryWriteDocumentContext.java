@@ -32,11 +32,46 @@ public class BinaryWriteDocumentContext implements WriteDocumentContext {
     private volatile boolean notComplete;
     protected int count = 0;
     private boolean chainedElement;
+    // the first header of a batch is left NOT_COMPLETE until the batch is closed.
+    private final WriteBatch batch = this::closeBatch;
+    private boolean batching;
+    private long batchPosition = -1;
+    private int batchHeader;
+    private int batchLength;
 
     public BinaryWriteDocumentContext(Wire wire) {
         this.wire = wire;
     }
 
+    /**
+     * Start a batch so the headers of the documents written are published with one ordered write on close.
+     *
+     * @return the batch to close, or one which does nothing if a batch or document has already been started.
+     */
+    public WriteBatch startBatch() {
+        if (batching || notComplete)
+            return WriteBatch.NONE;
+        batching = true;
+        batchPosition = -1;
+        return batch;
+    }
+
+    private void closeBatch() {
+        if (!batching)
+            return;
+        if (notComplete)
+            throw new IllegalStateException("Unable to close a batch with a document still open");
+        batching = false;
+        if (batchPosition < 0)
+            return;
+        @NotNull Bytes<?> bytes = wire().bytes();
+        if (wire.usePadding())
+            bytes.testAndSetInt(batchPosition, batchHeader, batchLength);
+        else
+            bytes.writeInt(batchPosition, batchLength);
+        batchPosition = -1;
+    }
+
     public void start(boolean metaData) {
         count++;
         if (count > 1) {
@@ -49,7 +84,16 @@ public class BinaryWriteDocumentContext implements WriteDocumentContext {
         this.position = bytes.writePosition();
         metaDataBit = metaData ? Wires.META_DATA : 0;
         tmpHeader = metaDataBit | Wires.NOT_COMPLETE | Wires.UNKNOWN_LENGTH;
-        bytes.writeOrderedInt(tmpHeader);
+        if (batching && batchPosition >= 0) {
+            // readers can't get past the first header of the batch so this doesn't need to be ordered
+            bytes.writeInt(tmpHeader);
+        } else {
+            bytes.writeOrderedInt(tmpHeader);
+            if (batching) {
+                batchPosition = position;
+                batchHeader = tmpHeader;
+            }
+        }
         notComplete = true;
         chainedElement = false;
     }
@@ -79,7 +123,13 @@ public class BinaryWriteDocumentContext implements WriteDocumentContext {
         if (length0 > Integer.MAX_VALUE && bytes instanceof HexDumpBytes)
             length0 = (int) length0;
         int length = metaDataBit | toIntU30(length0, "Document length %,d out of 30-bit int range.");
-        if (wire.usePadding())
+        if (batching) {
+            if (position == batchPosition)
+                batchLength = length;
+            else
+                bytes.writeInt(position, length);
+
+        } else if (wire.usePadding())
             bytes.testAndSetInt(position, tmpHeader, length);
         else
             bytes.writeInt(position, length);
@@ -0,0 +1,218 @@
+/*
+ * Copyright 2016-2020 chronicle.software
+ *
+ * https://chronicle.software
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.openhft.chronicle.wire;
+
+import net.openhft.chronicle.bytes.Bytes;
+import net.openhft.chronicle.core.io.IORuntimeException;
+import net.openhft.chronicle.core.util.ObjectUtils;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+
+/**
+ * Loads a large CSV file by memory mapping it, splitting it into chunks of whole rows and reading the chunks in
+ * parallel, each with its own CSVWire sharing the header of the file.
+ * <p>
+ * Rows are split at the first newline after each chunk size which isn't inside a double quoted field, this is found
+ * with a single pass over the file which runs at most twice the pool's parallelism chunks ahead of the oldest chunk
+ * not yet finished. If a chunk fails, the chunks still queued are cancelled. Each row is read with
+ * <code>ValueIn.marshallable</code> so the columns are read in the order of the fields.
+ * <p>
+ * By default rows are passed to the consumer from the pool's threads as they are read, reusing one object for each
+ * chunk, so the consumer must be thread safe and copy any row it retains. If ordered, each row is a new object and
+ * they are passed to the consumer on the calling thread in the order of the file.
+ */
+public class CSVLoader {
+    private int chunkSize = 64 << 20;
+    private ForkJoinPool pool = ForkJoinPool.commonPool();
+    private boolean ordered = false;
+    private boolean use8bit = true;
+    private List<String> header = Collections.emptyList();
+
+    public CSVLoader chunkSize(int chunkSize) {
+        if (chunkSize < 1 || chunkSize > 1 << 30)
+            throw new IllegalArgumentException("chunkSize " + chunkSize + " must be between 1 and 1 GB");
+        this.chunkSize = chunkSize;
+        return this;
+    }
+
+    public int chunkSize() {
+        return chunkSize;
+    }
+
+    public CSVLoader pool(@NotNull ForkJoinPool pool) {
+        this.pool = pool;
+        return this;
+    }
+
+    public ForkJoinPool pool() {
+        return pool;
+    }
+
+    public CSVLoader ordered(boolean ordered) {
+        this.ordered = ordered;
+        return this;
+    }
+
+    public boolean ordered() {
+        return ordered;
+    }
+
+    public CSVLoader use8bit(boolean use8bit) {
+        this.use8bit = use8bit;
+        return this;
+    }
+
+    public boolean use8bit() {
+        return use8bit;
+    }
+
+    /**
+     * @return the header of the last file loaded.
+     */
+    @NotNull
+    public List<String> header() {
+        return header;
+    }
+
+    /**
+     * Read every row of a file into a <code>tClass</code> and pass it to the consumer.
+     *
+     * @return the number of rows read.
+     */
+    public <T extends Marshallable> long load(@NotNull String filename, @NotNull Class<T> tClass, @NotNull Consumer<? super T> consumer)
+            throws IOException {
+        try (FileChannel channel = FileChannel.open(Paths.get(filename), StandardOpenOption.READ)) {
+            final long size = channel.size();
+            final long headerEnd = nextRowStart(channel, 0, 1, size, chunkSize);
+            final List<String> header = readHeader(channel, headerEnd);
+            final LongAdder rows = new LongAdder();
+            // the chunks are read while the rest of the file is being split, with a bounded number in flight.
+            final int maxInFlight = 2 * pool.getParallelism();
+            final Deque<ForkJoinTask<List<T>>> tasks = new ArrayDeque<>();
+            try {
+                for (long start = headerEnd; start < size; ) {
+                    if (tasks.size() >= maxInFlight)
+                        drain(tasks.poll(), consumer);
+                    final long from = start, to = nextRowStart(channel, start, start + chunkSize, size, chunkSize);
+                    tasks.add(pool.submit(() -> readChunk(channel, from, to, header, tClass, consumer, rows)));
+                    start = to;
+                }
+                while (!tasks.isEmpty())
+                    drain(tasks.poll(), consumer);
+            } catch (Throwable t) {
+                // don't leave chunks reading the file after it is closed.
+                for (ForkJoinTask<List<T>> task : tasks)
+                    task.cancel(true);
+                for (ForkJoinTask<List<T>> task : tasks)
+                    task.quietlyJoin();
+                throw t;
+            }
+            return rows.sum();
+        }
+    }
+
+    private <T> void drain(ForkJoinTask<List<T>> task, Consumer<? super T> consumer) {
+        final List<T> list = task.join();
+        if (ordered)
+            list.forEach(consumer);
+    }
+
+    private List<String> readHeader(FileChannel channel, long end) throws IOException {
+        final Bytes<?> bytes = map(channel, 0, end);
+        try {
+            return header = new CSVWire(bytes, use8bit).header();
+        } finally {
+            bytes.releaseLast();
+        }
+    }
+
+    private <T extends Marshallable> List<T> readChunk(FileChannel channel, long start, long end, List<String> header,
+                                                      Class<T> tClass, Consumer<? super T> consumer, LongAdder rows) {
+        final Bytes<?> bytes;
+        try {
+            bytes = map(channel, start, end);
+        } catch (IOException e) {
+            throw new IORuntimeException(e);
+        }
+        try {
+            final ValueIn in = new CSVWire(bytes, use8bit, header).getValueIn();
+            final List<T> list = ordered ? new ArrayList<>() : Collections.emptyList();
+            T t = null;
+            long count = 0;
+            while (in.hasNext()) {
+                if (t == null || ordered)
+                    t = ObjectUtils.newInstance(tClass);
+                in.marshallable(t);
+                if (ordered)
+                    list.add(t);
+                else
+                    consumer.accept(t);
+                count++;
+            }
+            rows.add(count);
+            return list;
+        } finally {
+            bytes.releaseLast();
+        }
+    }
+
+    private static Bytes<?> map(FileChannel channel, long start, long end) throws IOException {
+        return Bytes.wrapForRead(channel.map(FileChannel.MapMode.READ_ONLY, start, end - start));
+    }
+
+    /**
+     * Find where the first row at or after <code>target</code> starts, given <code>from</code> is the start of a row.
+     * Newlines inside double quoted fields don't end a row, and a backslash escapes the next character in a quote.
+     *
+     * @return the offset after the newline, or <code>size</code> if there isn't one.
+     */
+    static long nextRowStart(FileChannel channel, long from, long target, long size, int window) throws IOException {
+        boolean quoted = false, escaped = false;
+        for (long pos = from; pos < size; ) {
+            final int len = (int) Math.min(window, size - pos);
+            final MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, pos, len);
+            for (int i = 0; i < len; i++) {
+                final byte b = buffer.get(i);
+                if (escaped)
+                    escaped = false;
+                else if (b == '\\')
+                    escaped = quoted;
+                else if (b == '"')
+                    quoted = !quoted;
+                else if (b == '\n' && !quoted && pos + i + 1 >= target)
+                    return pos + i + 1;
+            }
+            pos += len;
+        }
+        return size;
+    }
+}
@@ -26,6 +26,7 @@ import java.io.IOException;
 import java.io.Serializable;
 import java.lang.ref.WeakReference;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 
 /**
@@ -53,6 +54,15 @@ public class CSVWire extends TextWire {
         this(bytes, false);
     }
 
+    /**
+     * Read rows which don't start with a header, e.g. a chunk of a larger file, using the header already read.
+     */
+    @SuppressWarnings("rawtypes")
+    public CSVWire(@NotNull Bytes bytes, boolean use8bit, @NotNull List<String> header) {
+        super(bytes, use8bit);
+        this.header.addAll(header);
+    }
+
     @NotNull
     public static CSVWire fromFile(String name) throws IOException {
         return new CSVWire(BytesUtil.readFile(name), true);
@@ -63,6 +73,11 @@ public class CSVWire extends TextWire {
         return new CSVWire(Bytes.from(text));
     }
 
+    @NotNull
+    public List<String> header() {
+        return Collections.unmodifiableList(header);
+    }
+
     @NotNull
     static StopCharTester getEscapingCSVEndOfText() {
         StopCharTester escaping = ThreadLocalHelper.getTL(ESCAPED_END_OF_TEXT,
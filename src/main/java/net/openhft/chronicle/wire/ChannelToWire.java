@@ -0,0 +1,103 @@
+/*
+ * Copyright 2016-2020 chronicle.software
+ *
+ * https://chronicle.software
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.openhft.chronicle.wire;
+
+import net.openhft.chronicle.bytes.Bytes;
+import net.openhft.chronicle.bytes.VanillaBytes;
+
+import java.io.Closeable;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.StreamCorruptedException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.ReadableByteChannel;
+
+/**
+ * Reads length prefixed messages, as written by {@link WireToChannel} or {@link WireToOutputStream}, from a channel.
+ * <p>
+ * As many messages as are available are read into a direct buffer with each read, and each Wire returned is a view
+ * of this buffer which is valid until the next call to readOne().
+ */
+public class ChannelToWire implements Closeable {
+    private static final boolean LITTLE_ENDIAN = ByteOrder.nativeOrder() == ByteOrder.LITTLE_ENDIAN;
+    private static final int HEADER = 4;
+
+    private final Bytes<ByteBuffer> buffer;
+    private final VanillaBytes<Void> view = VanillaBytes.vanillaBytes();
+    private final Wire wire;
+    private final ReadableByteChannel channel;
+
+    public ChannelToWire(WireType wireType, ReadableByteChannel channel) {
+        this(wireType, channel, 64 << 10);
+    }
+
+    public ChannelToWire(WireType wireType, ReadableByteChannel channel, int capacity) {
+        this.buffer = Bytes.elasticByteBuffer(capacity);
+        this.wire = wireType.apply(view);
+        this.channel = channel;
+    }
+
+    /**
+     * @return the next message, or null if the channel is non-blocking and a whole message hasn't been read yet.
+     * @throws EOFException if the channel reaches the end of stream.
+     */
+    public Wire readOne() throws IOException {
+        while (true) {
+            long start = buffer.readPosition();
+            if (buffer.readRemaining() >= HEADER) {
+                int length = buffer.readInt(start);
+                // written by DataOutputStream.writeInt so big endian
+                if (LITTLE_ENDIAN)
+                    length = Integer.reverseBytes(length);
+                if (length < 0)
+                    throw new StreamCorruptedException();
+                if (buffer.readRemaining() >= HEADER + length) {
+                    buffer.readSkip(HEADER + length);
+                    wire.clear();
+                    view.bytesStore(buffer.bytesStore(), start + HEADER, length);
+                    return wire;
+                }
+                buffer.ensureCapacity(HEADER + length);
+            }
+            if (readMore() == 0)
+                return null;
+        }
+    }
+
+    private int readMore() throws IOException {
+        // move the partial message to the start to make room
+        buffer.compact();
+        if (buffer.writePosition() >= buffer.realCapacity())
+            buffer.ensureCapacity(buffer.realCapacity() * 2);
+        final ByteBuffer bb = buffer.underlyingObject();
+        bb.limit(Math.toIntExact(buffer.realCapacity()));
+        bb.position(Math.toIntExact(buffer.writePosition()));
+        final int read = channel.read(bb);
+        if (read < 0)
+            throw new EOFException();
+        buffer.writeSkip(read);
+        return read;
+    }
+
+    @Override
+    public void close() {
+        view.releaseLast();
+        buffer.releaseLast();
+    }
+}
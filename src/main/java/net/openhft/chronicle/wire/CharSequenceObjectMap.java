@@ -17,56 +17,129 @@
  */
 package net.openhft.chronicle.wire;
 
+import net.openhft.chronicle.bytes.BytesStore;
 import net.openhft.chronicle.core.Maths;
 import net.openhft.chronicle.core.util.StringUtils;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 
+/**
+ * An open addressed map of names to values which can be looked up with any CharSequence, or a range of a
+ * BytesStore holding the name as 8-bit characters, without creating a String.
+ */
 public class CharSequenceObjectMap<T> {
     private static final int K0 = 0x6d0f27bd;
-    @SuppressWarnings("unused")
-    private static final int M0 = 0x5bc80bad;
 
-    final String[] keys;
-    final T[] values;
-    final int mask;
+    String[] keys;
+    T[] values;
+    int[] hashes;
+    int mask;
+    private int size;
 
-    @SuppressWarnings("unchecked")
     public CharSequenceObjectMap(int capacity) {
-        int nextPower2 = Maths.nextPower2(capacity, 16);
-        keys = new String[nextPower2];
-        values = (T[]) new Object[nextPower2];
-        mask = nextPower2 - 1;
+        init(Maths.nextPower2(capacity, 16));
+    }
+
+    /**
+     * @return the hash of a name, which can be passed to {@link #get(CharSequence, int)}
+     */
+    public static int hashOf(@NotNull CharSequence name) {
+        long h = name.length();
+        for (int i = 0; i < name.length(); i++)
+            h = h * K0 + name.charAt(i);
+        return (int) Maths.agitate(h);
     }
 
-    public void put(CharSequence name, T t) {
-        int h = hashFor(name);
-        for (int i = 0; i < mask; i++) {
-            if (keys[i] == null || StringUtils.isEqual(keys[i], name)) {
-                keys[i] = name.toString();
-                values[i] = t;
+    static int hashOf(@NotNull BytesStore<?, ?> bs, long offset, int length) {
+        long h = length;
+        for (int i = 0; i < length; i++)
+            h = h * K0 + bs.readUnsignedByte(offset + i);
+        return (int) Maths.agitate(h);
+    }
+
+    @SuppressWarnings("unchecked")
+    private void init(int capacity) {
+        keys = new String[capacity];
+        values = (T[]) new Object[capacity];
+        hashes = new int[capacity];
+        mask = capacity - 1;
+    }
+
+    public void put(@NotNull CharSequence name, T t) {
+        final int hash = hashOf(name);
+        for (int h = hash & mask; ; h = (h + 1) & mask) {
+            final String key = keys[h];
+            if (key == null) {
+                // keep the table at most half full so misses end quickly
+                if (size + 1 > (mask + 1) / 2) {
+                    resize();
+                    put(name, t);
+                    return;
+                }
+                keys[h] = name.toString();
+                hashes[h] = hash;
+                values[h] = t;
+                size++;
+                return;
+            }
+            if (hashes[h] == hash && StringUtils.isEqual(key, name)) {
+                values[h] = t;
                 return;
             }
-            h = (h + 1) & mask;
         }
-        throw new IllegalStateException("Map is full");
     }
 
-    public T get(CharSequence cs) {
-        int h = hashFor(cs);
-        for (int i = 0; i < mask; i++) {
-            if (keys[i] == null)
+    private void resize() {
+        final String[] keys0 = keys;
+        final T[] values0 = values;
+        init(keys0.length * 2);
+        size = 0;
+        for (int i = 0; i < keys0.length; i++)
+            if (keys0[i] != null)
+                put(keys0[i], values0[i]);
+    }
+
+    @Nullable
+    public T get(@NotNull CharSequence name) {
+        return get(name, hashOf(name));
+    }
+
+    @Nullable
+    public T get(@NotNull CharSequence name, int hash) {
+        for (int h = hash & mask; ; h = (h + 1) & mask) {
+            final String key = keys[h];
+            if (key == null)
                 return null;
-            if (StringUtils.isEqual(keys[i], cs))
-                return values[i];
-            h = (h + 1) & mask;
+            if (hashes[h] == hash && StringUtils.isEqual(key, name))
+                return values[h];
         }
-        throw new IllegalStateException("Map is full");
     }
 
-    private int hashFor(CharSequence name) {
-        long h = name.length();
-        for (int i = 0; i < name.length(); i++) {
-            h = h * K0 + name.charAt(i);
+    /**
+     * Look up a name held as 8-bit characters in a range of a BytesStore.
+     */
+    @Nullable
+    public T get(@NotNull BytesStore<?, ?> bs, long offset, int length) {
+        final int hash = hashOf(bs, offset, length);
+        for (int h = hash & mask; ; h = (h + 1) & mask) {
+            final String key = keys[h];
+            if (key == null)
+                return null;
+            if (hashes[h] == hash && isEqual(key, bs, offset, length))
+                return values[h];
         }
-        return (int) Maths.agitate(h) & mask;
+    }
+
+    private static boolean isEqual(String key, BytesStore<?, ?> bs, long offset, int length) {
+        if (key.length() != length)
+            return false;
+        for (int i = 0; i < length; i++)
+            if (key.charAt(i) != bs.readUnsignedByte(offset + i))
+                return false;
+        return true;
+    }
+
+    public int size() {
+        return size;
     }
 }
@@ -0,0 +1,115 @@
+/*
+ * Copyright 2016-2020 chronicle.software
+ *
+ * https://chronicle.software
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.openhft.chronicle.wire;
+
+import net.openhft.chronicle.core.util.ObjectUtils;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Writes and reads Marshallables as the fields which changed since the last message of the same type on this stream.
+ * <p>
+ * Each message is a type prefix followed by a marshallable holding, for every group of up to 64 fields, an int64
+ * bitmap of the fields which changed and their values without field names.
+ * The reader keeps one instance per type and applies each delta to it, so the object returned is the full message
+ * but is reused for the next message of that type. Copy it if it needs to be retained.
+ * <p>
+ * The writer and reader must see the same messages in the same order, and use the same version of each class, so
+ * use one DeltaMarshaller for each direction of a connection and start a new one when the connection is re-established.
+ * All fields are compared and written as WireMarshaller sees them, any custom writeMarshallable is not used.
+ * This is not thread safe.
+ */
+@SuppressWarnings({"rawtypes", "unchecked"})
+public class DeltaMarshaller {
+    private final Map<Class, Object> previousOut = new HashMap<>();
+    private final Map<Class, Object> previousIn = new HashMap<>();
+    private final DeltaWriter writer = new DeltaWriter();
+    private final DeltaReader reader = new DeltaReader();
+
+    /**
+     * Write the fields of <code>t</code> which changed since the last one of the same class.
+     */
+    public void write(@NotNull WireOut out, @NotNull Marshallable t) {
+        final Class<?> tClass = t.getClass();
+        Object previous = previousOut.get(tClass);
+        if (previous == null)
+            previousOut.put(tClass, previous = ObjectUtils.newInstance(tClass));
+        writer.marshaller = WireMarshaller.WIRE_MARSHALLER_CL.get(tClass);
+        writer.t = t;
+        writer.previous = previous;
+        try {
+            out.getValueOut().typePrefix(tClass).marshallable(writer);
+        } finally {
+            writer.t = writer.previous = null;
+        }
+    }
+
+    /**
+     * Read the next message, applying its changes to the last one of the same class.
+     *
+     * @return the full message, which is reused by the next call for this class.
+     */
+    @NotNull
+    public <T extends Marshallable> T read(@NotNull WireIn in) {
+        final ValueIn vin = in.getValueIn();
+        final Class tClass = vin.typePrefix();
+        if (tClass == null)
+            throw new IllegalStateException("Expected a type prefix for a delta");
+        Object current = previousIn.get(tClass);
+        if (current == null)
+            previousIn.put(tClass, current = ObjectUtils.newInstance(tClass));
+        reader.marshaller = WireMarshaller.WIRE_MARSHALLER_CL.get(tClass);
+        reader.t = current;
+        try {
+            vin.marshallable(reader);
+        } finally {
+            reader.t = null;
+        }
+        return (T) current;
+    }
+
+    /**
+     * Forget the previous messages, both written and read.
+     */
+    public void reset() {
+        previousOut.clear();
+        previousIn.clear();
+    }
+
+    static final class DeltaWriter implements WriteMarshallable {
+        WireMarshaller marshaller;
+        Object t, previous;
+
+        @Override
+        public void writeMarshallable(@NotNull WireOut wire) {
+            marshaller.writeDelta(t, wire, previous);
+        }
+    }
+
+    static final class DeltaReader implements ReadMarshallable {
+        WireMarshaller marshaller;
+        Object t;
+
+        @Override
+        public void readMarshallable(@NotNull WireIn wire) {
+            marshaller.readDelta(t, wire);
+        }
+    }
+}
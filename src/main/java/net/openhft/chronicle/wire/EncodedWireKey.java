@@ -0,0 +1,174 @@
+/*
+ * Copyright 2016-2020 chronicle.software
+ *
+ * https://chronicle.software
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.openhft.chronicle.wire;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+import static net.openhft.chronicle.wire.BinaryWireCode.*;
+
+/**
+ * A WireKey which holds the name as it would be written by {@link BinaryWire} so a reader can match the next field
+ * by comparing the raw bytes in place rather than decoding the name first, and a writer can copy it with one bulk write.
+ */
+public final class EncodedWireKey implements WireKey {
+    @NotNull
+    private final String name;
+    private final int code;
+    @Nullable
+    private final byte[] binaryField;
+    @Nullable
+    private final long[] binaryWords;
+    @Nullable
+    private final byte[] binaryEvent;
+    @Nullable
+    private final byte[] binaryEventId;
+
+    public EncodedWireKey(@NotNull String name) {
+        this(name, WireKey.toCode(name));
+    }
+
+    /**
+     * @param code the numeric id to write with {@link WireOut#writeEventId(WireKey)} e.g. from a {@link MethodId}
+     */
+    public EncodedWireKey(@NotNull String name, int code) {
+        this.name = name;
+        this.code = code;
+        this.binaryField = encodeBinaryField(name);
+        this.binaryWords = binaryField == null ? null : toWords(binaryField);
+        this.binaryEvent = encodeBinaryEvent(name);
+        this.binaryEventId = code < 0 ? null : concat(FIELD_NUMBER, stopBit(code), null);
+    }
+
+    /**
+     * @return the field header and name as written by BinaryWire, or null if BinaryWire would write this name as a number.
+     */
+    @Nullable
+    static byte[] encodeBinaryField(@NotNull String name) {
+        int len = name.length();
+        // names starting with a digit may be written as a FIELD_NUMBER
+        if (len > 0 && Character.isDigit(name.charAt(0)))
+            return null;
+        for (int i = 0; i < len; i++)
+            if (name.charAt(i) > 0xFF)
+                return null;
+        if (len < 0x20)
+            return concat(FIELD_NAME0 + len, new byte[0], name);
+        // FIELD_NAME_ANY followed by a stop bit encoded length
+        return concat(FIELD_NAME_ANY, stopBit(len), name);
+    }
+
+    /**
+     * @return the event name as written by BinaryWire.writeEventName, or null if it isn't 8-bit text.
+     */
+    @Nullable
+    static byte[] encodeBinaryEvent(@NotNull String name) {
+        for (int i = 0; i < name.length(); i++)
+            if (name.charAt(i) > 0xFF)
+                return null;
+        return concat(EVENT_NAME, stopBit(name.length()), name);
+    }
+
+    private static byte[] stopBit(int n) {
+        byte[] bytes = new byte[5];
+        int len = 0;
+        while (n >= 0x80) {
+            bytes[len++] = (byte) ((n & 0x7F) | 0x80);
+            n >>>= 7;
+        }
+        bytes[len++] = (byte) n;
+        byte[] result = new byte[len];
+        System.arraycopy(bytes, 0, result, 0, len);
+        return result;
+    }
+
+    private static byte[] concat(int code, byte[] prefix, @Nullable String name) {
+        int len = name == null ? 0 : name.length();
+        byte[] bytes = new byte[1 + prefix.length + len];
+        bytes[0] = (byte) code;
+        System.arraycopy(prefix, 0, bytes, 1, prefix.length);
+        for (int i = 0; i < len; i++)
+            bytes[1 + prefix.length + i] = (byte) name.charAt(i);
+        return bytes;
+    }
+
+    // in native order to match RandomDataInput.readLong(offset)
+    private static long[] toWords(byte[] bytes) {
+        ByteBuffer bb = ByteBuffer.wrap(bytes).order(ByteOrder.nativeOrder());
+        long[] words = new long[bytes.length >>> 3];
+        for (int i = 0; i < words.length; i++)
+            words[i] = bb.getLong(i << 3);
+        return words;
+    }
+
+    @NotNull
+    @Override
+    public String name() {
+        return name;
+    }
+
+    @Override
+    public int code() {
+        return code;
+    }
+
+    @Override
+    public boolean contentEquals(@NotNull CharSequence c) {
+        return name.contentEquals(c);
+    }
+
+    /**
+     * @return the encoding used by BinaryWire for this field or null if there isn't a fixed one.
+     */
+    @Nullable
+    public byte[] binaryField() {
+        return binaryField;
+    }
+
+    /**
+     * @return the encoding used by BinaryWire for this as an event name or null if there isn't a fixed one.
+     */
+    @Nullable
+    public byte[] binaryEvent() {
+        return binaryEvent;
+    }
+
+    /**
+     * @return the encoding used by BinaryWire for code() as an event id or null if there isn't a fixed one.
+     */
+    @Nullable
+    public byte[] binaryEventId() {
+        return binaryEventId;
+    }
+
+    /**
+     * @return the same as binaryField() as native ordered longs, excluding any remaining bytes.
+     */
+    @Nullable
+    long[] binaryWords() {
+        return binaryWords;
+    }
+
+    @Override
+    public String toString() {
+        return name;
+    }
+}
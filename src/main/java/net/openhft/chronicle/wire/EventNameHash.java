@@ -0,0 +1,209 @@
+/*
+ * Copyright 2016-2020 chronicle.software
+ *
+ * https://chronicle.software
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.openhft.chronicle.wire;
+
+import net.openhft.chronicle.bytes.Bytes;
+import net.openhft.chronicle.core.Maths;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Arrays;
+
+import static net.openhft.chronicle.wire.BinaryWireCode.*;
+
+/**
+ * A perfect hash of a fixed set of event names, used by generated method readers to resolve the event name of a
+ * BinaryWire message to an index straight from the bytes, without creating a String.
+ * <p>
+ * The seed and capacity are found once when the reader is generated, see {@link #findSeed(int, String...)}
+ */
+public final class EventNameHash {
+    private static final long K0 = 0x9E3779B97F4A7C15L;
+    private static final int MAX_SEEDS = 1 << 12;
+
+    private final String[] names;
+    private final byte[][] encoded;
+    private final int seed;
+    private final int mask;
+    private final int[] slots;
+
+    public EventNameHash(int seed, int capacity, String... names) {
+        if (Integer.bitCount(capacity) != 1)
+            throw new IllegalArgumentException("capacity must be a power of 2, was " + capacity);
+        this.names = names;
+        this.seed = seed;
+        this.mask = capacity - 1;
+        this.slots = new int[capacity];
+        Arrays.fill(slots, -1);
+        this.encoded = new byte[names.length][];
+        for (int i = 0; i < names.length; i++) {
+            final byte[] bytes = encode(names[i]);
+            if (bytes == null)
+                continue;
+            int slot = hash(seed, bytes) & mask;
+            // a name which collides is found via the String path instead.
+            if (slots[slot] >= 0)
+                continue;
+            slots[slot] = i;
+            encoded[i] = bytes;
+        }
+    }
+
+    /**
+     * Search for a seed which gives every name a unique slot.
+     *
+     * @return the seed in the low 32 bits and capacity in the high 32 bits.
+     */
+    public static long findSeed(int minCapacity, String... names) {
+        byte[][] encoded = new byte[names.length][];
+        for (int i = 0; i < names.length; i++)
+            encoded[i] = encode(names[i]);
+        int capacity = Maths.nextPower2(Math.max(minCapacity, names.length * 2), 8);
+        for (int c = 0; c < 4; c++, capacity <<= 1) {
+            boolean[] used = new boolean[capacity];
+            NEXT_SEED:
+            for (int seed = 1; seed < MAX_SEEDS; seed++) {
+                Arrays.fill(used, false);
+                for (byte[] bytes : encoded) {
+                    if (bytes == null)
+                        continue;
+                    int slot = hash(seed, bytes) & (capacity - 1);
+                    if (used[slot])
+                        continue NEXT_SEED;
+                    used[slot] = true;
+                }
+                return ((long) capacity << 32) | seed;
+            }
+        }
+        // not perfect, but still correct as colliding names are found via their String
+        return ((long) capacity << 32) | 1;
+    }
+
+    @Nullable
+    private static byte[] encode(@NotNull String name) {
+        byte[] bytes = new byte[name.length()];
+        for (int i = 0; i < bytes.length; i++) {
+            char ch = name.charAt(i);
+            if (ch > 0xFF)
+                return null;
+            bytes[i] = (byte) ch;
+        }
+        return bytes;
+    }
+
+    static int hash(int seed, byte[] bytes) {
+        long h = seed ^ bytes.length;
+        for (byte b : bytes)
+            h = h * K0 + (b & 0xFF);
+        return mix(h);
+    }
+
+    static int hash(int seed, @NotNull Bytes<?> bytes, long offset, int length) {
+        long h = seed ^ length;
+        for (int i = 0; i < length; i++)
+            h = h * K0 + (bytes.readByte(offset + i) & 0xFF);
+        return mix(h);
+    }
+
+    static int hash(int seed, @NotNull CharSequence cs) {
+        long h = seed ^ cs.length();
+        for (int i = 0; i < cs.length(); i++)
+            h = h * K0 + cs.charAt(i);
+        return mix(h);
+    }
+
+    private static int mix(long h) {
+        h ^= h >>> 29;
+        return (int) (h ^ (h >>> 32));
+    }
+
+    /**
+     * Match the event name at the read position of a BinaryWire in place.
+     *
+     * @return the index of the name, having consumed the event name, or -1 if it is not a known event name in which
+     * case nothing is consumed.
+     */
+    public int readEventIndex(@NotNull WireIn wireIn) {
+        if (!(wireIn instanceof BinaryWire))
+            return -1;
+        final Bytes<?> bytes = wireIn.bytes();
+        final long start = bytes.readPosition();
+        final long limit = bytes.readLimit();
+        if (start >= limit)
+            return -1;
+        final int code = bytes.readByte(start) & 0xFF;
+        long pos = start + 1;
+        int length;
+        if (code >= FIELD_NAME0 && code <= FIELD_NAME31) {
+            length = code - FIELD_NAME0;
+
+        } else if (code == EVENT_NAME || code == FIELD_NAME_ANY) {
+            // stop bit encoded length
+            length = 0;
+            for (int shift = 0; ; shift += 7) {
+                if (pos >= limit || shift > 28)
+                    return -1;
+                int b = bytes.readByte(pos++);
+                length |= (b & 0x7F) << shift;
+                if (b >= 0)
+                    break;
+            }
+        } else {
+            return -1;
+        }
+        if (length < 0 || pos + length > limit)
+            return -1;
+
+        int index = slots[hash(seed, bytes, pos, length) & mask];
+        if (index < 0)
+            return -1;
+        final byte[] name = encoded[index];
+        if (name.length != length)
+            return -1;
+        for (int i = 0; i < length; i++)
+            if (bytes.readByte(pos + i) != name[i])
+                return -1;
+        bytes.readPosition(pos + length);
+        return index;
+    }
+
+    /**
+     * @return the index of this name or -1 if not known.
+     */
+    public int indexOf(@Nullable CharSequence name) {
+        if (name == null)
+            return -1;
+        int index = slots[hash(seed, name) & mask];
+        if (index >= 0 && names[index].contentEquals(name))
+            return index;
+        // may have collided with another name
+        for (int i = 0; i < names.length; i++)
+            if (encoded[i] == null && names[i].contentEquals(name))
+                return i;
+        return -1;
+    }
+
+    @NotNull
+    public String name(int index) {
+        return names[index];
+    }
+
+    public int size() {
+        return names.length;
+    }
+}
@@ -0,0 +1,358 @@
+/*
+ * Copyright 2016-2020 chronicle.software
+ *
+ * https://chronicle.software
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.openhft.chronicle.wire;
+
+import net.openhft.chronicle.core.ClassLocal;
+import net.openhft.chronicle.core.util.ObjectUtils;
+import net.openhft.chronicle.core.util.ReadResolvable;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.lang.reflect.Array;
+import java.lang.reflect.Method;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.*;
+
+import static net.openhft.chronicle.core.UnsafeMemory.*;
+
+/**
+ * Copies the fields of one Marshallable class to another directly, with the same result as writing the source to a
+ * BinaryWire and reading it into the target. Fields which can't be copied directly are passed through a wire one at a
+ * time. Classes with their own readMarshallable or writeMarshallable don't have a copier.
+ */
+@SuppressWarnings({"rawtypes", "unchecked"})
+final class FieldCopier {
+    // copiers by source class, then target class
+    static final ClassLocal<ClassLocal<FieldCopier>> COPIERS = ClassLocal.withInitial(
+            from -> ClassLocal.withInitial(to -> FieldCopier.create(from, to)));
+    private static final FieldCopy[] NO_COPIES = {};
+    private static final WireMarshaller.FieldAccess[] NO_FIELDS = {};
+    private static final Object NOT_COPIED = new Object();
+
+    private final FieldCopy[] copies;
+    // fields only in the target, these are reset to their defaults
+    private final WireMarshaller.FieldAccess[] targetOnly;
+    @Nullable
+    private final Object defaults;
+
+    private FieldCopier(FieldCopy[] copies, WireMarshaller.FieldAccess[] targetOnly, @Nullable Object defaults) {
+        this.copies = copies;
+        this.targetOnly = targetOnly;
+        this.defaults = defaults;
+    }
+
+    /**
+     * Copy the fields of <code>from</code> to <code>to</code> if there is a copier for these classes.
+     *
+     * @return false if the caller needs to copy via a wire instead.
+     */
+    static boolean copy(@NotNull Object from, @NotNull Object to) {
+        final FieldCopier copier = COPIERS.get(from.getClass()).get(to.getClass());
+        if (copier == null
+                || !((Marshallable) from).usesSelfDescribingMessage()
+                || !((Marshallable) to).usesSelfDescribingMessage())
+            return false;
+        copier.copy0(from, to);
+        return true;
+    }
+
+    @Nullable
+    private static FieldCopier create(Class<?> from, Class<?> to) {
+        if (!isDirectlyCopyable(from) || !isDirectlyCopyable(to))
+            return null;
+        final WireMarshaller<?> fromMarshaller = WireMarshaller.WIRE_MARSHALLER_CL.get(from);
+        final WireMarshaller<?> toMarshaller = WireMarshaller.WIRE_MARSHALLER_CL.get(to);
+        if (fromMarshaller instanceof WireMarshallerForUnexpectedFields
+                || toMarshaller instanceof WireMarshallerForUnexpectedFields)
+            return null;
+
+        final List<FieldCopy> copies = new ArrayList<>();
+        final List<WireMarshaller.FieldAccess> targetOnly = new ArrayList<>();
+        final WireMarshaller.FieldAccess[] fromFields = fromMarshaller.fields;
+        final WireMarshaller.FieldAccess[] toFields = toMarshaller.fields;
+        for (int j = 0; j < toFields.length; j++) {
+            final WireMarshaller.FieldAccess toField = toFields[j];
+            int i = indexOf(fromFields, toField.field.getName());
+            if (i < 0)
+                targetOnly.add(toField);
+            else
+                copies.add(fieldCopy(fromMarshaller, i, toMarshaller, j));
+        }
+        return new FieldCopier(
+                copies.isEmpty() ? NO_COPIES : copies.toArray(NO_COPIES),
+                targetOnly.isEmpty() ? NO_FIELDS : targetOnly.toArray(NO_FIELDS),
+                toMarshaller.defaultValue());
+    }
+
+    /**
+     * @return true if this class reads and writes all its fields with the default Marshallable methods.
+     */
+    private static boolean isDirectlyCopyable(Class<?> tClass) {
+        if (!Marshallable.class.isAssignableFrom(tClass)
+                || ReadResolvable.class.isAssignableFrom(tClass)
+                || !ObjectUtils.isConcreteClass(tClass))
+            return false;
+        try {
+            Method read = tClass.getMethod("readMarshallable", WireIn.class);
+            Method write = tClass.getMethod("writeMarshallable", WireOut.class);
+            return read.getDeclaringClass() == Marshallable.class
+                    && write.getDeclaringClass() == Marshallable.class;
+        } catch (NoSuchMethodException e) {
+            return false;
+        }
+    }
+
+    private static int indexOf(WireMarshaller.FieldAccess[] fields, String name) {
+        for (int i = 0; i < fields.length; i++)
+            if (fields[i].field.getName().equals(name))
+                return i;
+        return -1;
+    }
+
+    @NotNull
+    private static FieldCopy fieldCopy(WireMarshaller fromMarshaller, int i, WireMarshaller toMarshaller, int j) {
+        final WireMarshaller.FieldAccess fromField = fromMarshaller.fields[i];
+        final WireMarshaller.FieldAccess toField = toMarshaller.fields[j];
+        final long fromOffset = fromField.offset;
+        final long toOffset = toField.offset;
+        final Class<?> type = toField.field.getType();
+        if (fromField.getClass() != toField.getClass() || fromField.field.getType() != type)
+            return new WireFieldCopy(fromMarshaller, i, toMarshaller, j);
+
+        if (type.isPrimitive()) {
+            switch (type.getName()) {
+                case "boolean":
+                    return (from, to) -> unsafePutBoolean(to, toOffset, unsafeGetBoolean(from, fromOffset));
+                case "byte":
+                    return (from, to) -> unsafePutByte(to, toOffset, unsafeGetByte(from, fromOffset));
+                case "short":
+                    return (from, to) -> unsafePutShort(to, toOffset, unsafeGetShort(from, fromOffset));
+                case "char":
+                    return (from, to) -> unsafePutChar(to, toOffset, unsafeGetChar(from, fromOffset));
+                case "int":
+                    return (from, to) -> unsafePutInt(to, toOffset, unsafeGetInt(from, fromOffset));
+                case "float":
+                    return (from, to) -> unsafePutFloat(to, toOffset, unsafeGetFloat(from, fromOffset));
+                case "long":
+                    return (from, to) -> unsafePutLong(to, toOffset, unsafeGetLong(from, fromOffset));
+                case "double":
+                    return (from, to) -> unsafePutDouble(to, toOffset, unsafeGetDouble(from, fromOffset));
+                default:
+                    throw new AssertionError(type);
+            }
+        }
+        if (fromField instanceof WireMarshaller.StringFieldAccess)
+            return (from, to) -> unsafePutObject(to, toOffset, unsafeGetObject(from, fromOffset));
+        if (fromField instanceof WireMarshaller.StringBuilderFieldAccess
+                || fromField instanceof WireMarshaller.ArrayFieldAccess
+                || fromField instanceof WireMarshaller.EnumSetFieldAccess
+                || fromField instanceof WireMarshaller.CollectionFieldAccess
+                || fromField instanceof WireMarshaller.StringCollectionFieldAccess
+                || fromField instanceof WireMarshaller.MapFieldAccess
+                || fromField instanceof WireMarshaller.ObjectFieldAccess)
+            return new ObjectFieldCopy(fromOffset, toOffset, new WireFieldCopy(fromMarshaller, i, toMarshaller, j));
+        // e.g. Bytes, IntValue and LongValue
+        return new WireFieldCopy(fromMarshaller, i, toMarshaller, j);
+    }
+
+    /**
+     * @param value to copy
+     * @param using an existing value to reuse if possible
+     * @return a deep copy of value, or NOT_COPIED if it or anything it contains needs to be copied via a wire.
+     */
+    @Nullable
+    static Object copyValue(@Nullable Object value, @Nullable Object using) {
+        if (value == null)
+            return null;
+        final Class<?> vClass = value.getClass();
+        if (isImmutable(vClass))
+            return value;
+        if (value instanceof StringBuilder) {
+            final StringBuilder sb = using instanceof StringBuilder ? (StringBuilder) using : new StringBuilder();
+            sb.setLength(0);
+            sb.append((StringBuilder) value);
+            return sb;
+        }
+        if (vClass.isArray())
+            return copyArray(value);
+        if (value instanceof EnumSet) {
+            if (using instanceof EnumSet) {
+                ((EnumSet) using).clear();
+                ((EnumSet) using).addAll((EnumSet) value);
+                return using;
+            }
+            return ((EnumSet) value).clone();
+        }
+        if (value instanceof Collection) {
+            final Collection coll = using != null && using.getClass() == vClass ? (Collection) using : newCollection(value);
+            if (coll == null)
+                return NOT_COPIED;
+            coll.clear();
+            for (Object o : (Collection) value) {
+                final Object o2 = copyValue(o, null);
+                if (o2 == NOT_COPIED)
+                    return NOT_COPIED;
+                coll.add(o2);
+            }
+            return coll;
+        }
+        if (value instanceof Map) {
+            final Map map = using != null && using.getClass() == vClass ? (Map) using : newMap(value);
+            if (map == null)
+                return NOT_COPIED;
+            map.clear();
+            for (Map.Entry e : ((Map<?, ?>) value).entrySet()) {
+                final Object k = copyValue(e.getKey(), null);
+                final Object v = copyValue(e.getValue(), null);
+                if (k == NOT_COPIED || v == NOT_COPIED)
+                    return NOT_COPIED;
+                map.put(k, v);
+            }
+            return map;
+        }
+        final FieldCopier copier = COPIERS.get(vClass).get(vClass);
+        if (copier == null || !((Marshallable) value).usesSelfDescribingMessage())
+            return NOT_COPIED;
+        final Object t = using != null && using.getClass() == vClass ? using : ObjectUtils.newInstance(vClass);
+        copier.copy0(value, t);
+        return t;
+    }
+
+    private static boolean isImmutable(Class<?> vClass) {
+        return vClass == String.class
+                || Number.class.isAssignableFrom(vClass) && vClass.getName().startsWith("java.lang.")
+                || vClass == Boolean.class
+                || vClass == Character.class
+                || Enum.class.isAssignableFrom(vClass)
+                || vClass == BigDecimal.class
+                || vClass == BigInteger.class
+                || vClass == UUID.class
+                || vClass == Class.class
+                || vClass.getName().startsWith("java.time.");
+    }
+
+    @NotNull
+    private static Object copyArray(Object value) {
+        final Class<?> componentType = value.getClass().getComponentType();
+        final int length = Array.getLength(value);
+        final Object array = Array.newInstance(componentType, length);
+        if (componentType.isPrimitive() || isImmutable(componentType)) {
+            System.arraycopy(value, 0, array, 0, length);
+        } else {
+            final Object[] from = (Object[]) value;
+            final Object[] to = (Object[]) array;
+            for (int i = 0; i < length; i++) {
+                final Object o = copyValue(from[i], null);
+                if (o == NOT_COPIED)
+                    return NOT_COPIED;
+                to[i] = o;
+            }
+        }
+        return array;
+    }
+
+    // the types which can be created as they were, otherwise the wire picks an implementation
+    @Nullable
+    private static Collection newCollection(Object value) {
+        final Class<?> vClass = value.getClass();
+        if (vClass == ArrayList.class || vClass == LinkedList.class
+                || vClass == HashSet.class || vClass == LinkedHashSet.class)
+            return (Collection) ObjectUtils.newInstance(vClass);
+        if (vClass == TreeSet.class && ((TreeSet) value).comparator() == null)
+            return new TreeSet();
+        return null;
+    }
+
+    @Nullable
+    private static Map newMap(Object value) {
+        final Class<?> vClass = value.getClass();
+        if (vClass == HashMap.class || vClass == LinkedHashMap.class)
+            return (Map) ObjectUtils.newInstance(vClass);
+        if (vClass == TreeMap.class && ((TreeMap) value).comparator() == null)
+            return new TreeMap();
+        return null;
+    }
+
+    private void copy0(Object from, Object to) {
+        for (FieldCopy copy : copies)
+            copy.copy(from, to);
+        if (defaults == null)
+            return;
+        try {
+            for (WireMarshaller.FieldAccess field : targetOnly)
+                field.copy(defaults, to);
+        } catch (IllegalAccessException e) {
+            // should never happen as the types should match.
+            throw new AssertionError(e);
+        }
+    }
+
+    @FunctionalInterface
+    interface FieldCopy {
+        void copy(Object from, Object to);
+    }
+
+    /**
+     * Deep copies a reference, falling back to the wire if it holds anything which can't be copied directly.
+     */
+    static final class ObjectFieldCopy implements FieldCopy {
+        private final long fromOffset;
+        private final long toOffset;
+        private final WireFieldCopy wireFieldCopy;
+
+        ObjectFieldCopy(long fromOffset, long toOffset, WireFieldCopy wireFieldCopy) {
+            this.fromOffset = fromOffset;
+            this.toOffset = toOffset;
+            this.wireFieldCopy = wireFieldCopy;
+        }
+
+        @Override
+        public void copy(Object from, Object to) {
+            final Object value = copyValue(unsafeGetObject(from, fromOffset), unsafeGetObject(to, toOffset));
+            if (value == NOT_COPIED)
+                wireFieldCopy.copy(from, to);
+            else
+                unsafePutObject(to, toOffset, value);
+        }
+    }
+
+    /**
+     * Copies one field via the wire, for fields without a direct copy.
+     */
+    static final class WireFieldCopy implements FieldCopy {
+        private final WireMarshaller fromMarshaller;
+        private final int fromIndex;
+        private final WireMarshaller toMarshaller;
+        private final int toIndex;
+
+        WireFieldCopy(WireMarshaller fromMarshaller, int fromIndex, WireMarshaller toMarshaller, int toIndex) {
+            this.fromMarshaller = fromMarshaller;
+            this.fromIndex = fromIndex;
+            this.toMarshaller = toMarshaller;
+            this.toIndex = toIndex;
+        }
+
+        @Override
+        public void copy(Object from, Object to) {
+            final Wire wire = Wires.acquireBinaryWire();
+            fromMarshaller.writeField(fromIndex, from, wire);
+            toMarshaller.readField(toIndex, to, toMarshaller.defaultValue(), wire.read(), true);
+        }
+    }
+}
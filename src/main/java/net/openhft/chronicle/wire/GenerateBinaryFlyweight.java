@@ -0,0 +1,165 @@
+/*
+ * Copyright 2016-2020 chronicle.software
+ *
+ * https://chronicle.software
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.openhft.chronicle.wire;
+
+import net.openhft.chronicle.core.ClassLocal;
+import net.openhft.chronicle.wire.utils.SourceCodeFormatter;
+import org.jetbrains.annotations.NotNull;
+
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Generates a {@link BinaryFlyweight} for an interface of getters, each getter named after the field it reads.
+ * <p>
+ * Primitives and Strings are decoded in place, a CharSequence getter returns a reused StringBuilder, and other types
+ * are read into a reused instance where possible. A getter for a field which is not present returns 0, false or null.
+ */
+public class GenerateBinaryFlyweight extends AbstractClassGenerator<GenerateBinaryFlyweight.GBFMetaData> {
+    private static final ClassLocal<Class<?>> FLYWEIGHT_CL = ClassLocal.withInitial(GenerateBinaryFlyweight::generate);
+    private final List<Method> getters = new ArrayList<>();
+
+    GenerateBinaryFlyweight() {
+        super(new GBFMetaData());
+    }
+
+    @NotNull
+    static <F> F newInstance(@NotNull Class<F> tClass) {
+        try {
+            return (F) FLYWEIGHT_CL.get(tClass).getDeclaredConstructor().newInstance();
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalArgumentException("Unable to create a flyweight for " + tClass, e);
+        }
+    }
+
+    private static Class<?> generate(Class<?> tClass) {
+        if (!tClass.isInterface())
+            throw new IllegalArgumentException("A flyweight can only be generated for an interface, not " + tClass);
+        final String name = tClass.getName();
+        final int lastDot = name.lastIndexOf('.');
+        GenerateBinaryFlyweight gbf = new GenerateBinaryFlyweight();
+        gbf.metaData()
+                .packageName(lastDot < 0 ? "" : name.substring(0, lastDot))
+                .baseClassName(name.substring(lastDot + 1).replace('$', '_') + "Flyweight")
+                .interfaces().add(tClass);
+        return gbf.acquireClass(tClass.getClassLoader());
+    }
+
+    private static String defaultFor(Class<?> type) {
+        if (type == boolean.class)
+            return "false";
+        if (type == char.class)
+            return "(char) 0";
+        if (type == long.class)
+            return "0L";
+        if (type == float.class)
+            return "0.0f";
+        if (type == double.class)
+            return "0.0";
+        if (type.isPrimitive())
+            return "0";
+        return "null";
+    }
+
+    @Override
+    protected Class extendsClass() {
+        return AbstractBinaryFlyweight.class;
+    }
+
+    @Override
+    protected void generateFields(SourceCodeFormatter mainCode) {
+        for (Method method : methodsToOverride()) {
+            if (method.getParameterCount() > 0 || method.getReturnType() == void.class)
+                throw new IllegalArgumentException("Only getters can be viewed, not " + method);
+            getters.add(method);
+        }
+        nameForClass(ValueIn.class);
+        withLineNumber(mainCode)
+                .append("private static final ").append(nameForClass(EventNameHash.class)).append(" FIELD_NAMES = new EventNameHash(");
+        String[] names = getters.stream().map(Method::getName).toArray(String[]::new);
+        long seedAndCapacity = EventNameHash.findSeed(0, names);
+        mainCode.append((int) seedAndCapacity).append(", ").append((int) (seedAndCapacity >>> 32));
+        for (String name : names)
+            mainCode.append(", \"").append(name).append("\"");
+        mainCode.append(");\n");
+
+        for (int i = 0; i < getters.size(); i++) {
+            Class<?> type = getters.get(i).getReturnType();
+            if (type == CharSequence.class) {
+                mainCode.append("private final StringBuilder field").append(i).append(" = new StringBuilder();\n");
+
+            } else if (type == MessageHistory.class || type == VanillaMessageHistory.class) {
+                mainCode.append("private final ").append(nameForClass(VanillaMessageHistory.class))
+                        .append(" field").append(i).append(" = new VanillaMessageHistory();\n");
+
+            } else if (!type.isPrimitive() && type != String.class) {
+                mainCode.append("private ").append(nameForClass(type)).append(" field").append(i).append(";\n");
+            }
+        }
+    }
+
+    @Override
+    protected void generateConstructors(SourceCodeFormatter mainCode) {
+        withLineNumber(mainCode)
+                .append("public ").append(className()).append("() {\n")
+                .append("super(FIELD_NAMES);\n")
+                .append("}\n");
+    }
+
+    @Override
+    protected void generateMethod(Method method, StringBuilder params, List<String> paramList, SourceCodeFormatter mainCode) {
+        final int index = getters.indexOf(method);
+        final Class<?> type = method.getReturnType();
+        final String field = "field" + index;
+        mainCode.append("ValueIn vin = valueIn(").append(index).append(");\n")
+                .append("if (vin == null)\n")
+                .append("return ").append(defaultFor(type)).append(";\n");
+        if (type == boolean.class) {
+            mainCode.append("return vin.bool();\n");
+        } else if (type == byte.class) {
+            mainCode.append("return vin.int8();\n");
+        } else if (type == short.class) {
+            mainCode.append("return vin.int16();\n");
+        } else if (type == char.class) {
+            mainCode.append("return vin.character();\n");
+        } else if (type == int.class) {
+            mainCode.append("return vin.int32();\n");
+        } else if (type == long.class) {
+            mainCode.append("return vin.int64();\n");
+        } else if (type == float.class) {
+            mainCode.append("return vin.float32();\n");
+        } else if (type == double.class) {
+            mainCode.append("return vin.float64();\n");
+        } else if (type == String.class) {
+            mainCode.append("return vin.text();\n");
+        } else if (type == CharSequence.class) {
+            mainCode.append(field).append(".setLength(0);\n")
+                    .append("return vin.textTo(").append(field).append(");\n");
+        } else if (type == MessageHistory.class || type == VanillaMessageHistory.class) {
+            mainCode.append("vin.marshallable(").append(field).append(");\n")
+                    .append("return ").append(field).append(";\n");
+        } else {
+            mainCode.append("return ").append(field).append(" = vin.object(").append(field).append(", ")
+                    .append(nameForClass(type)).append(".class);\n");
+        }
+    }
+
+    public static class GBFMetaData extends AbstractClassGenerator.MetaData<GBFMetaData> {
+    }
+}
@@ -30,9 +30,7 @@ import org.jetbrains.annotations.NotNull;
 import java.lang.annotation.Annotation;
 import java.lang.reflect.Method;
 import java.lang.reflect.Modifier;
-import java.util.Arrays;
-import java.util.HashSet;
-import java.util.Set;
+import java.util.*;
 import java.util.function.BiConsumer;
 import java.util.stream.Collectors;
 
@@ -52,6 +50,7 @@ public class GenerateMethodReader {
     private final Set<String> handledMethodNames = new HashSet<>();
     private final Set<String> handledMethodSignatures = new HashSet<>();
     private final Set<Class<?>> handledInterfaces = new HashSet<>();
+    private final List<String> eventNames = new ArrayList<>();
 
     private final SourceCodeFormatter sourceCode = new JavaSourceCodeFormatter();
     private final SourceCodeFormatter fields = new JavaSourceCodeFormatter();
@@ -74,6 +73,7 @@ public class GenerateMethodReader {
         this.interceptor = interceptor;
         this.instances = instances;
         this.generatedClassName = generatedClassName0();
+        eventNames.add(MethodReader.HISTORY);
     }
 
     /**
@@ -162,6 +162,15 @@ public class GenerateMethodReader {
             sourceCode.append("\n");
         }
 
+        sourceCode.append("// event names resolved without creating a String\n");
+        final String[] names = eventNames.toArray(new String[0]);
+        final long seedAndCapacity = EventNameHash.findSeed(0, names);
+        sourceCode.append(format("private static final EventNameHash EVENT_NAMES = new EventNameHash(%d, %d",
+                (int) seedAndCapacity, (int) (seedAndCapacity >>> 32)));
+        for (String name : names)
+            sourceCode.append(format(", \"%s\"", name));
+        sourceCode.append(");\n\n");
+
         if (hasChainedCalls) {
             sourceCode.append("// chained call result\n");
             sourceCode.append("private Object chainedCallReturnResult;");
@@ -184,11 +193,12 @@ public class GenerateMethodReader {
         sourceCode.append("@Override\n" +
                 "protected boolean readOneCall(WireIn wireIn) {\n" +
                 "String lastEventName = \"\";\n" +
+                "int eventIndex;\n" +
                 "if (wireIn.bytes().peekUnsignedByte() == BinaryWireCode.FIELD_NUMBER) {\n" +
                 "int methodId = (int) wireIn.readEventNumber();\n" +
                 "switch (methodId) {\n");
 
-        addMethodIdSwitch(MethodReader.HISTORY, MethodReader.MESSAGE_HISTORY_METHOD_ID);
+        addMethodIdSwitch(MethodReader.HISTORY, MethodReader.MESSAGE_HISTORY_METHOD_ID, 0);
         sourceCode.append(eventIdSwitchBlock);
 
         sourceCode.append("default:\n" +
@@ -196,16 +206,22 @@ public class GenerateMethodReader {
                 "}\n" +
                 "}\n" +
                 "else {\n" +
+                "eventIndex = EVENT_NAMES.readEventIndex(wireIn);\n" +
+                "if (eventIndex < 0) {\n" +
                 "lastEventName = wireIn.readEvent(String.class);\n" +
+                "eventIndex = EVENT_NAMES.indexOf(lastEventName);\n" +
+                "}\n" +
                 "}\n" +
+                "if (eventIndex >= 0)\n" +
+                "lastEventName = EVENT_NAMES.name(eventIndex);\n" +
                 "ValueIn valueIn = wireIn.getValueIn();\n" +
                 "try {\n" +
                 "if (Jvm.isDebug())\n" +
                 "debugLoggingParselet.accept(lastEventName, valueIn);\n" +
                 "if (lastEventName == null)\n" +
                 "throw new IllegalStateException(\"Failed to read method name or ID\");\n" +
-                "switch (lastEventName) {\n" +
-                "case MethodReader.HISTORY:\n" +
+                "switch (eventIndex) {\n" +
+                "case 0: // " + MethodReader.HISTORY + "\n" +
                 "valueIn.marshallable(messageHistory);\n" +
                 "break;\n\n");
 
@@ -321,14 +337,17 @@ public class GenerateMethodReader {
 
         final MethodId methodIdAnnotation = Annotations.getAnnotation(m, MethodId.class);
 
+        final int eventIndex = eventNames.size();
+        eventNames.add(m.getName());
+
         if (methodIdAnnotation != null) {
             int methodId = Maths.toInt32(methodIdAnnotation.value());
-            addMethodIdSwitch(m.getName(), methodId);
+            addMethodIdSwitch(m.getName(), methodId, eventIndex);
         }
 
         String chainedCallPrefix = chainReturnType != null ? "chainedCallReturnResult = " : "";
 
-        eventNameSwitchBlock.append(format("case \"%s\":\n", m.getName()));
+        eventNameSwitchBlock.append(format("case %d: // %s\n", eventIndex, m.getName()));
         if (parameterTypes.length == 0) {
             eventNameSwitchBlock.append("valueIn.skipValue();\n");
             eventNameSwitchBlock.append(methodCall(m, instanceFieldName, chainedCallPrefix));
@@ -379,9 +398,9 @@ public class GenerateMethodReader {
             handleInterface(chainReturnType, "chainedCallReturnResult", false);
     }
 
-    private void addMethodIdSwitch(String methodName, int methodId) {
+    private void addMethodIdSwitch(String methodName, int methodId, int eventIndex) {
         eventIdSwitchBlock.append(format("case %d:\n", methodId));
-        eventIdSwitchBlock.append(format("lastEventName = \"%s\";\n", methodName));
+        eventIdSwitchBlock.append(format("eventIndex = %d; // %s\n", eventIndex, methodName));
         eventIdSwitchBlock.append("break;\n\n");
     }
 
@@ -34,6 +34,7 @@ public class GenerateMethodWriter {
     public static final String UPDATE_INTERCEPTOR = UpdateInterceptor.class.getSimpleName();
     static final boolean DUMP_CODE = Jvm.getBoolean("dumpCode");
     private static final String DOCUMENT_CONTEXT = DocumentContext.class.getSimpleName();
+    private static final String WRITE_BATCH = WriteBatch.class.getSimpleName();
     private static final String WRITE_DOCUMENT_CONTEXT = WriteDocumentContext.class.getSimpleName();
     private static final String MARSHALLABLE_OUT = MarshallableOut.class.getSimpleName();
     private static final String METHOD_ID = MethodId.class.getSimpleName();
@@ -74,6 +75,11 @@ public class GenerateMethodWriter {
                 "return out.get().writingDocument(metaData);\n" +
                 "}\n");
         TEMPLATE_METHODS.put("writingDocument", wd);
+        TEMPLATE_METHODS.put("writingBatch",
+                singletonMap(singletonList(WriteBatch.class), "" +
+                        "public " + WRITE_BATCH + " writingBatch() {\n" +
+                        "    return out.get().writingBatch();\n" +
+                        "}\n"));
     }
 
     private final boolean metaData;
@@ -87,6 +93,11 @@ public class GenerateMethodWriter {
     private final String genericEvent;
     private final boolean useUpdateInterceptor;
     private final ConcurrentMap<Class<?>, String> methodWritersMap = new ConcurrentHashMap<>();
+    // pre-encoded event names and ids, one per generated method
+    private final StringBuilder eventKeyFields = new StringBuilder();
+    private int eventKeyCount = 0;
+    // one converter per @IntConversion or @LongConversion class, by its name
+    private final Map<String, String> converterFields = new LinkedHashMap<>();
     final private AtomicInteger indent = new AtomicInteger();
 
     private GenerateMethodWriter(final String packageName,
@@ -249,6 +260,7 @@ public class GenerateMethodWriter {
             importSet.add(GenerateMethodWriter.class.getName());
             importSet.add(DocumentContext.class.getName());
             importSet.add(WriteDocumentContext.class.getName());
+            importSet.add(WriteBatch.class.getName());
             importSet.add(MethodWriterInvocationHandlerSupplier.class.getName());
             importSet.add(Jvm.class.getName());
             importSet.add(Closeable.class.getName());
@@ -386,6 +398,9 @@ public class GenerateMethodWriter {
         for (Map.Entry<Class<?>, String> e : methodWritersMap.entrySet()) {
             result.append(format("private transient ThreadLocal<%s> %s;\n", nameForClass(importSet, e.getKey()), e.getValue()));
         }
+        result.append(eventKeyFields);
+        for (Map.Entry<String, String> e : converterFields.entrySet())
+            result.append(format("private static final %s %s = new %s();\n", e.getKey(), e.getValue(), e.getKey()));
         result.append('\n');
 
         result.append(format("// constructor\npublic %s(Supplier<" + MARSHALLABLE_OUT + "> out, "
@@ -447,15 +462,18 @@ public class GenerateMethodWriter {
         int startJ = 0;
 
         final String eventName;
+        final boolean constantName;
         if (parameterCount > 0 && dm.getName().equals(genericEvent)) {
             // this is used when we are processing the genericEvent
             eventName = parameters[0].getName();
             startJ = 1;
+            constantName = false;
         } else {
             eventName = '\"' + dm.getName() + '\"';
+            constantName = true;
         }
 
-        methodIDAnotation = writeEventNameOrId(dm, body, eventName);
+        methodIDAnotation = writeEventNameOrId(dm, body, eventName, constantName);
         if (methodIDAnotation.length() > 0 && !methodIds.add(methodIDAnotation))
             throw new MethodWriterValidationException("Duplicate methodIds. Cannot add " + methodIDAnotation + " to " + methodIds);
 
@@ -491,56 +509,105 @@ public class GenerateMethodWriter {
         return " this";
     }
 
-    private String writeEventNameOrId(final Method dm, final StringBuilder body, final String eventName) {
+    private String writeEventNameOrId(final Method dm, final StringBuilder body, final String eventName, final boolean constantName) {
         String methodID = "";
         final Optional<Annotation> methodId = useMethodId ? stream(dm.getAnnotations()).filter(MethodId.class::isInstance).findFirst() : Optional.empty();
         if ((wireType != WireType.TEXT && wireType != WireType.YAML) && methodId.isPresent()) {
 
             long value = ((MethodId) methodId.get()).value();
-            body.append(format("final " + VALUE_OUT + " valueOut = dc.wire().writeEventId(%s, %d);\n", eventName, value));
+            if (constantName && value == (int) value)
+                body.append(format("final " + VALUE_OUT + " valueOut = dc.wire().writeEventId(%s);\n", eventKey(eventName, value + "")));
+            else
+                body.append(format("final " + VALUE_OUT + " valueOut = dc.wire().writeEventId(%s, %d);\n", eventName, value));
             methodID = format("@" + METHOD_ID + "(%d)\n", value);
 
+        } else if (constantName) {
+            body.append(format("final " + VALUE_OUT + " valueOut = dc.wire().writeEventName(%s);\n", eventKey(eventName, null)));
+
         } else
             body.append(format("final " + VALUE_OUT + " valueOut = dc.wire().writeEventName(%s);\n", eventName));
         return methodID;
     }
 
-    private void writeArrayOfParameters(final Method dm, final int len, final StringBuilder body, final int startJ) {
-        if (dm.getParameterTypes().length > startJ + 1)
-            body.append("valueOut.array(v -> {\n");
-        for (int j = startJ; j < len; j++) {
-
-            final Parameter p = dm.getParameters()[j];
-
-            final Optional<String> intConversion = stream(p.getAnnotations())
-                    .filter(a -> a.annotationType() == IntConversion.class)
-                    .map(x -> (((IntConversion) x).value().getName()))
-                    .findFirst();
-
-            final Optional<String> longConversion = stream(p.getAnnotations())
-                    .filter(a -> a.annotationType() == LongConversion.class)
-                    .map(x -> (((LongConversion) x).value().getName()))
-                    .findFirst();
+    /**
+     * Add a static EncodedWireKey so the event header is encoded once rather than on every call.
+     *
+     * @return the name of the field
+     */
+    private String eventKey(final String eventName, final String methodId) {
+        final String field = "EVENT_KEY_" + eventKeyCount++;
+        eventKeyFields.append("private static final ").append(EncodedWireKey.class.getSimpleName()).append(' ')
+                .append(field).append(" = new ").append(EncodedWireKey.class.getSimpleName()).append('(').append(eventName);
+        if (methodId != null)
+            eventKeyFields.append(", ").append(methodId);
+        eventKeyFields.append(");\n");
+        return field;
+    }
 
-            final String name = intConversion.orElseGet(() -> (longConversion.orElse("")));
+    /**
+     * Add a static converter so one is created per class rather than on every call.
+     *
+     * @return the name of the field
+     */
+    private String converter(final Class<?> converterClass) {
+        final String name = converterClass.getCanonicalName();
+        if (name == null)
+            throw new MethodWriterValidationException("the converter " + converterClass.getName()
+                    + " must be a top level or nested class to be used by a generated method writer");
+        return converterFields.computeIfAbsent(name, c -> "CONVERTER_" + converterFields.size());
+    }
 
-            if (!name.isEmpty() && (WireType.TEXT == wireType || WireType.YAML == wireType))
-                body.append(format("//todo improve this\nvalueOut.rawText(new %s().asText(%s));\n", name, p.getName()));
-            else if (p.getType().isPrimitive() || CharSequence.class.isAssignableFrom(p.getType())) {
-                body.append(format("%s.%s(%s);\n", dm.getParameterTypes().length > startJ + 1 ? "v" : "valueOut", toString(p.getType()), p.getName()));
-            } else
-                writeValue(dm, body, startJ, p);
+    private void writeArrayOfParameters(final Method dm, final int len, final StringBuilder body, final int startJ) {
+        if (len <= startJ + 1) {
+            for (int j = startJ; j < len; j++)
+                writeParameter(dm.getParameters()[j], body, "valueOut");
+            return;
+        }
+        if (WireType.TEXT != wireType && WireType.YAML != wireType) {
+            // write the sequence inline where the wire supports it, so no capturing lambda is created per call
+            body.append("final long sequencePosition = valueOut.startSequence();\n");
+            body.append("if (sequencePosition >= 0) {\n");
+            for (int j = startJ; j < len; j++)
+                writeParameter(dm.getParameters()[j], body, "valueOut");
+            body.append("valueOut.endSequence(sequencePosition);\n");
+            body.append("} else {\n");
         }
+        body.append("valueOut.array(v -> {\n");
+        for (int j = startJ; j < len; j++)
+            writeParameter(dm.getParameters()[j], body, "v");
+        body.append("}, Object[].class);\n");
+        if (WireType.TEXT != wireType && WireType.YAML != wireType)
+            body.append("}\n");
+    }
 
-        if (dm.getParameterTypes().length > startJ + 1)
-            body.append("}, Object[].class);\n");
+    private void writeParameter(final Parameter p, final StringBuilder body, final String valueOut) {
+        final Optional<Class<?>> intConversion = stream(p.getAnnotations())
+                .filter(a -> a.annotationType() == IntConversion.class)
+                .<Class<?>>map(x -> ((IntConversion) x).value())
+                .findFirst();
+
+        final Optional<Class<?>> longConversion = stream(p.getAnnotations())
+                .filter(a -> a.annotationType() == LongConversion.class)
+                .<Class<?>>map(x -> ((LongConversion) x).value())
+                .findFirst();
+
+        final boolean text = WireType.TEXT == wireType || WireType.YAML == wireType;
+        if (text && longConversion.isPresent() && !intConversion.isPresent())
+            body.append(format("%s.writeLong(%s, %s);\n", valueOut, converter(longConversion.get()), p.getName()));
+        else if (text && intConversion.isPresent())
+            body.append(format("{\nfinal StringBuilder convertedText = Wires.acquireStringBuilder();\n%s.append(convertedText, %s);\n%s.rawText(convertedText);\n}\n",
+                    converter(intConversion.get()), p.getName(), valueOut));
+        else if (p.getType().isPrimitive() || CharSequence.class.isAssignableFrom(p.getType())) {
+            body.append(format("%s.%s(%s);\n", valueOut, toString(p.getType()), p.getName()));
+        } else
+            writeValue(body, p, valueOut);
     }
 
-    private void writeValue(final Method dm, final StringBuilder body, final int startJ, final Parameter p) {
+    private void writeValue(final StringBuilder body, final Parameter p, final String valueOut) {
         String className = p.getType().getTypeName().replace('$', '.');
 
         body
-                .append(dm.getParameterTypes().length > startJ + 1 ? "v" : "valueOut")
+                .append(valueOut)
                 .append(".object(")
                 .append(className)
                 .append(".class, ")
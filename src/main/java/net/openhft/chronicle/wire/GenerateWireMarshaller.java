@@ -0,0 +1,271 @@
+package net.openhft.chronicle.wire;
+
+import net.openhft.chronicle.core.Jvm;
+import net.openhft.chronicle.core.UnsafeMemory;
+import net.openhft.chronicle.core.pool.StringBuilderPool;
+import net.openhft.chronicle.wire.utils.SourceCodeFormatter;
+import org.jetbrains.annotations.Nullable;
+
+import java.lang.reflect.Method;
+import java.util.List;
+
+/**
+ * Compiles a {@link GeneratedMarshaller} for a class with straight line code for each field of a primitive, String or
+ * {@link LongConversion}/{@link IntConversion} type. Other fields are delegated back to the reflective
+ * {@link WireMarshaller}.
+ */
+public class GenerateWireMarshaller extends AbstractClassGenerator<GenerateWireMarshaller.GWMMetaData> {
+    // generating a class needs marshallers itself, these use reflection.
+    private static final ThreadLocal<Boolean> GENERATING = ThreadLocal.withInitial(() -> false);
+    private final WireMarshaller<?> marshaller;
+
+    GenerateWireMarshaller(WireMarshaller<?> marshaller) {
+        super(new GWMMetaData());
+        this.marshaller = marshaller;
+    }
+
+    /**
+     * @return a compiled marshaller or null if one couldn't be generated, in which case reflection should be used.
+     */
+    @Nullable
+    static <T> GeneratedMarshaller<T> generate(Class<T> tClass, WireMarshaller<T> marshaller) {
+        final String name = tClass.getName();
+        final int lastDot = name.lastIndexOf('.');
+        final ClassLoader classLoader = tClass.getClassLoader();
+        if (lastDot < 0 || classLoader == null || name.startsWith("java") || GENERATING.get())
+            return null;
+        GENERATING.set(true);
+        try {
+            GenerateWireMarshaller gwm = new GenerateWireMarshaller(marshaller);
+            gwm.metaData()
+                    .packageName(name.substring(0, lastDot))
+                    .baseClassName(name.substring(lastDot + 1).replace('$', '_') + "Marshaller")
+                    .interfaces().add(GeneratedMarshaller.class);
+            Class<?> aClass = gwm.acquireClass(classLoader);
+            return (GeneratedMarshaller<T>) aClass.getConstructor(WireMarshaller.class).newInstance(marshaller);
+        } catch (Throwable t) {
+            Jvm.warn().on(GenerateWireMarshaller.class, "Unable to generate a marshaller for " + name + ", using reflection", t);
+            return null;
+        } finally {
+            GENERATING.set(false);
+        }
+    }
+
+    /**
+     * @return the Unsafe accessor suffix for a field handled in generated code or null if it is delegated.
+     */
+    @Nullable
+    private static String accessorFor(WireMarshaller.FieldAccess field) {
+        Class<?> fa = field.getClass();
+        if (fa == WireMarshaller.BooleanFieldAccess.class)
+            return "Boolean";
+        if (fa == WireMarshaller.ByteFieldAccess.class)
+            return "Byte";
+        if (fa == WireMarshaller.ShortFieldAccess.class)
+            return "Short";
+        if (fa == WireMarshaller.IntegerFieldAccess.class || fa == WireMarshaller.IntConversionFieldAccess.class)
+            return "Int";
+        if (fa == WireMarshaller.LongFieldAccess.class || fa == WireMarshaller.LongConversionFieldAccess.class)
+            return "Long";
+        if (fa == WireMarshaller.FloatFieldAccess.class)
+            return "Float";
+        if (fa == WireMarshaller.DoubleFieldAccess.class)
+            return "Double";
+        if (fa == WireMarshaller.StringFieldAccess.class)
+            return "Object";
+        return null;
+    }
+
+    private static String valueMethodFor(String accessor) {
+        switch (accessor) {
+            case "Boolean":
+                return "bool";
+            case "Byte":
+                return "int8";
+            case "Short":
+                return "int16";
+            case "Int":
+                return "int32";
+            case "Long":
+                return "int64";
+            case "Float":
+                return "float32";
+            case "Double":
+                return "float64";
+            default:
+                return "text";
+        }
+    }
+
+    private static boolean readsWithPrevious(String accessor) {
+        switch (accessor) {
+            case "Int":
+            case "Long":
+            case "Float":
+            case "Double":
+                return true;
+            default:
+                return false;
+        }
+    }
+
+    private static boolean isConversion(WireMarshaller.FieldAccess field) {
+        return field instanceof WireMarshaller.IntConversionFieldAccess
+                || field instanceof WireMarshaller.LongConversionFieldAccess;
+    }
+
+    private static String converterType(WireMarshaller.FieldAccess field) {
+        return field instanceof WireMarshaller.LongConversionFieldAccess ? "LongConverter" : "IntConverter";
+    }
+
+    @Override
+    protected void generateFields(SourceCodeFormatter mainCode) {
+        nameForClass(UnsafeMemory.class);
+        nameForClass(WireOut.class);
+        nameForClass(WireIn.class);
+        nameForClass(ValueIn.class);
+        nameForClass(ValueOut.class);
+        nameForClass(DefaultValueIn.class);
+        nameForClass(WireKey.class);
+        nameForClass(LongConverter.class);
+        nameForClass(IntConverter.class);
+        withLineNumber(mainCode)
+                .append("private static final ").append(nameForClass(StringBuilderPool.class)).append(" RSBP = new StringBuilderPool();\n")
+                .append("private static final StringBuilderPool WSBP = new StringBuilderPool();\n")
+                .append("private final ").append(nameForClass(WireMarshaller.class)).append(" marshaller;\n");
+        WireMarshaller.FieldAccess[] fields = marshaller.fields;
+        for (int i = 0; i < fields.length; i++) {
+            WireMarshaller.FieldAccess field = fields[i];
+            mainCode.append("// ").append(field.field.getName()).append("\n");
+            mainCode.append("private final WireKey key").append(i).append(";\n");
+            if (accessorFor(field) != null)
+                mainCode.append("private final long offset").append(i).append(";\n");
+            if (isConversion(field))
+                mainCode.append("private final ").append(converterType(field)).append(" converter").append(i).append(";\n");
+        }
+    }
+
+    @Override
+    protected void generateConstructors(SourceCodeFormatter mainCode) {
+        withLineNumber(mainCode)
+                .append("public ").append(className()).append("(WireMarshaller marshaller) {\n")
+                .append("this.marshaller = marshaller;\n");
+        WireMarshaller.FieldAccess[] fields = marshaller.fields;
+        for (int i = 0; i < fields.length; i++) {
+            WireMarshaller.FieldAccess field = fields[i];
+            mainCode.append("key").append(i).append(" = marshaller.fieldKey(").append(i).append(");\n");
+            if (accessorFor(field) != null)
+                mainCode.append("offset").append(i).append(" = marshaller.fieldOffset(").append(i).append(");\n");
+            if (isConversion(field))
+                mainCode.append("converter").append(i).append(" = (").append(converterType(field))
+                        .append(") marshaller.fieldConverter(").append(i).append(");\n");
+        }
+        mainCode.append("}\n");
+    }
+
+    /**
+     * The signature is generated by the base class, named for the parameters of {@link GeneratedMarshaller}.
+     */
+    @Override
+    protected void generateMethod(Method method, StringBuilder params, List<String> paramList, SourceCodeFormatter mainCode) {
+        switch (method.getName()) {
+            case "writeMarshallable":
+                generateWrite(mainCode, paramList.get(0), paramList.get(1));
+                break;
+            case "readMarshallable":
+                generateRead(mainCode, paramList.get(0), paramList.get(1), paramList.get(2), paramList.get(3));
+                break;
+            default:
+                throw new UnsupportedOperationException(method.toString());
+        }
+    }
+
+    private void generateWrite(SourceCodeFormatter mainCode, String t, String out) {
+        WireMarshaller.FieldAccess[] fields = marshaller.fields;
+        for (int i = 0; i < fields.length; i++) {
+            WireMarshaller.FieldAccess field = fields[i];
+            String accessor = accessorFor(field);
+            if (accessor == null || field.commentAnnotation != null) {
+                mainCode.append("marshaller.writeField(").append(i).append(", ").append(t).append(", ").append(out).append(");\n");
+
+            } else if (isConversion(field)) {
+                String type = accessor.toLowerCase();
+                mainCode.append("{\n")
+                        .append(type).append(" v = UnsafeMemory.unsafeGet").append(accessor).append("(").append(t).append(", offset").append(i).append(");\n")
+                        .append("ValueOut vo = ").append(out).append(".write(key").append(i).append(");\n")
+                        .append("if (vo.isBinary()) {\n")
+                        .append("vo.").append(valueMethodFor(accessor)).append("(v);\n")
+                        .append("} else {\n");
+                if (accessor.equals("Long"))
+                    mainCode.append("vo.writeLong(converter").append(i).append(", v);\n");
+                else
+                    mainCode.append("StringBuilder sb = WSBP.acquireStringBuilder();\n")
+                            .append("converter").append(i).append(".append(sb, v);\n")
+                            .append("vo.rawText(sb);\n");
+                mainCode.append("}\n")
+                        .append("}\n");
+
+            } else {
+                mainCode.append(out).append(".write(key").append(i).append(").").append(valueMethodFor(accessor))
+                        .append("(UnsafeMemory.").append(accessor.equals("Object") ? "<String>" : "")
+                        .append("unsafeGet").append(accessor).append("(").append(t).append(", offset").append(i).append("));\n");
+            }
+        }
+    }
+
+    private void generateRead(SourceCodeFormatter mainCode, String t, String in, String defaults, String overwrite) {
+        mainCode.append("ValueIn vin;\n")
+                .append("long pos;\n");
+        WireMarshaller.FieldAccess[] fields = marshaller.fields;
+        for (int i = 0; i < fields.length; i++) {
+            WireMarshaller.FieldAccess field = fields[i];
+            String accessor = accessorFor(field);
+            mainCode.append("vin = ").append(in).append(".read(key").append(i).append(");\n");
+            if (accessor == null) {
+                mainCode.append("marshaller.readField(").append(i).append(", ").append(t).append(", ").append(defaults)
+                        .append(", vin, ").append(overwrite).append(");\n");
+                continue;
+            }
+            String offset = "offset" + i;
+            String put = "UnsafeMemory.unsafePut" + accessor + "(" + t + ", " + offset + ", ";
+            String get = "UnsafeMemory.unsafeGet" + accessor + "(";
+            mainCode.append("if (vin instanceof DefaultValueIn) {\n")
+                    .append("if (").append(overwrite).append(" && ").append(defaults).append(" != null)\n")
+                    .append(put).append(get).append(defaults).append(", ").append(offset).append("));\n")
+                    .append("} else {\n")
+                    .append("pos = vin.wireIn().bytes().readPosition();\n")
+                    .append("try {\n");
+            String valueMethod = valueMethodFor(accessor);
+            if (isConversion(field)) {
+                String type = accessor.toLowerCase();
+                mainCode.append(type).append(" v;\n")
+                        .append("if (vin.isBinary()) {\n")
+                        .append("v = vin.").append(valueMethod).append("();\n")
+                        .append("} else {\n");
+                if (accessor.equals("Long"))
+                    mainCode.append("v = vin.readLong(converter").append(i).append(");\n");
+                else
+                    mainCode.append("StringBuilder sb = RSBP.acquireStringBuilder();\n")
+                            .append("vin.text(sb);\n")
+                            .append("v = converter").append(i).append(".parse(sb);\n");
+                mainCode.append("}\n")
+                        .append(put).append("v);\n");
+
+            } else if (readsWithPrevious(accessor)) {
+                mainCode.append(put).append(overwrite).append(" ? vin.").append(valueMethod).append("() : vin.")
+                        .append(valueMethod).append("(").append(get).append(t).append(", ").append(offset).append(")));\n");
+
+            } else {
+                mainCode.append(put).append("vin.").append(valueMethod).append("());\n");
+            }
+            mainCode.append("} catch (Exception e) {\n")
+                    .append("marshaller.readFieldFailed(").append(i).append(", ").append(t).append(", ").append(defaults)
+                    .append(", vin, pos, e);\n")
+                    .append("}\n")
+                    .append("}\n");
+        }
+    }
+
+    public static class GWMMetaData extends AbstractClassGenerator.MetaData<GWMMetaData> {
+    }
+}
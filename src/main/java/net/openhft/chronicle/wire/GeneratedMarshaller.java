@@ -0,0 +1,31 @@
+/*
+ * Copyright 2016-2020 chronicle.software
+ *
+ * https://chronicle.software
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.openhft.chronicle.wire;
+
+/**
+ * A marshaller compiled for one class by {@link GenerateWireMarshaller} which reads and writes all the fields
+ * in straight line code instead of a call per {@code FieldAccess}.
+ */
+public interface GeneratedMarshaller<T> {
+    void writeMarshallable(T t, WireOut out);
+
+    /**
+     * Read the fields in the order of the DTO.
+     */
+    void readMarshallable(T t, WireIn in, T defaults, boolean overwrite);
+}
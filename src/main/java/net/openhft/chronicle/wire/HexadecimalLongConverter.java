@@ -17,14 +17,53 @@
  */
 package net.openhft.chronicle.wire;
 
+import net.openhft.chronicle.bytes.Bytes;
+import net.openhft.chronicle.bytes.BytesStore;
+
 public class HexadecimalLongConverter implements LongConverter {
+    private static final byte[] HEX_DIGITS = "0123456789abcdef".getBytes();
+
+    /**
+     * Parses unsigned hexadecimal in the same way as {@link Long#parseUnsignedLong(String, int)}
+     */
+    static long parseHex(BytesStore<?, ?> bytes, long offset, int length) {
+        if (length == 0)
+            throw new NumberFormatException("No hexadecimal digits");
+        long value = 0;
+        for (int i = 0; i < length; i++) {
+            final int digit = Character.digit(bytes.readUnsignedByte(offset + i), 16);
+            if (digit < 0 || (value >>> 60) != 0)
+                throw new NumberFormatException("Not an unsigned hexadecimal long");
+            value = (value << 4) | digit;
+        }
+        return value;
+    }
+
+    /**
+     * Appends the same text as {@link Long#toHexString(long)}
+     */
+    static void appendHex(Bytes<?> text, long value) {
+        for (int shift = Math.max(0, (63 - Long.numberOfLeadingZeros(value)) & ~3); shift >= 0; shift -= 4)
+            text.writeByte(HEX_DIGITS[(int) (value >>> shift) & 0xF]);
+    }
+
     @Override
     public long parse(CharSequence text) {
         return Long.parseUnsignedLong(text.toString(), 16);
     }
 
+    @Override
+    public long parse(BytesStore<?, ?> bytes, long offset, int length) {
+        return parseHex(bytes, offset, length);
+    }
+
     @Override
     public void append(StringBuilder text, long value) {
         text.append(Long.toHexString(value));
     }
+
+    @Override
+    public void append(Bytes<?> text, long value) {
+        appendHex(text, value);
+    }
 }
@@ -0,0 +1,184 @@
+/*
+ * Copyright 2016-2020 chronicle.software
+ *
+ * https://chronicle.software
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.openhft.chronicle.wire;
+
+import net.openhft.chronicle.bytes.BytesStore;
+import net.openhft.chronicle.core.Maths;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A table of Strings where each can be in one of two slots, evicting one of them when both are used. Like the other
+ * interners it isn't thread safe but always returns a String with the right content.
+ * <p>
+ * The counters are only kept if asked for, as a shared table would otherwise write to the same cache line on every
+ * lookup.
+ */
+final class InternerTable implements WireInterner {
+    private static final int K0 = 0x6d0f27bd;
+
+    private final String[] entries;
+    private final int mask;
+    private final int shift;
+    @Nullable
+    private final LongAdder hits;
+    @Nullable
+    private final LongAdder misses;
+    @Nullable
+    private final LongAdder evictions;
+    private boolean toggle;
+
+    InternerTable(int capacity, boolean stats) {
+        int n = Maths.nextPower2(capacity, 128);
+        shift = Maths.intLog2(n);
+        entries = new String[n];
+        mask = n - 1;
+        hits = stats ? new LongAdder() : null;
+        misses = stats ? new LongAdder() : null;
+        evictions = stats ? new LongAdder() : null;
+    }
+
+    private static void increment(@Nullable LongAdder counter) {
+        if (counter != null)
+            counter.increment();
+    }
+
+    private static long sum(@Nullable LongAdder counter) {
+        return counter == null ? 0 : counter.sum();
+    }
+
+    // the same for 8-bit characters and bytes so either can find the other
+    private static int hash(@NotNull CharSequence cs) {
+        long h = cs.length();
+        for (int i = 0; i < cs.length(); i++)
+            h = h * K0 + cs.charAt(i);
+        return (int) Maths.agitate(h);
+    }
+
+    private static int hash(@NotNull BytesStore<?, ?> bs, long offset, int length) {
+        long h = length;
+        for (int i = 0; i < length; i++)
+            h = h * K0 + bs.readUnsignedByte(offset + i);
+        return (int) Maths.agitate(h);
+    }
+
+    private static boolean isEqual(@Nullable String s, @NotNull CharSequence cs) {
+        if (s == null || s.length() != cs.length())
+            return false;
+        for (int i = 0; i < s.length(); i++)
+            if (s.charAt(i) != cs.charAt(i))
+                return false;
+        return true;
+    }
+
+    private static boolean isEqual(@Nullable String s, @NotNull BytesStore<?, ?> bs, long offset, int length) {
+        if (s == null || s.length() != length)
+            return false;
+        for (int i = 0; i < length; i++)
+            if (s.charAt(i) != bs.readUnsignedByte(offset + i))
+                return false;
+        return true;
+    }
+
+    @Nullable
+    @Override
+    public String intern(@Nullable CharSequence cs) {
+        if (cs == null)
+            return null;
+        int hash = hash(cs);
+        String s = entries[hash & mask];
+        if (isEqual(s, cs)) {
+            increment(hits);
+            return s;
+        }
+        String s2 = entries[(hash >>> shift) & mask];
+        if (isEqual(s2, cs)) {
+            increment(hits);
+            return s2;
+        }
+        return add(hash, cs.toString());
+    }
+
+    @NotNull
+    @Override
+    public String intern8bit(@NotNull BytesStore<?, ?> bs, long offset, int length) {
+        int hash = hash(bs, offset, length);
+        String s = entries[hash & mask];
+        if (isEqual(s, bs, offset, length)) {
+            increment(hits);
+            return s;
+        }
+        String s2 = entries[(hash >>> shift) & mask];
+        if (isEqual(s2, bs, offset, length)) {
+            increment(hits);
+            return s2;
+        }
+        char[] chars = new char[length];
+        for (int i = 0; i < length; i++)
+            chars[i] = (char) bs.readUnsignedByte(offset + i);
+        return add(hash, new String(chars));
+    }
+
+    @NotNull
+    @Override
+    public String internUtf8(@NotNull BytesStore<?, ?> bs, long offset, int length) {
+        for (int i = 0; i < length; i++) {
+            if (bs.readByte(offset + i) < 0) {
+                // not ASCII so it can't be compared in place
+                byte[] bytes = new byte[length];
+                for (int j = 0; j < length; j++)
+                    bytes[j] = bs.readByte(offset + j);
+                return intern(new String(bytes, StandardCharsets.UTF_8));
+            }
+        }
+        return intern8bit(bs, offset, length);
+    }
+
+    @NotNull
+    private String add(int hash, @NotNull String s) {
+        increment(misses);
+        int h = hash & mask;
+        int h2 = (hash >>> shift) & mask;
+        if (entries[h] != null) {
+            if (entries[h2] == null || (toggle = !toggle))
+                h = h2;
+            if (entries[h] != null)
+                increment(evictions);
+        }
+        entries[h] = s;
+        return s;
+    }
+
+    @Override
+    public long hits() {
+        return sum(hits);
+    }
+
+    @Override
+    public long misses() {
+        return sum(misses);
+    }
+
+    @Override
+    public long evictions() {
+        return sum(evictions);
+    }
+}
@@ -125,7 +125,7 @@ public class JSONWire extends TextWire {
                     consumePadding();
                 }
 
-                final double v = isNull ? Double.NaN : bytes.parseDouble();
+                final double v = isNull ? Double.NaN : parseDouble();
                 checkRewind();
                 return v;
             }
@@ -152,7 +152,8 @@ public class JSONWire extends TextWire {
     @NotNull
     @Override
     protected Quotes needsQuotesEscaped(@NotNull CharSequence s) {
-        for (int i = 0; i < s.length(); i++) {
+        // anything before the plain end is neither a double quote nor a control character
+        for (int i = TextScanner.plainEnd(s, 0); i < s.length(); i++) {
             char ch = s.charAt(i);
             if (ch == '"' || ch < ' ')
                 return Quotes.DOUBLE;
@@ -287,13 +288,19 @@ public class JSONWire extends TextWire {
         }
 
         @Override
-        protected String doubleToString(double d) {
-            return Double.isNaN(d) ? "null" : super.doubleToString(d);
+        protected void appendDouble(double d) {
+            if (Double.isNaN(d))
+                bytes.append("null");
+            else
+                super.appendDouble(d);
         }
 
         @Override
-        protected String floatToString(float f) {
-            return Float.isNaN(f) ? "null" : super.floatToString(f);
+        protected void appendFloat(float f) {
+            if (Float.isNaN(f))
+                bytes.append("null");
+            else
+                super.appendFloat(f);
         }
 
         @NotNull
@@ -305,6 +312,14 @@ public class JSONWire extends TextWire {
             return wireOut;
         }
 
+        @Override
+        public WireOut writeLong(LongConverter longConverter, long l) {
+            bytes.writeByte((byte) '\"');
+            WireOut wireOut = super.writeLong(longConverter, l);
+            bytes.writeByte((byte) '\"');
+            return wireOut;
+        }
+
         @Override
         public @NotNull WireOut date(LocalDate localDate) {
             return text(localDate.toString());
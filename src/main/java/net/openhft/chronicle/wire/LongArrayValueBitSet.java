@@ -18,8 +18,10 @@
 package net.openhft.chronicle.wire;
 
 import net.openhft.chronicle.bytes.Bytes;
+import net.openhft.chronicle.bytes.BytesStore;
 import net.openhft.chronicle.bytes.ref.BinaryLongArrayReference;
 import net.openhft.chronicle.core.OS;
+import net.openhft.chronicle.core.UnsafeMemory;
 import net.openhft.chronicle.core.io.AbstractCloseable;
 import net.openhft.chronicle.core.io.IORuntimeException;
 import net.openhft.chronicle.core.values.LongArrayValues;
@@ -29,6 +31,7 @@ import org.jetbrains.annotations.NotNull;
 
 import java.nio.ByteBuffer;
 import java.util.*;
+import java.util.function.IntConsumer;
 import java.util.stream.IntStream;
 import java.util.stream.StreamSupport;
 
@@ -42,6 +45,9 @@ public class LongArrayValueBitSet extends AbstractCloseable implements Marshalla
 
     /* Used to shift left or right for a partial word mask */
     private static final long WORD_MASK = ~0L;
+    // the number of words read from the argument at a time by the exclusive operations
+    private static final int BLOCK_WORDS = 1024;
+    private static final long LONG_ARRAY_BASE = UnsafeMemory.UNSAFE.arrayBaseOffset(long[].class);
     private transient Pauser pauser = Pauser.busy();
 
     /**
@@ -749,6 +755,145 @@ public class LongArrayValueBitSet extends AbstractCloseable implements Marshalla
         OS.memory().storeFence();
     }
 
+    /**
+     * Returns the number of bits set, reading each word with a plain read after a single load fence rather than a
+     * volatile read per word as {@link #cardinality()} does. Changes made while it runs may or may not be counted.
+     */
+    public int cardinalitySnapshot() {
+        throwExceptionIfClosed();
+
+        OS.memory().loadFence();
+        final int wordsInUse = getWordsInUse();
+        long sum = 0;
+        for (int i = 0; i < wordsInUse; i++)
+            sum += Long.bitCount(words.getValueAt(i));
+        return (int) sum;
+    }
+
+    /**
+     * Passes the index of each bit set to the consumer in order, reading each word once with a plain read after a
+     * single load fence. Changes made while it runs may or may not be seen.
+     */
+    public void forEachSetBit(@NotNull IntConsumer consumer) {
+        throwExceptionIfClosed();
+
+        OS.memory().loadFence();
+        final int wordsInUse = getWordsInUse();
+        for (int i = 0; i < wordsInUse; i++)
+            for (long word = words.getValueAt(i); word != 0; word &= word - 1)
+                consumer.accept(i * BITS_PER_WORD + Long.numberOfTrailingZeros(word));
+    }
+
+    /**
+     * Performs a logical <b>OR</b> as {@link #or(ChronicleBitSet)} does but without a compare-and-swap per word, for
+     * use when no other thread or process is changing this bit set. The argument is read a block at a time.
+     */
+    public void orExclusive(ChronicleBitSet set) {
+        throwExceptionIfClosed();
+
+        final int wordsInUse2 = set.getWordsInUse();
+        if (this == set || wordsInUse2 == 0)
+            return;
+        expandTo(wordsInUse2 - 1);
+
+        OS.memory().loadFence();
+        final long[] block = new long[Math.min(wordsInUse2, BLOCK_WORDS)];
+        for (int start = 0; start < wordsInUse2; start += block.length) {
+            final int count = Math.min(block.length, wordsInUse2 - start);
+            readWords(set, start, block, count);
+            for (int i = 0; i < count; i++)
+                words.setValueAt(start + i, words.getValueAt(start + i) | block[i]);
+        }
+        OS.memory().storeFence();
+    }
+
+    /**
+     * Performs a logical <b>AND</b> as {@link #and(ChronicleBitSet)} does but without a compare-and-swap per word, for
+     * use when no other thread or process is changing this bit set. The argument is read a block at a time.
+     */
+    public void andExclusive(ChronicleBitSet set) {
+        throwExceptionIfClosed();
+
+        if (this == set)
+            return;
+
+        OS.memory().loadFence();
+        int wordsInCommon = getWordsInUse();
+        while (wordsInCommon > set.getWordsInUse())
+            words.setValueAt(--wordsInCommon, 0);
+
+        final long[] block = new long[Math.max(1, Math.min(wordsInCommon, BLOCK_WORDS))];
+        for (int start = 0; start < wordsInCommon; start += block.length) {
+            final int count = Math.min(block.length, wordsInCommon - start);
+            readWords(set, start, block, count);
+            for (int i = 0; i < count; i++)
+                words.setValueAt(start + i, words.getValueAt(start + i) & block[i]);
+        }
+        OS.memory().storeFence();
+    }
+
+    /**
+     * Copies the words in use to a new array after a single load fence, with a bulk memory copy where the words are
+     * in direct memory. Each word is read once, but concurrent changes may be seen for some words and not others.
+     */
+    @NotNull
+    public long[] toLongArray() {
+        throwExceptionIfClosed();
+
+        OS.memory().loadFence();
+        final long[] array = new long[getWordsInUse()];
+        readWords(this, 0, array, array.length);
+        return array;
+    }
+
+    /**
+     * Copies the words in use to <code>store</code> at <code>offset</code> as 64-bit native order values, as
+     * {@link #toLongArray()} does.
+     *
+     * @return the number of words copied
+     */
+    public int copyTo(@NotNull BytesStore<?, ?> store, long offset) {
+        throwExceptionIfClosed();
+
+        OS.memory().loadFence();
+        final int wordsInUse = getWordsInUse();
+        final long valuesOffset = valuesOffset();
+        if (valuesOffset >= 0) {
+            store.write(offset, ((BinaryLongArrayReference) words).bytesStore(), valuesOffset, (long) wordsInUse * Long.BYTES);
+        } else {
+            for (int i = 0; i < wordsInUse; i++)
+                store.writeLong(offset + (long) i * Long.BYTES, words.getValueAt(i));
+        }
+        return wordsInUse;
+    }
+
+    private static void readWords(ChronicleBitSet set, int from, long[] block, int count) {
+        final long valuesOffset = set instanceof LongArrayValueBitSet ? ((LongArrayValueBitSet) set).valuesOffset() : -1;
+        if (valuesOffset >= 0) {
+            final BytesStore<?, ?> store = ((BinaryLongArrayReference) ((LongArrayValueBitSet) set).words).bytesStore();
+            if (store.isDirectMemory()) {
+                UnsafeMemory.UNSAFE.copyMemory(null, store.addressForRead(valuesOffset + (long) from * Long.BYTES),
+                        block, LONG_ARRAY_BASE, (long) count * Long.BYTES);
+                return;
+            }
+        }
+        for (int i = 0; i < count; i++)
+            block[i] = set.getWord(from + i);
+    }
+
+    /**
+     * @return the offset of the first word in the BytesStore of the words, or -1 if they can't be copied directly.
+     */
+    private long valuesOffset() {
+        if (!(words instanceof BinaryLongArrayReference))
+            return -1;
+        final BinaryLongArrayReference ref = (BinaryLongArrayReference) words;
+        if (ref.bytesStore() == null)
+            return -1;
+        // the values are at the end, after the capacity and used
+        return ref.offset() + ref.maxSize() - ref.getCapacity() * Long.BYTES;
+    }
+
     @FunctionalInterface
     interface LongFunction {
         long apply(long oldValue, long param);
@@ -17,6 +17,9 @@
  */
 package net.openhft.chronicle.wire;
 
+import net.openhft.chronicle.bytes.Bytes;
+import net.openhft.chronicle.bytes.BytesStore;
+
 import static java.lang.Math.log;
 import static java.text.MessageFormat.format;
 
@@ -31,11 +34,33 @@ public interface LongConverter {
      */
     long parse(CharSequence text);
 
+    /**
+     * Parses {@code length} bytes of ISO-8859-1 text from {@code offset} in {@code bytes}
+     * without copying them to a {@link CharSequence} first.
+     *
+     * @return the parsed text as an {@code long} primitive.
+     */
+    default long parse(BytesStore<?, ?> bytes, long offset, int length) {
+        StringBuilder sb = Wires.acquireStringBuilder();
+        for (int i = 0; i < length; i++)
+            sb.append((char) bytes.readUnsignedByte(offset + i));
+        return parse(sb);
+    }
+
     /**
      * Appends the provided {@code value} to the provided {@code text}.
      */
     void append(StringBuilder text, long value);
 
+    /**
+     * Appends the provided {@code value} to the provided {@code text} without using an intermediate {@link StringBuilder}.
+     */
+    default void append(Bytes<?> text, long value) {
+        StringBuilder sb = Wires.acquireStringBuilder();
+        append(sb, value);
+        text.append(sb);
+    }
+
     default String asString(long value) {
         return asText(value).toString();
     }
@@ -63,6 +88,22 @@ public interface LongConverter {
             throw new IllegalArgumentException(format("text={0} exceeds the maximum allowable length of {1}", text, maxParseLength()));
     }
 
+    /**
+     * checks that the length of the text is not greater than {@link LongConverter#maxParseLength()}
+     *
+     * @param bytes  containing the text to check
+     * @param offset of the text
+     * @param length of the text
+     */
+    default void lengthCheck(BytesStore<?, ?> bytes, long offset, int length) {
+        if (length > maxParseLength()) {
+            StringBuilder text = new StringBuilder(length);
+            for (int i = 0; i < length; i++)
+                text.append((char) bytes.readUnsignedByte(offset + i));
+            lengthCheck(text);
+        }
+    }
+
     static int maxParseLength(int based) {
         return (int) (64 / log(based) * log(2));
     }
@@ -21,6 +21,7 @@ import net.openhft.chronicle.bytes.ref.LongReference;
 import net.openhft.chronicle.core.OS;
 import net.openhft.chronicle.core.io.AbstractCloseable;
 import net.openhft.chronicle.core.io.IORuntimeException;
+import net.openhft.chronicle.core.util.StringUtils;
 import net.openhft.chronicle.core.values.LongValue;
 import net.openhft.chronicle.threads.Pauser;
 import org.jetbrains.annotations.NotNull;
@@ -48,6 +49,16 @@ public class LongValueBitSet extends AbstractCloseable implements Marshallable,
      */
     private LongValue[] words;
 
+    /**
+     * Optional summaries of the words, so scans can skip empty or full regions. Each level has a bit per word of the
+     * level below, the first level has a bit per data word. A bit of <code>nonEmpty</code> is set if that word has any
+     * bits set, and a bit of <code>nonFull</code> is set if the data word has any bits clear, or for the higher levels,
+     * if that word of the level below has any bits set. The top level is a single word.
+     */
+    private LongValue[][] nonEmpty;
+    private LongValue[][] nonFull;
+    private transient boolean summarised;
+
     public LongValueBitSet(final int maxNumberOfBits) {
         this((long) maxNumberOfBits);
     }
@@ -63,7 +74,17 @@ public class LongValueBitSet extends AbstractCloseable implements Marshallable,
     }
 
     public LongValueBitSet(final long maxNumberOfBits, Wire w) {
+        this(maxNumberOfBits, w, false);
+    }
+
+    /**
+     * @param summarised if true, also keep a summary of which words are empty or full in the wire so
+     *                   {@link #nextSetBit(int)}, {@link #nextClearBit(int)} and {@link #cardinality()} can skip
+     *                   regions of a sparse or dense set with a few reads.
+     */
+    public LongValueBitSet(final long maxNumberOfBits, Wire w, boolean summarised) {
         this(maxNumberOfBits);
+        this.summarised = summarised;
         writeMarshallable(w);
         readMarshallable(w);
     }
@@ -104,11 +125,17 @@ public class LongValueBitSet extends AbstractCloseable implements Marshallable,
     public void setWord(int wordIndex, long bits) {
         expandTo(wordIndex);
         words[wordIndex].setValue(bits);
+        summarise(wordIndex);
     }
 
     @Override
     protected void performClose() {
         closeQuietly(words);
+        closeSummaries();
+    }
+
+    public boolean isSummarised() {
+        return summarised;
     }
 
     public int getWordsInUse() {
@@ -189,15 +216,119 @@ public class LongValueBitSet extends AbstractCloseable implements Marshallable,
 
         int wordIndex = wordIndex(bitIndex);
         expandTo(wordIndex);
-        caret(words[wordIndex], 1L << bitIndex);
+        caret(wordIndex, 1L << bitIndex);
     }
 
-    private void caret(LongValue word, long param) {
-        set(word, param, (x, y) -> x ^ y);
+    private void caret(int wordIndex, long param) {
+        update(wordIndex, param, (x, y) -> x ^ y);
     }
 
-    private void and(LongValue word, final long param) {
-        set(word, param, (x, y) -> x & y);
+    private void and(int wordIndex, final long param) {
+        update(wordIndex, param, (x, y) -> x & y);
+    }
+
+    private void update(int wordIndex, long param, LongFunction function) {
+        final LongValue word = words[wordIndex];
+        if (!summarised) {
+            set(word, param, function);
+            return;
+        }
+        throwExceptionIfClosed();
+
+        final Pauser internalPauser = pauser();
+        internalPauser.reset();
+
+        long oldValue, value;
+        for (; ; ) {
+            oldValue = word.getVolatileValue();
+            value = function.apply(oldValue, param);
+            if (word.compareAndSwapValue(oldValue, value))
+                break;
+            internalPauser.pause();
+        }
+        changed(wordIndex, oldValue, value);
+    }
+
+    private void changed(int wordIndex, long oldValue, long value) {
+        if ((oldValue == 0) != (value == 0))
+            summarise(nonEmpty, 0, wordIndex);
+        if ((oldValue == WORD_MASK) != (value == WORD_MASK))
+            summarise(nonFull, 0, wordIndex);
+    }
+
+    private void summarise(int wordIndex) {
+        if (!summarised)
+            return;
+        summarise(nonEmpty, 0, wordIndex);
+        summarise(nonFull, 0, wordIndex);
+    }
+
+    /**
+     * Make bit <code>index</code> of a summary level agree with the word it summarises, and the levels above if the
+     * summary word changes between empty and not. This is lock free; after clearing a bit the word is read again in
+     * case it was changed concurrently, so a bit is never left clear once all the updates to its word have returned.
+     */
+    private void summarise(LongValue[][] summary, int level, int index) {
+        while (level < summary.length) {
+            final LongValue element = level == 0 ? words[index] : summary[level - 1][index];
+            final LongValue word = summary[level][index >>> 6];
+            final long mask = 1L << index;
+            final boolean marked = isMarked(summary, level, element.getVolatileValue());
+            final long oldValue = word.getVolatileValue();
+            final long value = marked ? oldValue | mask : oldValue & ~mask;
+            if (oldValue == value)
+                return;
+            if (!word.compareAndSwapValue(oldValue, value))
+                continue;
+            // changed while clearing, mark it again
+            if (!marked && isMarked(summary, level, element.getVolatileValue()))
+                continue;
+            if ((oldValue == 0) == (value == 0))
+                return;
+            index >>>= 6;
+            level++;
+        }
+    }
+
+    private boolean isMarked(LongValue[][] summary, int level, long value) {
+        return summary == nonFull && level == 0 ? value != WORD_MASK : value != 0;
+    }
+
+    /**
+     * @return the index of the first data word at or after <code>from</code> marked in the summary, or -1.
+     */
+    private static int nextMarked(LongValue[][] summary, int from) {
+        search:
+        for (; ; ) {
+            // go up until a level has a bit marked after the start
+            int index = from, level = 0;
+            for (; ; level++) {
+                if (level == summary.length)
+                    return -1;
+                final LongValue[] words = summary[level];
+                final int w = index >>> 6;
+                if (w >= words.length)
+                    return -1;
+                final long bits = words[w].getVolatileValue() & (WORD_MASK << index);
+                if (bits != 0) {
+                    index = (w << 6) + Long.numberOfTrailingZeros(bits);
+                    break;
+                }
+                index = w + 1;
+            }
+            // and down to the data word it leads to
+            while (level > 0) {
+                level--;
+                final long bits = summary[level][index].getVolatileValue();
+                if (bits == 0) {
+                    // cleared since the level above was read, skip all it covers
+                    from = (index + 1) << (6 * (level + 1));
+                    continue search;
+                }
+                index = (index << 6) + Long.numberOfTrailingZeros(bits);
+            }
+            return index;
+        }
     }
 
     /**
@@ -220,18 +351,18 @@ public class LongValueBitSet extends AbstractCloseable implements Marshallable,
         long lastWordMask = WORD_MASK >>> -toIndex;
         if (startWordIndex == endWordIndex) {
             // Case 1: One word
-            caret(words[startWordIndex], firstWordMask & lastWordMask);
+            caret(startWordIndex, firstWordMask & lastWordMask);
         } else {
             // Case 2: Multiple words
             // Handle first word
-            caret(words[startWordIndex], firstWordMask);
+            caret(startWordIndex, firstWordMask);
 
             // Handle intermediate words, if any
             for (int i = startWordIndex + 1; i < endWordIndex; i++)
-                caret(words[i], WORD_MASK);
+                caret(i, WORD_MASK);
 
             // Handle last word
-            caret(words[endWordIndex], lastWordMask);
+            caret(endWordIndex, lastWordMask);
         }
     }
 
@@ -246,11 +377,11 @@ public class LongValueBitSet extends AbstractCloseable implements Marshallable,
 
         int wordIndex = wordIndex(bitIndex);
 
-        pipe(words[wordIndex], (1L << bitIndex)); // Restores
+        pipe(wordIndex, (1L << bitIndex)); // Restores
     }
 
-    private void pipe(LongValue word, long param) {
-        set(word, param, (x, y) -> x | y);
+    private void pipe(int wordIndex, long param) {
+        update(wordIndex, param, (x, y) -> x | y);
     }
 
     /**
@@ -285,18 +416,18 @@ public class LongValueBitSet extends AbstractCloseable implements Marshallable,
         long lastWordMask = WORD_MASK >>> -toIndex;
         if (startWordIndex == endWordIndex) {
             // Case 1: One word
-            pipe(words[startWordIndex], firstWordMask & lastWordMask);
+            pipe(startWordIndex, firstWordMask & lastWordMask);
         } else {
             // Case 2: Multiple words
             // Handle first word
-            pipe(words[startWordIndex], firstWordMask);
+            pipe(startWordIndex, firstWordMask);
 
             // Handle intermediate words, if any
             for (int i = startWordIndex + 1; i < endWordIndex; i++)
                 setWord(i, WORD_MASK);
 
             // Handle last word (restores invariants)
-            pipe(words[endWordIndex], lastWordMask);
+            pipe(endWordIndex, lastWordMask);
         }
     }
 
@@ -313,7 +444,7 @@ public class LongValueBitSet extends AbstractCloseable implements Marshallable,
         if (wordIndex >= getWordsInUse())
             return;
 
-        and(words[wordIndex], ~(1L << bitIndex));
+        and(wordIndex, ~(1L << bitIndex));
     }
 
     /**
@@ -341,19 +472,21 @@ public class LongValueBitSet extends AbstractCloseable implements Marshallable,
         long lastWordMask = WORD_MASK >>> -toIndex;
         if (startWordIndex == endWordIndex) {
             // Case 1: One word
-            and(words[startWordIndex], ~(firstWordMask &
+            and(startWordIndex, ~(firstWordMask &
                     lastWordMask));
         } else {
             // Case 2: Multiple words
             // Handle first word
-            and(words[startWordIndex], ~firstWordMask);
+            and(startWordIndex, ~firstWordMask);
 
             // Handle intermediate words, if any
-            for (int i = startWordIndex + 1; i < endWordIndex; i++)
+            for (int i = startWordIndex + 1; i < endWordIndex; i++) {
                 words[i].setOrderedValue(0);
+                summarise(i);
+            }
 
             // Handle last word
-            and(words[endWordIndex], ~lastWordMask);
+            and(endWordIndex, ~lastWordMask);
         }
     }
 
@@ -364,8 +497,10 @@ public class LongValueBitSet extends AbstractCloseable implements Marshallable,
         throwExceptionIfClosed();
 
         int value = getWordsInUse();
-        while (value > 0)
+        while (value > 0) {
             words[--value].setValue(0);
+            summarise(value);
+        }
     }
 
     /**
@@ -402,8 +537,12 @@ public class LongValueBitSet extends AbstractCloseable implements Marshallable,
         while (true) {
             if (word != 0)
                 return (u * BITS_PER_WORD) + Long.numberOfTrailingZeros(word);
-            if (++u == getWordsInUse())
+            if (summarised) {
+                if ((u = nextMarked(nonEmpty, u + 1)) < 0)
+                    return -1;
+            } else if (++u == getWordsInUse()) {
                 return -1;
+            }
             word = words[u].getVolatileValue();
         }
     }
@@ -427,8 +566,12 @@ public class LongValueBitSet extends AbstractCloseable implements Marshallable,
         while (true) {
             if (word != 0)
                 return (u * BITS_PER_WORD) + Long.numberOfTrailingZeros(word);
-            if (++u == getWordsInUse())
+            if (summarised) {
+                if ((u = nextMarked(nonEmpty, u + 1)) < 0)
+                    return -1;
+            } else if (++u == getWordsInUse()) {
                 return -1;
+            }
             if (u * BITS_PER_WORD > toIndex)
                 return -1;
             word = words[u].getVolatileValue();
@@ -455,12 +598,41 @@ public class LongValueBitSet extends AbstractCloseable implements Marshallable,
         while (true) {
             if (word != 0)
                 return (u * BITS_PER_WORD) + Long.numberOfTrailingZeros(word);
-            if (++u == getWordsInUse())
+            if (summarised) {
+                if ((u = nextMarked(nonFull, u + 1)) < 0)
+                    return getWordsInUse() * BITS_PER_WORD;
+            } else if (++u == getWordsInUse()) {
                 return getWordsInUse() * BITS_PER_WORD;
+            }
             word = ~words[u].getValue();
         }
     }
 
+    /**
+     * Atomically sets the first bit that is {@code false} on or after the specified starting index, e.g. to allocate a
+     * slot shared between threads or processes.
+     *
+     * @return the index of the bit set by this call, or -1 if every bit from the starting index up to {@link #size()}
+     * is already set.
+     */
+    public int claimNextClearBit(int fromIndex) {
+        throwExceptionIfClosed();
+
+        final int size = size();
+        for (int bit = nextClearBit(fromIndex); bit < size; bit = nextClearBit(bit)) {
+            final int wordIndex = wordIndex(bit);
+            final LongValue word = words[wordIndex];
+            final long mask = 1L << bit;
+            final long oldValue = word.getVolatileValue();
+            if ((oldValue & mask) == 0 && word.compareAndSwapValue(oldValue, oldValue | mask)) {
+                if (summarised)
+                    changed(wordIndex, oldValue, oldValue | mask);
+                return bit;
+            }
+        }
+        return -1;
+    }
+
     /**
      * Returns the index of the nearest bit that is set to {@code true} that occurs on or before the specified starting index. If no such bit exists,
      * or if {@code -1} is given as the starting index, then {@code -1} is returned.
@@ -542,6 +714,12 @@ public class LongValueBitSet extends AbstractCloseable implements Marshallable,
         throwExceptionIfClosed();
 
         int sum = 0;
+        if (summarised) {
+            // only the words which aren't empty
+            for (int i = nextMarked(nonEmpty, 0); i >= 0; i = nextMarked(nonEmpty, i + 1))
+                sum += Long.bitCount(words[i].getVolatileValue());
+            return sum;
+        }
         for (int i = 0; i < getWordsInUse(); i++)
             sum += Long.bitCount(words[i].getVolatileValue());
         return sum;
@@ -561,11 +739,12 @@ public class LongValueBitSet extends AbstractCloseable implements Marshallable,
         int value = getWordsInUse();
         while (value > set.getWordsInUse()) {
             words[--value].setValue(0);
+            summarise(value);
         }
 
         // Perform logical AND on words in common
         for (int i = 0; i < getWordsInUse(); i++)
-            and(words[i], set.getWord(i));
+            and(i, set.getWord(i));
     }
 
     public void and(LongValueBitSet set) {
@@ -592,7 +771,7 @@ public class LongValueBitSet extends AbstractCloseable implements Marshallable,
         // Perform logical OR on words in common
         int i;
         for (i = 0; i < wordsInCommon; i++)
-            pipe(words[i], set.getWord(i));
+            pipe(i, set.getWord(i));
 
         // Copy any remaining words
         for (; i < set.getWordsInUse(); i++)
@@ -618,7 +797,7 @@ public class LongValueBitSet extends AbstractCloseable implements Marshallable,
         OS.memory().loadFence();
         int i;
         for (i = 0; i < wordsInCommon; i++)
-            caret(words[i], set.getWord(i));
+            caret(i, set.getWord(i));
 
         // Copy any remaining words
         for (; i < set.getWordsInUse(); i++)
@@ -639,7 +818,7 @@ public class LongValueBitSet extends AbstractCloseable implements Marshallable,
         // Perform logical (a & !b) on words in common
         OS.memory().loadFence();
         for (int i = Math.min(getWordsInUse(), set.getWordsInUse()) - 1; i >= 0; i--)
-            and(words[i], ~set.getWord(i));
+            and(i, ~set.getWord(i));
         OS.memory().storeFence();
     }
 
@@ -764,28 +943,102 @@ public class LongValueBitSet extends AbstractCloseable implements Marshallable,
 
     @Override
     public void writeMarshallable(@NotNull final WireOut wire) {
+        final int[] sizes = summarised ? summarySizes(words.length) : null;
+        if (sizes != null)
+            wire.write("summaryLevels").int32(sizes.length);
         wire.write("numberOfLongValues").int32(words.length);
 
+        final long[] values = sizes == null ? null : new long[words.length];
         for (int i = 0; i < words.length; i++) {
             if (words[i] == null)
                 words[i] = wire.newLongReference();
-            wire.getValueOut().int64forBinding(words[i].getValue());
+            final long value = words[i].getValue();
+            if (values != null)
+                values[i] = value;
+            wire.getValueOut().int64forBinding(value);
+        }
+        if (sizes != null) {
+            writeSummary(wire, sizes, values, false);
+            writeSummary(wire, sizes, values, true);
+        }
+    }
+
+    private static void writeSummary(WireOut wire, int[] sizes, long[] values, boolean nonFull) {
+        long[] below = values;
+        for (int level = 0; level < sizes.length; level++) {
+            final long[] summary = new long[sizes[level]];
+            for (int i = 0; i < below.length; i++)
+                if (nonFull && level == 0 ? below[i] != WORD_MASK : below[i] != 0)
+                    summary[i >>> 6] |= 1L << i;
+            for (long value : summary)
+                wire.getValueOut().int64forBinding(value);
+            below = summary;
         }
     }
 
+    /**
+     * @return the number of words in each level of a summary, down to a single word.
+     */
+    private static int[] summarySizes(int numberOfWords) {
+        int levels = 1;
+        for (int size = (numberOfWords + 63) >>> 6; size > 1; size = (size + 63) >>> 6)
+            levels++;
+        final int[] sizes = new int[levels];
+        for (int i = 0, size = numberOfWords; i < levels; i++)
+            sizes[i] = size = (size + 63) >>> 6;
+        return sizes;
+    }
+
     @Override
     public void readMarshallable(@NotNull final WireIn wire) throws IORuntimeException {
         disableThreadSafetyCheck(true);
         throwExceptionIfClosed();
 
         closeQuietly(words);
-
-        int numberOfLongValues = wire.read("numberOfLongValues").int32();
+        closeSummaries();
+
+        // the summary is optional, and comes first if present
+        final StringBuilder sb = Wires.acquireStringBuilder();
+        ValueIn in = wire.read(sb);
+        int levels = 0;
+        if (StringUtils.isEqual(sb, "summaryLevels")) {
+            levels = in.int32();
+            in = wire.read("numberOfLongValues");
+        }
+        int numberOfLongValues = in.int32();
         words = new LongReference[numberOfLongValues];
         for (int i = 0; i < numberOfLongValues; i++) {
             words[i] = wire.getValueIn().int64ForBinding(null);
         }
 
+        summarised = levels > 0;
+        if (summarised) {
+            final int[] sizes = summarySizes(numberOfLongValues);
+            if (sizes.length != levels)
+                throw new IORuntimeException("Expected " + sizes.length + " summary levels for " + numberOfLongValues + " words but was " + levels);
+            nonEmpty = readSummary(wire, sizes);
+            nonFull = readSummary(wire, sizes);
+        }
+    }
+
+    private static LongValue[][] readSummary(WireIn wire, int[] sizes) {
+        final LongValue[][] summary = new LongValue[sizes.length][];
+        for (int level = 0; level < sizes.length; level++) {
+            summary[level] = new LongReference[sizes[level]];
+            for (int i = 0; i < sizes[level]; i++)
+                summary[level][i] = wire.getValueIn().int64ForBinding(null);
+        }
+        return summary;
+    }
+
+    private void closeSummaries() {
+        if (nonEmpty != null)
+            for (LongValue[] level : nonEmpty)
+                closeQuietly(level);
+        if (nonFull != null)
+            for (LongValue[] level : nonFull)
+                closeQuietly(level);
+        nonEmpty = nonFull = null;
     }
 
     @Override
@@ -794,10 +1047,14 @@ public class LongValueBitSet extends AbstractCloseable implements Marshallable,
         final int wordsInUse = bitSet.getWordsInUse();
         if (wordsInUse > words.length)
             throw new IllegalArgumentException("Too much data " + wordsInUse + " words > " + words.length);
-        for (int i = getWordsInUse(); i > wordsInUse; i--)
+        for (int i = getWordsInUse(); i > wordsInUse; i--) {
             words[i].setValue(0L);
-        for (int i = 0; i < wordsInUse; i++)
+            summarise(i);
+        }
+        for (int i = 0; i < wordsInUse; i++) {
             words[i].setValue(bitSet.getWord(i));
+            summarise(i);
+        }
         OS.memory().storeFence();
     }
 
@@ -0,0 +1,165 @@
+/*
+ * Copyright 2016-2020 chronicle.software
+ *
+ * https://chronicle.software
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.openhft.chronicle.wire;
+
+import net.openhft.chronicle.bytes.Bytes;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * A pure Java block compression in the LZ4 block format, preceded by the stop bit encoded uncompressed length.
+ * <p>
+ * It compresses and uncompresses between Bytes without creating any objects, using a thread local hash table of
+ * recent positions. Stale entries left by previous blocks are harmless as every candidate match is checked.
+ */
+public enum Lz4Compression implements WireCompression {
+    INSTANCE;
+
+    private static final int MIN_MATCH = 4;
+    // the last literals and the last match must start this far from the end
+    private static final int LAST_LITERALS = 5;
+    private static final int MF_LIMIT = 12;
+    private static final int MAX_OFFSET = 65535;
+    private static final int HASH_LOG = 12;
+    private static final int SKIP_STRENGTH = 6;
+    private static final ThreadLocal<int[]> HASH_TABLE = ThreadLocal.withInitial(() -> new int[1 << HASH_LOG]);
+
+    private static int hash(int sequence) {
+        return (sequence * -1640531535) >>> (32 - HASH_LOG);
+    }
+
+    private static void writeLength(Bytes<?> to, int length) {
+        while (length >= 255) {
+            to.writeUnsignedByte(255);
+            length -= 255;
+        }
+        to.writeUnsignedByte(length);
+    }
+
+    private static int readLength(Bytes<?> from) {
+        int length = 0;
+        int b;
+        do {
+            b = from.readUnsignedByte();
+            length += b;
+        } while (b == 255);
+        return length;
+    }
+
+    private static void writeLiterals(Bytes<?> from, long offset, int literals, int matchToken, Bytes<?> to) {
+        if (literals >= 15) {
+            to.writeUnsignedByte(0xF0 | matchToken);
+            writeLength(to, literals - 15);
+        } else {
+            to.writeUnsignedByte((literals << 4) | matchToken);
+        }
+        if (literals > 0)
+            to.write(from, offset, literals);
+    }
+
+    @NotNull
+    @Override
+    public String name() {
+        return "lz4";
+    }
+
+    @Override
+    public void compress(@NotNull Bytes<?> from, @NotNull Bytes<?> to) {
+        final long start = from.readPosition();
+        final int length = Math.toIntExact(from.readRemaining());
+        to.writeStopBit(length);
+        int anchor = 0;
+        if (length >= MF_LIMIT + 1) {
+            final int[] table = HASH_TABLE.get();
+            final int matchLimit = length - MF_LIMIT;
+            final int limit = length - LAST_LITERALS;
+            int i = 0;
+            while (i < matchLimit) {
+                final int sequence = from.readInt(start + i);
+                final int h = hash(sequence);
+                int ref = table[h];
+                table[h] = i;
+                if (ref < 0 || ref >= i || i - ref > MAX_OFFSET || from.readInt(start + ref) != sequence) {
+                    // move faster through data which doesn't compress
+                    i += 1 + ((i - anchor) >>> SKIP_STRENGTH);
+                    continue;
+                }
+                // extend backwards over literals
+                while (i > anchor && ref > 0 && from.readByte(start + i - 1) == from.readByte(start + ref - 1)) {
+                    i--;
+                    ref--;
+                }
+                int matchLength = MIN_MATCH;
+                while (i + matchLength + 8 <= limit && from.readLong(start + i + matchLength) == from.readLong(start + ref + matchLength))
+                    matchLength += 8;
+                while (i + matchLength < limit && from.readByte(start + i + matchLength) == from.readByte(start + ref + matchLength))
+                    matchLength++;
+
+                final int extra = matchLength - MIN_MATCH;
+                writeLiterals(from, start + anchor, i - anchor, Math.min(extra, 15), to);
+                final int offset = i - ref;
+                to.writeUnsignedByte(offset & 0xFF);
+                to.writeUnsignedByte(offset >>> 8);
+                if (extra >= 15)
+                    writeLength(to, extra - 15);
+
+                i += matchLength;
+                anchor = i;
+            }
+        }
+        writeLiterals(from, start + anchor, length - anchor, 0, to);
+        from.readSkip(length);
+    }
+
+    @Override
+    public void uncompress(@NotNull Bytes<?> from, @NotNull Bytes<?> to) {
+        final long length = from.readStopBit();
+        final long outStart = to.writePosition();
+        final long outEnd = outStart + length;
+        while (to.writePosition() < outEnd) {
+            final int token = from.readUnsignedByte();
+            int literals = token >>> 4;
+            if (literals == 15)
+                literals += readLength(from);
+            if (literals > 0) {
+                to.write(from, from.readPosition(), literals);
+                from.readSkip(literals);
+            }
+            if (to.writePosition() >= outEnd)
+                break;
+
+            final int offset = from.readUnsignedByte() | (from.readUnsignedByte() << 8);
+            int matchLength = token & 0xF;
+            if (matchLength == 15)
+                matchLength += readLength(from);
+            matchLength += MIN_MATCH;
+            long src = to.writePosition() - offset;
+            if (offset == 0 || src < outStart || to.writePosition() + matchLength > outEnd)
+                throw new IllegalStateException("Corrupt lz4 block at " + from.readPosition());
+            // a match can overlap what it is writing so copy 8 bytes at a time only when they don't
+            if (offset >= 8) {
+                for (; matchLength >= 8; matchLength -= 8, src += 8)
+                    to.writeLong(to.readLong(src));
+            }
+            for (; matchLength > 0; matchLength--, src++)
+                to.writeByte(to.readByte(src));
+        }
+        if (to.writePosition() != outEnd)
+            throw new IllegalStateException("Corrupt lz4 block, expected " + length + " bytes but was " + (to.writePosition() - outStart));
+        from.readPosition(from.readLimit());
+    }
+}
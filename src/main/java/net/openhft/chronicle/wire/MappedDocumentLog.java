@@ -0,0 +1,149 @@
+/*
+ * Copyright 2016-2020 chronicle.software
+ *
+ * https://chronicle.software
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.openhft.chronicle.wire;
+
+import net.openhft.chronicle.bytes.MappedBytes;
+import net.openhft.chronicle.core.Jvm;
+import net.openhft.chronicle.core.OS;
+import net.openhft.chronicle.core.io.AbstractCloseable;
+import net.openhft.chronicle.core.io.IORuntimeException;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * An append only file of documents written with the header protocol of a padded BinaryWire, so they can be read
+ * from another process with a {@link MappedDocumentTailer} while the file is being written.
+ * <p>
+ * The file is mapped a chunk at a time. With pretouching enabled, a background thread maps and touches the chunk
+ * after the one being written so the writer doesn't stall on page faults when it moves on to it.
+ * <p>
+ * Only one writer, in one process, should have a log open at a time.
+ */
+public class MappedDocumentLog extends AbstractCloseable {
+    public static final long DEFAULT_CHUNK_SIZE = 64L << 20;
+
+    private final File file;
+    private final long chunkSize;
+    private final MappedBytes bytes;
+    private final BinaryWire wire;
+    private final Thread pretoucher;
+
+    public MappedDocumentLog(@NotNull File file) throws IOException {
+        this(file, DEFAULT_CHUNK_SIZE, true);
+    }
+
+    public MappedDocumentLog(@NotNull File file, long chunkSize, boolean pretouch) throws IOException {
+        this.file = file;
+        this.chunkSize = OS.mapAlign(chunkSize);
+        this.bytes = MappedBytes.mappedBytes(file, this.chunkSize);
+        this.wire = new BinaryWire(bytes);
+        wire.usePadding(true);
+        wire.notCompleteIsNotPresent(true);
+        try {
+            moveToEnd();
+        } catch (RuntimeException e) {
+            bytes.releaseLast();
+            throw e;
+        }
+        if (pretouch) {
+            pretoucher = new Thread(this::pretouchLoop, "pretoucher~" + file.getName());
+            pretoucher.setDaemon(true);
+            pretoucher.start();
+        } else {
+            pretoucher = null;
+        }
+        disableThreadSafetyCheck(true);
+    }
+
+    private void moveToEnd() {
+        bytes.readLimit(bytes.capacity());
+        while (true) {
+            try (DocumentContext dc = wire.readingDocument()) {
+                if (dc.isPresent())
+                    continue;
+                if (dc.isNotComplete())
+                    throw new IllegalStateException("Unable to append to " + file + " at " + bytes.readPosition()
+                            + ", it has been ended or another writer has a document open");
+                break;
+            }
+        }
+        bytes.writePosition(bytes.readPosition());
+    }
+
+    /**
+     * @return the wire to write documents to with writingDocument() or a methodWriter.
+     */
+    @NotNull
+    public Wire wire() {
+        throwExceptionIfClosed();
+        return wire;
+    }
+
+    @NotNull
+    public MappedDocumentTailer createTailer() throws IOException {
+        return new MappedDocumentTailer(file, chunkSize);
+    }
+
+    /**
+     * Mark the end of the log so tailers know there will be no more documents.
+     */
+    public void writeEndOfLog() {
+        throwExceptionIfClosed();
+        wire.writeEndOfWire(1, TimeUnit.SECONDS, bytes.writePosition());
+    }
+
+    private void pretouchLoop() {
+        MappedBytes touch = null;
+        try {
+            touch = MappedBytes.mappedBytes(file, chunkSize);
+            long pretouched = -1;
+            final int pageSize = OS.pageSize();
+            while (!isClosing()) {
+                // only advisory so a stale write position is fine.
+                final long next = bytes.writePosition() / chunkSize + 1;
+                if (next > pretouched) {
+                    final long end = (next + 1) * chunkSize;
+                    for (long pos = next * chunkSize; pos < end && !isClosing(); pos += pageSize)
+                        touch.compareAndSwapInt(pos, 0, 0);
+                    pretouched = next;
+                }
+                Jvm.pause(1);
+            }
+        } catch (IOException | IORuntimeException e) {
+            Jvm.warn().on(getClass(), "Pretouching " + file + " stopped", e);
+        } finally {
+            if (touch != null)
+                touch.releaseLast();
+        }
+    }
+
+    @Override
+    protected void performClose() {
+        if (pretoucher != null) {
+            try {
+                pretoucher.join();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        bytes.releaseLast();
+    }
+}
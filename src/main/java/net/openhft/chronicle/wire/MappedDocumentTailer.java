@@ -0,0 +1,96 @@
+/*
+ * Copyright 2016-2020 chronicle.software
+ *
+ * https://chronicle.software
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.openhft.chronicle.wire;
+
+import net.openhft.chronicle.bytes.MappedBytes;
+import net.openhft.chronicle.core.io.AbstractCloseable;
+import net.openhft.chronicle.threads.Pauser;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.File;
+import java.io.IOException;
+
+/**
+ * Reads the documents of a {@link MappedDocumentLog} in order, from this or another process, as they are completed.
+ */
+public class MappedDocumentTailer extends AbstractCloseable {
+    private final MappedBytes bytes;
+    private final BinaryWire wire;
+    private Pauser pauser = Pauser.busy();
+
+    public MappedDocumentTailer(@NotNull File file) throws IOException {
+        this(file, MappedDocumentLog.DEFAULT_CHUNK_SIZE);
+    }
+
+    public MappedDocumentTailer(@NotNull File file, long chunkSize) throws IOException {
+        bytes = MappedBytes.mappedBytes(file, chunkSize);
+        bytes.readLimit(bytes.capacity());
+        wire = new BinaryWire(bytes);
+        wire.usePadding(true);
+        wire.notCompleteIsNotPresent(true);
+    }
+
+    @NotNull
+    public Pauser pauser() {
+        return pauser;
+    }
+
+    /**
+     * @param pauser used to back off when there is no document to read.
+     */
+    @NotNull
+    public MappedDocumentTailer pauser(@NotNull Pauser pauser) {
+        this.pauser = pauser;
+        return this;
+    }
+
+    /**
+     * Read the next document if it is complete, pausing when it's not so a loop around this doesn't burn a CPU
+     * unless the pauser is busy.
+     */
+    @NotNull
+    public DocumentContext readingDocument() {
+        throwExceptionIfClosed();
+        final DocumentContext dc = wire.readingDocument();
+        if (dc.isPresent())
+            pauser.reset();
+        else
+            pauser.pause();
+        return dc;
+    }
+
+    /**
+     * @return true if the writer has ended the log and every document has been read.
+     */
+    public boolean isEndOfLog() {
+        return wire.readDataHeader(true) == WireIn.HeaderType.EOF;
+    }
+
+    /**
+     * @return the wire to read with, e.g. with a methodReader, which doesn't use the pauser.
+     */
+    @NotNull
+    public Wire wire() {
+        return wire;
+    }
+
+    @Override
+    protected void performClose() {
+        bytes.releaseLast();
+    }
+}
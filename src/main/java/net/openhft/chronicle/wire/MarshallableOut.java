@@ -65,6 +65,22 @@ public interface MarshallableOut extends DocumentWritten {
      */
     DocumentContext acquireWritingDocument(boolean metaData) throws UnrecoverableTimeoutException;
 
+    /**
+     * Start a batch of documents, including those written by a method writer, which readers only see once the batch
+     * is closed. This replaces an ordered write of each header with one for the whole batch.
+     * <pre>
+     * try (WriteBatch batch = out.writingBatch()) {
+     *     for (Event event : events)
+     *         writer.onEvent(event);
+     * }
+     * </pre>
+     * An output which doesn't support batching publishes each document as normal.
+     */
+    @NotNull
+    default WriteBatch writingBatch() {
+        return WriteBatch.NONE;
+    }
+
     /**
      * @return true if this output is configured to expect the history of the message to be written
      * to.
@@ -67,4 +67,10 @@ public class MicroTimestampLongConverter extends AbstractTimestampLongConverter
         }
         return number;
     }
+
+    @Override
+    protected boolean useFastISO() {
+        // a subclass may override the formatter hooks
+        return getClass() == MicroTimestampLongConverter.class;
+    }
 }
@@ -63,4 +63,10 @@ public class MilliTimestampLongConverter extends AbstractTimestampLongConverter
     protected void appendFraction(DateTimeFormatterBuilder builder) {
         builder.appendFraction(ChronoField.MILLI_OF_SECOND, 0, 3, true);
     }
+
+    @Override
+    protected boolean useFastISO() {
+        // a subclass may override the formatter hooks
+        return getClass() == MilliTimestampLongConverter.class;
+    }
 }
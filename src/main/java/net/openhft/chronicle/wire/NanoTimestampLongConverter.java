@@ -67,4 +67,10 @@ public class NanoTimestampLongConverter extends AbstractTimestampLongConverter {
     protected void appendFraction(DateTimeFormatterBuilder builder) {
         builder.appendFraction(ChronoField.NANO_OF_SECOND, 0, 9, true);
     }
+
+    @Override
+    protected boolean useFastISO() {
+        // a subclass may override the formatter hooks
+        return getClass() == NanoTimestampLongConverter.class;
+    }
 }
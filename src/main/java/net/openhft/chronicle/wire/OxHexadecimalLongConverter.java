@@ -17,6 +17,9 @@
  */
 package net.openhft.chronicle.wire;
 
+import net.openhft.chronicle.bytes.Bytes;
+import net.openhft.chronicle.bytes.BytesStore;
+
 public class OxHexadecimalLongConverter implements LongConverter {
     @Override
     public long parse(CharSequence text) {
@@ -26,8 +29,21 @@ public class OxHexadecimalLongConverter implements LongConverter {
         return Long.parseUnsignedLong(s, 16);
     }
 
+    @Override
+    public long parse(BytesStore<?, ?> bytes, long offset, int length) {
+        if (length >= 2 && bytes.readUnsignedByte(offset) == '0' && (bytes.readUnsignedByte(offset + 1) | 0x20) == 'x')
+            return HexadecimalLongConverter.parseHex(bytes, offset + 2, length - 2);
+        return HexadecimalLongConverter.parseHex(bytes, offset, length);
+    }
+
     @Override
     public void append(StringBuilder text, long value) {
         text.append("0x").append(Long.toHexString(value));
     }
+
+    @Override
+    public void append(Bytes<?> text, long value) {
+        text.append("0x");
+        HexadecimalLongConverter.appendHex(text, value);
+    }
 }
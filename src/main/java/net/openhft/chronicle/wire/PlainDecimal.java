@@ -0,0 +1,108 @@
+/*
+ * Copyright 2016-2020 chronicle.software
+ *
+ * https://chronicle.software
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.openhft.chronicle.wire;
+
+import net.openhft.chronicle.bytes.RandomDataInput;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Parses decimals such as <code>-1234.5678</code> without an exponent directly from the bytes, leaving anything else
+ * to the general parser.
+ * <p>
+ * When the digits fit in 53 bits and there are at most 22 decimal places, both the digits and the power of ten are
+ * exact as doubles, so a single division gives the correctly rounded result.
+ */
+enum PlainDecimal {
+    ; // none
+    private static final long MAX_EXACT = 1L << 53;
+    private static final int MAX_DIGITS = 18;
+    private static final double[] POW10 = {
+            1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10,
+            1e11, 1e12, 1e13, 1e14, 1e15, 1e16, 1e17, 1e18, 1e19, 1e20, 1e21, 1e22
+    };
+
+    /**
+     * @return the end of a run of digits, '-' and '.' from <code>start</code>, or -1 if it is empty or not followed by
+     * white space, a separator or the limit.
+     */
+    static long end(@NotNull RandomDataInput in, long start, long limit) {
+        long end = start;
+        while (end < limit) {
+            int ch = in.peekUnsignedByte(end);
+            if (!(ch >= '0' && ch <= '9' || ch == '.' || ch == '-'))
+                break;
+            end++;
+        }
+        if (end == start)
+            return -1;
+        if (end == limit)
+            return end;
+        switch (in.peekUnsignedByte(end)) {
+            case ' ':
+            case '\t':
+            case '\r':
+            case '\n':
+            case ',':
+            case ':':
+            case '}':
+            case ']':
+                return end;
+            default:
+                return -1;
+        }
+    }
+
+    /**
+     * @return the value of the text between <code>start</code> and <code>end</code>, or NaN if it is not a plain
+     * decimal which can be converted exactly.
+     */
+    static double parse(@NotNull RandomDataInput in, long start, long end) {
+        long pos = start;
+        boolean negative = false;
+        if (pos < end && in.peekUnsignedByte(pos) == '-') {
+            negative = true;
+            pos++;
+        }
+        long mantissa = 0;
+        int digits = 0;
+        int scale = 0;
+        boolean anyDigits = false;
+        boolean point = false;
+        for (; pos < end; pos++) {
+            int ch = in.peekUnsignedByte(pos);
+            if (ch >= '0' && ch <= '9') {
+                anyDigits = true;
+                if (mantissa > 0 || ch > '0') {
+                    if (++digits > MAX_DIGITS)
+                        return Double.NaN;
+                    mantissa = mantissa * 10 + (ch - '0');
+                }
+                if (point)
+                    scale++;
+            } else if (ch == '.' && !point) {
+                point = true;
+            } else {
+                return Double.NaN;
+            }
+        }
+        if (!anyDigits || mantissa > MAX_EXACT || scale >= POW10.length)
+            return Double.NaN;
+        double value = scale == 0 ? mantissa : mantissa / POW10[scale];
+        return negative ? -value : value;
+    }
+}
@@ -1,5 +1,7 @@
 package net.openhft.chronicle.wire;
 
+import net.openhft.chronicle.bytes.Bytes;
+import net.openhft.chronicle.bytes.BytesStore;
 import net.openhft.chronicle.core.annotation.UsedViaReflection;
 import net.openhft.chronicle.core.time.LongTime;
 import net.openhft.chronicle.core.time.TimeProvider;
@@ -64,11 +66,21 @@ public class ServicesTimestampLongConverter implements LongConverter {
         return underlying.parse(text);
     }
 
+    @Override
+    public long parse(BytesStore<?, ?> bytes, long offset, int length) {
+        return underlying.parse(bytes, offset, length);
+    }
+
     @Override
     public void append(StringBuilder text, long value) {
         underlying.append(text, value);
     }
 
+    @Override
+    public void append(Bytes<?> text, long value) {
+        underlying.append(text, value);
+    }
+
     interface longFunction {
         long apply(long value);
     }
@@ -0,0 +1,319 @@
+/*
+ * Copyright 2016-2020 chronicle.software
+ *
+ * https://chronicle.software
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.openhft.chronicle.wire;
+
+import net.openhft.chronicle.bytes.Bytes;
+import org.jetbrains.annotations.NotNull;
+
+import java.math.BigInteger;
+
+/**
+ * Appends the shortest decimal which reads back as the same double or float, in the same format as
+ * <code>Double.toString</code> and <code>Float.toString</code>, without creating any objects.
+ * <p>
+ * This uses Raffaello Giulietti's Schubfach algorithm, as in JDK 19+.
+ */
+enum ShortestDecimal {
+    ; // none
+    private static final long MASK_63 = (1L << 63) - 1;
+    private static final long MASK_32 = (1L << 32) - 1;
+    private static final int K_MIN = -324;
+    private static final int K_MAX = 292;
+    // g(k) = floor(10^-k / 2^r) + 1 as 126 bits split into two 63 bit halves, where 2^125 <= g < 2^126
+    private static final long[] G = new long[(K_MAX - K_MIN + 1) * 2];
+
+    private static final int D_P = 53;
+    private static final int D_Q_MIN = -1074;
+    private static final long D_C_MIN = 1L << (D_P - 1);
+    private static final int D_BQ_MASK = (1 << 11) - 1;
+    private static final long D_T_MASK = (1L << (D_P - 1)) - 1;
+    private static final long D_C_TINY = 3;
+
+    private static final int F_P = 24;
+    private static final int F_Q_MIN = -149;
+    private static final int F_C_MIN = 1 << (F_P - 1);
+    private static final int F_BQ_MASK = (1 << 8) - 1;
+    private static final int F_T_MASK = (1 << (F_P - 1)) - 1;
+    private static final int F_C_TINY = 8;
+
+    private static final long[] POW10 = new long[19];
+
+    static {
+        for (int k = K_MIN; k <= K_MAX; k++) {
+            int r = flog2pow10(-k) - 125;
+            BigInteger beta;
+            if (k <= 0) {
+                BigInteger pow = BigInteger.TEN.pow(-k);
+                beta = r <= 0 ? pow.shiftLeft(-r) : pow.shiftRight(r);
+            } else {
+                beta = BigInteger.ONE.shiftLeft(-r).divide(BigInteger.TEN.pow(k));
+            }
+            BigInteger g = beta.add(BigInteger.ONE);
+            G[(k - K_MIN) << 1] = g.shiftRight(63).longValue();
+            G[((k - K_MIN) << 1) | 1] = g.longValue() & MASK_63;
+        }
+        POW10[0] = 1;
+        for (int i = 1; i < POW10.length; i++)
+            POW10[i] = POW10[i - 1] * 10;
+    }
+
+    static void appendDouble(@NotNull Bytes<?> bytes, double v) {
+        long bits = Double.doubleToRawLongBits(v);
+        long t = bits & D_T_MASK;
+        int bq = (int) (bits >>> (D_P - 1)) & D_BQ_MASK;
+        if (bq == D_BQ_MASK) {
+            bytes.append(t != 0 ? "NaN" : bits > 0 ? "Infinity" : "-Infinity");
+            return;
+        }
+        if (bits < 0)
+            bytes.writeUnsignedByte('-');
+        if (bq != 0) {
+            // normal value, mq = -q
+            int mq = -D_Q_MIN + 1 - bq;
+            long c = D_C_MIN | t;
+            // an integer which fits in the significand
+            if (0 < mq && mq < D_P) {
+                long f = c >> mq;
+                if (f << mq == c) {
+                    appendDecimal(bytes, f, 0);
+                    return;
+                }
+            }
+            toDecimal(bytes, -mq, c, 0);
+
+        } else if (t != 0) {
+            // subnormal value
+            if (t < D_C_TINY)
+                toDecimal(bytes, D_Q_MIN, 10 * t, -1);
+            else
+                toDecimal(bytes, D_Q_MIN, t, 0);
+
+        } else {
+            bytes.append("0.0");
+        }
+    }
+
+    private static void toDecimal(Bytes<?> bytes, int q, long c, int dk) {
+        int out = (int) c & 1;
+        long cb = c << 2;
+        long cbr = cb + 2;
+        long cbl;
+        int k;
+        if (c != D_C_MIN || q == D_Q_MIN) {
+            cbl = cb - 2;
+            k = flog10pow2(q);
+        } else {
+            cbl = cb - 1;
+            k = flog10threeQuartersPow2(q);
+        }
+        int h = q + flog2pow10(-k) + 2;
+
+        long g1 = G[(k - K_MIN) << 1];
+        long g0 = G[((k - K_MIN) << 1) | 1];
+
+        long vb = rop(g1, g0, cb << h);
+        long vbl = rop(g1, g0, cbl << h);
+        long vbr = rop(g1, g0, cbr << h);
+
+        long s = vb >> 2;
+        if (s >= 100) {
+            // try one digit less first
+            long sp10 = 10 * multiplyHigh(s, 115_292_150_460_684_698L << 4);
+            long tp10 = sp10 + 10;
+            boolean upin = vbl + out <= sp10 << 2;
+            boolean wpin = (tp10 << 2) + out <= vbr;
+            if (upin != wpin) {
+                appendDecimal(bytes, upin ? sp10 : tp10, k);
+                return;
+            }
+        }
+        long t = s + 1;
+        boolean uin = vbl + out <= s << 2;
+        boolean win = (t << 2) + out <= vbr;
+        if (uin != win) {
+            appendDecimal(bytes, uin ? s : t, k + dk);
+            return;
+        }
+        // both are in range, pick the closest, or the even one on a tie
+        long cmp = vb - ((s + t) << 1);
+        appendDecimal(bytes, cmp < 0 || cmp == 0 && (s & 1) == 0 ? s : t, k + dk);
+    }
+
+    private static long rop(long g1, long g0, long cp) {
+        long x1 = multiplyHigh(g0, cp);
+        long y0 = g1 * cp;
+        long y1 = multiplyHigh(g1, cp);
+        long z = (y0 >>> 1) + x1;
+        long vbp = y1 + (z >>> 63);
+        return vbp | ((z & MASK_63) + MASK_63) >>> 63;
+    }
+
+    static void appendFloat(@NotNull Bytes<?> bytes, float v) {
+        int bits = Float.floatToRawIntBits(v);
+        int t = bits & F_T_MASK;
+        int bq = (bits >>> (F_P - 1)) & F_BQ_MASK;
+        if (bq == F_BQ_MASK) {
+            bytes.append(t != 0 ? "NaN" : bits > 0 ? "Infinity" : "-Infinity");
+            return;
+        }
+        if (bits < 0)
+            bytes.writeUnsignedByte('-');
+        if (bq != 0) {
+            int mq = -F_Q_MIN + 1 - bq;
+            int c = F_C_MIN | t;
+            if (0 < mq && mq < F_P) {
+                int f = c >> mq;
+                if (f << mq == c) {
+                    appendDecimal(bytes, f, 0);
+                    return;
+                }
+            }
+            toDecimal(bytes, -mq, c, 0);
+
+        } else if (t != 0) {
+            if (t < F_C_TINY)
+                toDecimal(bytes, F_Q_MIN, 10 * t, -1);
+            else
+                toDecimal(bytes, F_Q_MIN, t, 0);
+
+        } else {
+            bytes.append("0.0");
+        }
+    }
+
+    private static void toDecimal(Bytes<?> bytes, int q, int c, int dk) {
+        int out = c & 1;
+        long cb = (long) c << 2;
+        long cbr = cb + 2;
+        long cbl;
+        int k;
+        if (c != F_C_MIN || q == F_Q_MIN) {
+            cbl = cb - 2;
+            k = flog10pow2(q);
+        } else {
+            cbl = cb - 1;
+            k = flog10threeQuartersPow2(q);
+        }
+        int h = q + flog2pow10(-k) + 33;
+
+        long g = G[(k - K_MIN) << 1] + 1;
+
+        int vb = rop(g, cb << h);
+        int vbl = rop(g, cbl << h);
+        int vbr = rop(g, cbr << h);
+
+        int s = vb >> 2;
+        if (s >= 100) {
+            int sp10 = 10 * (int) (s * 1_717_986_919L >>> 34);
+            int tp10 = sp10 + 10;
+            boolean upin = vbl + out <= sp10 << 2;
+            boolean wpin = (tp10 << 2) + out <= vbr;
+            if (upin != wpin) {
+                appendDecimal(bytes, upin ? sp10 : tp10, k);
+                return;
+            }
+        }
+        int t = s + 1;
+        boolean uin = vbl + out <= s << 2;
+        boolean win = (t << 2) + out <= vbr;
+        if (uin != win) {
+            appendDecimal(bytes, uin ? s : t, k + dk);
+            return;
+        }
+        int cmp = vb - ((s + t) << 1);
+        appendDecimal(bytes, cmp < 0 || cmp == 0 && (s & 1) == 0 ? s : t, k + dk);
+    }
+
+    private static int rop(long g, long cp) {
+        long x1 = multiplyHigh(g, cp);
+        long vbp = x1 >>> 31;
+        return (int) (vbp | ((x1 & MASK_32) + MASK_32) >>> 32);
+    }
+
+    /**
+     * Append f * 10^e, plain between 10^-3 and 10^7 and in scientific notation outside this range.
+     */
+    private static void appendDecimal(Bytes<?> bytes, long f, int e) {
+        while (f % 10 == 0) {
+            f /= 10;
+            e++;
+        }
+        int len = 1;
+        while (len < POW10.length && f >= POW10[len])
+            len++;
+        int exp = e + len - 1;
+        if (-3 <= exp && exp < 7) {
+            if (exp < 0) {
+                bytes.writeUnsignedByte('0').writeUnsignedByte('.');
+                for (int i = -1; i > exp; i--)
+                    bytes.writeUnsignedByte('0');
+                appendDigits(bytes, f, len, 0, len);
+            } else {
+                int point = exp + 1;
+                appendDigits(bytes, f, len, 0, Math.min(point, len));
+                for (int i = len; i < point; i++)
+                    bytes.writeUnsignedByte('0');
+                bytes.writeUnsignedByte('.');
+                if (point < len)
+                    appendDigits(bytes, f, len, point, len);
+                else
+                    bytes.writeUnsignedByte('0');
+            }
+        } else {
+            appendDigits(bytes, f, len, 0, 1);
+            bytes.writeUnsignedByte('.');
+            if (len > 1)
+                appendDigits(bytes, f, len, 1, len);
+            else
+                bytes.writeUnsignedByte('0');
+            bytes.writeUnsignedByte('E');
+            bytes.append(exp);
+        }
+    }
+
+    private static void appendDigits(Bytes<?> bytes, long f, int len, int from, int to) {
+        for (int i = from; i < to; i++)
+            bytes.writeUnsignedByte((int) ('0' + f / POW10[len - 1 - i] % 10));
+    }
+
+    private static int flog10pow2(int e) {
+        return (int) (e * 661_971_961_083L >> 41);
+    }
+
+    private static int flog10threeQuartersPow2(int e) {
+        return (int) (e * 661_971_961_083L - 274_743_187_321L >> 41);
+    }
+
+    private static int flog2pow10(int e) {
+        return (int) (e * 913_124_641_741L >> 38);
+    }
+
+    // Math.multiplyHigh is only available in Java 9+
+    static long multiplyHigh(long x, long y) {
+        long x1 = x >> 32;
+        long x2 = x & 0xFFFFFFFFL;
+        long y1 = y >> 32;
+        long y2 = y & 0xFFFFFFFFL;
+        long z2 = x2 * y2;
+        long t = x1 * y2 + (z2 >>> 32);
+        long z1 = t & 0xFFFFFFFFL;
+        long z0 = t >> 32;
+        z1 += x2 * y1;
+        return x1 * y1 + z0 + (z1 >> 32);
+    }
+}
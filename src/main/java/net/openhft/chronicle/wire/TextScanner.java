@@ -0,0 +1,169 @@
+/*
+ * Copyright 2016-2020 chronicle.software
+ *
+ * https://chronicle.software
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.openhft.chronicle.wire;
+
+import net.openhft.chronicle.bytes.Bytes;
+import net.openhft.chronicle.core.Jvm;
+import net.openhft.chronicle.core.UnsafeMemory;
+import net.openhft.chronicle.core.util.StringUtils;
+import org.jetbrains.annotations.NotNull;
+
+import static net.openhft.chronicle.core.UnsafeMemory.unsafeGetLong;
+
+/**
+ * Finds runs of plain ASCII text which TextWire, YamlWire and JSONWire can write as they are. Latin1 Strings and Bytes
+ * are checked 8 characters at a time using each byte of a long, other text a character at a time.
+ */
+enum TextScanner {
+    ; // none
+    private static final boolean COMPACT_STRINGS = Jvm.isJava9Plus();
+    private static final int LATIN1 = 0;
+    private static final long BYTE_BASE = UnsafeMemory.UNSAFE.arrayBaseOffset(byte[].class);
+    private static final long ONES = 0x0101_0101_0101_0101L;
+    private static final long HIGH_BITS = 0x8080_8080_8080_8080L;
+    private static final long LOW_BITS = 0x7F7F_7F7F_7F7F_7F7FL;
+
+    // the high bit of each byte which is zero, may also set it above a zero byte, which doesn't matter here.
+    private static long zeroBytes(long w) {
+        return (w - ONES) & ~w & HIGH_BITS;
+    }
+
+    private static long bytesEqual(long w, int ch) {
+        return zeroBytes(w ^ (ONES * ch));
+    }
+
+    // the high bit of each byte < n where n <= 128
+    private static long bytesLess(long w, int n) {
+        return (w - ONES * n) & ~w & HIGH_BITS;
+    }
+
+    // the high bit of each byte with m < byte < n, for bytes without the high bit set
+    private static long bytesBetween(long w, int m, int n) {
+        long x = w & LOW_BITS;
+        return (ONES * (127 + n) - x) & ~w & (x + ONES * (127 - m)) & HIGH_BITS;
+    }
+
+    /**
+     * @return true if any of these 8 characters might need escaping.
+     */
+    static boolean needsEscaping(long w) {
+        return ((w & HIGH_BITS)
+                | bytesLess(w, ' ')
+                | bytesEqual(w, '"')
+                | bytesEqual(w, '\'')
+                | bytesEqual(w, '\\')) != 0;
+    }
+
+    static boolean needsEscaping(char ch) {
+        return ch < ' ' || ch > 127 || ch == '"' || ch == '\'' || ch == '\\';
+    }
+
+    /**
+     * @return true if any of these 8 characters is one of <code>"?,#:{}[]|>\</code>, a control character or not ASCII.
+     * A <code>"</code> only means single quotes are needed which the caller checks.
+     */
+    static boolean needsQuotes(long w) {
+        return ((w & HIGH_BITS)
+                | bytesLess(w, ' ')
+                | bytesBetween(w, '"' - 1, '#' + 1)
+                | bytesEqual(w, ',')
+                | bytesEqual(w, ':')
+                | bytesBetween(w, '>' - 1, '?' + 1)
+                | bytesBetween(w, '[' - 1, ']' + 1)
+                | bytesBetween(w, '{' - 1, '}' + 1)) != 0;
+    }
+
+    static boolean needsQuotes(char ch) {
+        switch (ch) {
+            case '"':
+            case '#':
+            case ',':
+            case ':':
+            case '>':
+            case '?':
+            case '[':
+            case '\\':
+            case ']':
+            case '{':
+            case '|':
+            case '}':
+                return true;
+            default:
+                return ch < ' ' || ch > 127;
+        }
+    }
+
+    /**
+     * @return the index of the first character from <code>from</code> which needs escaping, or the length if none do.
+     */
+    static int plainEnd(@NotNull CharSequence s, int from) {
+        final int length = s.length();
+        int i = from;
+        if (s instanceof String && COMPACT_STRINGS && StringUtils.getStringCoder((String) s) == LATIN1) {
+            final byte[] value = StringUtils.extractBytes((String) s);
+            while (i + 8 <= length && !needsEscaping(unsafeGetLong(value, BYTE_BASE + i)))
+                i += 8;
+        } else if (s instanceof Bytes) {
+            final Bytes<?> bs = (Bytes<?>) s;
+            final long start = bs.readPosition();
+            while (i + 8 <= length && !needsEscaping(bs.readLong(start + i)))
+                i += 8;
+        }
+        while (i < length && !needsEscaping(s.charAt(i)))
+            i++;
+        return i;
+    }
+
+    /**
+     * @return the index of the first character from <code>from</code> which might mean the text needs quotes, or the length.
+     */
+    static int unquotedEnd(@NotNull CharSequence s, int from) {
+        final int length = s.length();
+        int i = from;
+        if (s instanceof String && COMPACT_STRINGS && StringUtils.getStringCoder((String) s) == LATIN1) {
+            final byte[] value = StringUtils.extractBytes((String) s);
+            while (i + 8 <= length && !needsQuotes(unsafeGetLong(value, BYTE_BASE + i)))
+                i += 8;
+        } else if (s instanceof Bytes) {
+            final Bytes<?> bs = (Bytes<?>) s;
+            final long start = bs.readPosition();
+            while (i + 8 <= length && !needsQuotes(bs.readLong(start + i)))
+                i += 8;
+        }
+        while (i < length && !needsQuotes(s.charAt(i)))
+            i++;
+        return i;
+    }
+
+    /**
+     * Write characters which don't need escaping, in bulk where possible.
+     */
+    static void writePlain(@NotNull Bytes<?> bytes, @NotNull CharSequence s, int from, int to) {
+        if (to <= from)
+            return;
+        if (s instanceof String && COMPACT_STRINGS && StringUtils.getStringCoder((String) s) == LATIN1) {
+            bytes.write(StringUtils.extractBytes((String) s), from, to - from);
+        } else if (s instanceof Bytes) {
+            final Bytes<?> bs = (Bytes<?>) s;
+            bytes.write(bs, bs.readPosition() + from, to - from);
+        } else {
+            for (int i = from; i < to; i++)
+                bytes.writeUnsignedByte(s.charAt(i));
+        }
+    }
+}
@@ -63,7 +63,6 @@ public class TextWire extends AbstractWire implements Wire {
     static final String SEQ_MAP = "!seqmap";
     static final String NULL = "!null \"\"";
     static final BitSet STARTS_QUOTE_CHARS = new BitSet();
-    static final BitSet QUOTE_CHARS = new BitSet();
     static final ThreadLocal<WeakReference<StopCharTester>> ESCAPED_QUOTES = new ThreadLocal<>();//ThreadLocal.withInitial(StopCharTesters.QUOTES::escaping);
     static final ThreadLocal<WeakReference<StopCharTester>> ESCAPED_SINGLE_QUOTES = new ThreadLocal<>();//ThreadLocal.withInitial(() -> StopCharTesters.SINGLE_QUOTES.escaping());
     static final ThreadLocal<WeakReference<StopCharTester>> ESCAPED_END_OF_TEXT = new ThreadLocal<>();// ThreadLocal.withInitial(() -> TextStopCharsTesters.END_OF_TEXT.escaping());
@@ -83,8 +82,6 @@ public class TextWire extends AbstractWire implements Wire {
         IOTools.unmonitor(BINARY);
         for (char ch : "?%&@`0123456789+- ',#:{}[]|>!\\".toCharArray())
             STARTS_QUOTE_CHARS.set(ch);
-        for (char ch : "?,#:{}[]|>\\".toCharArray())
-            QUOTE_CHARS.set(ch);
         // make sure it has loaded.
         WireInternal.INTERNER.valueCount();
     }
@@ -522,7 +519,7 @@ public class TextWire extends AbstractWire implements Wire {
 
     @Nullable
     private <K> K toExpected(Class<K> expectedClass, StringBuilder sb) {
-        return ObjectUtils.convertTo(expectedClass, WireInternal.INTERNER.intern(sb));
+        return ObjectUtils.convertTo(expectedClass, interner.intern(sb));
     }
 
     @NotNull
@@ -848,7 +845,14 @@ public class TextWire extends AbstractWire implements Wire {
     }
 
     protected void escape0(@NotNull CharSequence s, @NotNull Quotes quotes) {
-        for (int i = 0; i < s.length(); i++) {
+        final int length = s.length();
+        for (int i = 0; i < length; i++) {
+            // write runs of characters which don't need escaping in bulk
+            final int end = TextScanner.plainEnd(s, i);
+            TextScanner.writePlain(bytes, s, i, end);
+            if (end >= length)
+                break;
+            i = end;
             char ch = s.charAt(i);
             switch (ch) {
                 case '\0':
@@ -938,12 +942,12 @@ public class TextWire extends AbstractWire implements Wire {
         if (STARTS_QUOTE_CHARS.get(s.charAt(0)) ||
                 Character.isWhitespace(s.charAt(s.length() - 1)))
             return Quotes.DOUBLE;
-        for (int i = 0; i < s.length(); i++) {
-            char ch = s.charAt(i);
-            if (QUOTE_CHARS.get(ch) || ch < ' ' || ch > 127)
+        final int length = s.length();
+        for (int i = TextScanner.unquotedEnd(s, 0); i < length; i = TextScanner.unquotedEnd(s, i + 1)) {
+            // only a double quote can be written in single quotes, anything else found needs double quotes
+            if (s.charAt(i) != '"')
                 return Quotes.DOUBLE;
-            if (ch == '"')
-                quotes = Quotes.SINGLE;
+            quotes = Quotes.SINGLE;
         }
         return quotes;
     }
@@ -1099,7 +1103,7 @@ public class TextWire extends AbstractWire implements Wire {
             if (indentation() < indentation || bytes.readRemaining() == 0)
                 break;
             read(sb);
-            @Nullable String key = WireInternal.INTERNER.intern(sb);
+            @Nullable String key = interner.intern(sb);
             if (key.equals("..."))
                 break;
             @Nullable Object value = valueIn.objectWithInferredType(null, SerializationStrategies.ANY_OBJECT, valueType);
@@ -1319,6 +1323,17 @@ public class TextWire extends AbstractWire implements Wire {
             return wireOut();
         }
 
+        @Override
+        public WireOut writeLong(LongConverter longConverter, long l) {
+            if (dropDefault) {
+                writeSavedEventName();
+            }
+            prependSeparator();
+            longConverter.append(bytes, l);
+            elementSeparator();
+            return wireOut();
+        }
+
         private boolean isText(@Nullable BytesStore fromBytes) {
 
             if (fromBytes == null)
@@ -1590,7 +1605,7 @@ public class TextWire extends AbstractWire implements Wire {
             if (af >= 1e-3 && af < 1e6)
                 bytes.append(f);
             else
-                bytes.append(floatToString(f));
+                appendFloat(f);
             elementSeparator();
 
             return TextWire.this;
@@ -1628,19 +1643,19 @@ public class TextWire extends AbstractWire implements Wire {
                     bytes.append(d);
                 }
             } else {
-                bytes.append(doubleToString(d));
+                appendDouble(d);
             }
             elementSeparator();
 
             return TextWire.this;
         }
 
-        protected String doubleToString(double d) {
-            return Double.toString(d);
+        protected void appendDouble(double d) {
+            ShortestDecimal.appendDouble(bytes, d);
         }
 
-        protected String floatToString(float f) {
-            return Float.toString(f);
+        protected void appendFloat(float f) {
+            ShortestDecimal.appendFloat(bytes, f);
         }
 
         @NotNull
@@ -2187,7 +2202,7 @@ public class TextWire extends AbstractWire implements Wire {
         @Override
         public String text() {
             @Nullable CharSequence cs = textTo0(acquireStringBuilder());
-            return cs == null ? null : WireInternal.INTERNER.intern(cs);
+            return cs == null ? null : interner.intern(cs);
         }
 
         @Nullable
@@ -2318,10 +2333,68 @@ public class TextWire extends AbstractWire implements Wire {
                 }
             }
 
+            unreadTerminator();
+            return ret;
+        }
+
+        /**
+         * Steps back over a terminator which the next read needs to see.
+         */
+        private void unreadTerminator() {
             int prev = peekBack();
             if (prev == ':' || prev == '#' || prev == '}' || prev == ']')
                 bytes.readSkip(-1);
-            return ret;
+        }
+
+        /**
+         * Parses plain or quoted text in place when it needs no unescaping or decoding,
+         * otherwise it is read into a StringBuilder first.
+         */
+        @Override
+        public long readLong(LongConverter longConverter) {
+            consumePadding();
+            final int ch = peekCode();
+            final long start = bytes.readPosition();
+            final long limit = bytes.readLimit();
+            if (ch == '"' || ch == '\'') {
+                for (long pos = start + 1; pos < limit; pos++) {
+                    final int b = bytes.readUnsignedByte(pos);
+                    if (b == ch) {
+                        final long value = longConverter.parse(bytes, start + 1, (int) (pos - start - 1));
+                        bytes.readPosition(pos + 1);
+                        consumePadding(1);
+                        unreadTerminator();
+                        return value;
+                    }
+                    if (b == '\\' || b >= 0x80)
+                        break;
+                }
+
+            } else if (ch >= 0 && ch != '{' && ch != '!' && ch != '$') {
+                final StopCharsTester endOfText = strictEndOfText();
+                long pos = start;
+                for (; pos < limit; pos++) {
+                    final int b = bytes.readUnsignedByte(pos);
+                    if (b == '\\' || b >= 0x80)
+                        return ValueIn.super.readLong(longConverter);
+                    final int next = pos + 1 < limit ? bytes.readUnsignedByte(pos + 1) : -1;
+                    if (endOfText.isStopChar(b, next))
+                        break;
+                }
+                long end = pos;
+                // trim trailing spaces.
+                while (end > start && Character.isWhitespace(bytes.readUnsignedByte(end - 1)))
+                    end--;
+                // an empty value is read as text so it fails or parses as it always has
+                if (end == start)
+                    return ValueIn.super.readLong(longConverter);
+                final long value = longConverter.parse(bytes, start, (int) (end - start));
+                // the stop character is consumed as when reading text.
+                bytes.readPosition(Math.min(pos + 1, limit));
+                unreadTerminator();
+                return value;
+            }
+            return ValueIn.super.readLong(longConverter);
         }
 
         private <ACS extends Appendable & CharSequence> void unsubstitutedString(@NotNull ACS a) {
@@ -2442,7 +2515,7 @@ public class TextWire extends AbstractWire implements Wire {
                     @Nullable byte[] bytes = Compression.uncompress(stringBuilder, this, t -> {
                         @NotNull StringBuilder sb0 = acquireStringBuilder();
                         parseUntil(sb0, StopCharTesters.COMMA_SPACE_STOP);
-                        return Base64.getDecoder().decode(WireInternal.INTERNER.intern(sb0));
+                        return Base64.getDecoder().decode(interner.intern(sb0));
                     });
                     if (bytes != null)
                         return bytes;
@@ -2737,7 +2810,7 @@ public class TextWire extends AbstractWire implements Wire {
             if (peekCode() == '$') {
                 unsubstitutedNumber();
             } else {
-                tf.accept(t, (float) bytes.parseDouble());
+                tf.accept(t, (float) parseDouble());
             }
             return TextWire.this;
         }
@@ -2749,7 +2822,7 @@ public class TextWire extends AbstractWire implements Wire {
             if (peekCode() == '$') {
                 unsubstitutedNumber();
             } else {
-                td.accept(t, bytes.parseDouble());
+                td.accept(t, parseDouble());
             }
             return TextWire.this;
         }
@@ -2760,7 +2833,7 @@ public class TextWire extends AbstractWire implements Wire {
             consumePadding();
             final StringBuilder stringBuilder = acquireStringBuilder();
             textTo(stringBuilder);
-            setLocalTime.accept(t, LocalTime.parse(WireInternal.INTERNER.intern(stringBuilder)));
+            setLocalTime.accept(t, LocalTime.parse(interner.intern(stringBuilder)));
             return TextWire.this;
         }
 
@@ -2770,7 +2843,7 @@ public class TextWire extends AbstractWire implements Wire {
             consumePadding();
             final StringBuilder stringBuilder = acquireStringBuilder();
             textTo(stringBuilder);
-            tZonedDateTime.accept(t, ZonedDateTime.parse(WireInternal.INTERNER.intern(stringBuilder)));
+            tZonedDateTime.accept(t, ZonedDateTime.parse(interner.intern(stringBuilder)));
             return TextWire.this;
         }
 
@@ -2780,7 +2853,7 @@ public class TextWire extends AbstractWire implements Wire {
             consumePadding();
             final StringBuilder stringBuilder = acquireStringBuilder();
             textTo(stringBuilder);
-            tLocalDate.accept(t, LocalDate.parse(WireInternal.INTERNER.intern(stringBuilder)));
+            tLocalDate.accept(t, LocalDate.parse(interner.intern(stringBuilder)));
             return TextWire.this;
         }
 
@@ -2790,7 +2863,7 @@ public class TextWire extends AbstractWire implements Wire {
             consumePadding();
             final StringBuilder stringBuilder = acquireStringBuilder();
             textTo(stringBuilder);
-            tuuid.accept(t, UUID.fromString(WireInternal.INTERNER.intern(stringBuilder)));
+            tuuid.accept(t, UUID.fromString(interner.intern(stringBuilder)));
             return TextWire.this;
         }
 
@@ -3298,7 +3371,7 @@ public class TextWire extends AbstractWire implements Wire {
         @Nullable
         private <K, V> Map<K, V> typedMap(@NotNull Class<K> kClazz, @NotNull Class<V> vClass, @NotNull Map<K, V> usingMap, @NotNull StringBuilder sb) {
             parseUntil(sb, StopCharTesters.SPACE_STOP);
-            @Nullable String str = WireInternal.INTERNER.intern(sb);
+            @Nullable String str = interner.intern(sb);
 
             if (("!!null").contentEquals(sb)) {
                 text();
@@ -3422,17 +3495,45 @@ public class TextWire extends AbstractWire implements Wire {
                     Jvm.warn().on(getClass(), "Unable to read " + valueIn.object() + " as a double.");
                     return 0;
             }
-            final double v = bytes.parseDouble();
+            final double v = parseDouble();
 
             checkRewindDouble();
             return v;
         }
 
+        /**
+         * Parses plain decimals such as 1234.5678 directly, otherwise uses the general parser.
+         */
+        protected double parseDouble() {
+            final long start = bytes.readPosition();
+            final long limit = bytes.readLimit();
+            final long end = PlainDecimal.end(bytes, start, limit);
+            if (end >= 0) {
+                final double v = PlainDecimal.parse(bytes, start, end);
+                if (!Double.isNaN(v)) {
+                    // the general parser consumes the character after the number
+                    bytes.readPosition(end < limit ? end + 1 : end);
+                    return v;
+                }
+            }
+            return bytes.parseDouble();
+        }
+
         void skipType() {
             long peek = bytes.peekUnsignedByte();
             if (peek == '!') {
-                final StringBuilder stringBuilder = acquireStringBuilder();
-                parseUntil(stringBuilder, END_OF_TYPE);
+                // skip the type without reading it into a StringBuilder, unless it ends with a multi-byte character
+                long pos = bytes.readPosition();
+                final long limit = bytes.readLimit();
+                int ch = 0;
+                while (pos < limit && !END_OF_TYPE.isStopChar(ch = bytes.peekUnsignedByte(pos)))
+                    pos++;
+                if (ch >= 0x80) {
+                    final StringBuilder stringBuilder = acquireStringBuilder();
+                    parseUntil(stringBuilder, END_OF_TYPE);
+                } else {
+                    bytes.readPosition(pos < limit ? pos + 1 : pos);
+                }
                 consumePadding();
             }
         }
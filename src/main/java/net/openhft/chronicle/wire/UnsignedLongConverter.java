@@ -18,14 +18,33 @@
 package net.openhft.chronicle.wire;
 
 import net.openhft.chronicle.bytes.AppendableUtil;
+import net.openhft.chronicle.bytes.Bytes;
+import net.openhft.chronicle.bytes.BytesStore;
 
 public class UnsignedLongConverter implements LongConverter {
+    // up to this many digits can't overflow a signed long
+    private static final int SAFE_DIGITS = 18;
 
     @Override
     public long parse(CharSequence text) {
         return Long.parseUnsignedLong(text.toString());
     }
 
+    @Override
+    public long parse(BytesStore<?, ?> bytes, long offset, int length) {
+        int i = length > 0 && bytes.readUnsignedByte(offset) == '+' ? 1 : 0;
+        if (length - i < 1 || length - i > SAFE_DIGITS)
+            return LongConverter.super.parse(bytes, offset, length);
+        long value = 0;
+        for (; i < length; i++) {
+            final int ch = bytes.readUnsignedByte(offset + i);
+            if (ch < '0' || ch > '9')
+                return LongConverter.super.parse(bytes, offset, length);
+            value = value * 10 + (ch - '0');
+        }
+        return value;
+    }
+
     @Override
     public void append(StringBuilder text, long value) {
         if (value >= 0)
@@ -33,4 +52,12 @@ public class UnsignedLongConverter implements LongConverter {
         else
             text.append(Long.toUnsignedString(value));
     }
+
+    @Override
+    public void append(Bytes<?> text, long value) {
+        if (value >= 0)
+            text.append(value);
+        else
+            text.append(Long.toUnsignedString(value));
+    }
 }
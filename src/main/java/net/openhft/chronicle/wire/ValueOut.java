@@ -21,7 +21,6 @@ import net.openhft.chronicle.bytes.Bytes;
 import net.openhft.chronicle.bytes.BytesMarshallable;
 import net.openhft.chronicle.bytes.BytesStore;
 import net.openhft.chronicle.bytes.WriteBytesMarshallable;
-import net.openhft.chronicle.bytes.util.Compression;
 import net.openhft.chronicle.core.Jvm;
 import net.openhft.chronicle.core.Maths;
 import net.openhft.chronicle.core.pool.ClassAliasPool;
@@ -304,6 +303,25 @@ public interface ValueOut {
 
     @NotNull <T, K> WireOut sequence(T t, K kls, TriConsumer<T, K, ValueOut> writer);
 
+    /**
+     * Start writing a sequence inline, without a callback. Each element is written to this ValueOut and the
+     * sequence is completed with {@link #endSequence(long)}.
+     *
+     * @return the position to pass to endSequence, or -1 if this wire only supports {@link #sequence(WriteValue)}
+     */
+    default long startSequence() {
+        return -1;
+    }
+
+    /**
+     * Complete a sequence started with {@link #startSequence()}
+     *
+     * @param position as returned by startSequence
+     */
+    default void endSequence(long position) {
+        throw new UnsupportedOperationException();
+    }
+
     default <T> WireOut sequenceWithLength(T t, int length, ObjectIntObjectConsumer<T, ValueOut> writer) {
         boolean b = swapLeaf(true);
         WireOut sequence = sequence(t, length, writer::accept);
@@ -878,7 +896,7 @@ public interface ValueOut {
         if (uncompressedBytes.readRemaining() < SMALL_MESSAGE)
             return bytes(uncompressedBytes);
         Bytes tmpBytes = Wires.acquireBytes();
-        Compression.compress(compression, uncompressedBytes, tmpBytes);
+        WireCompressions.acquire(compression).compress(uncompressedBytes, tmpBytes);
         bytes(compression, tmpBytes);
         return wireOut();
     }
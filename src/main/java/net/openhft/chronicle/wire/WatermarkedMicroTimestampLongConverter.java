@@ -17,6 +17,9 @@
  */
 package net.openhft.chronicle.wire;
 
+import net.openhft.chronicle.bytes.Bytes;
+import net.openhft.chronicle.bytes.BytesStore;
+
 public class WatermarkedMicroTimestampLongConverter extends MicroTimestampLongConverter {
     @Override
     public long parse(CharSequence text) {
@@ -32,6 +35,20 @@ public class WatermarkedMicroTimestampLongConverter extends MicroTimestampLongCo
         throw new IllegalArgumentException("Unknown watermark");
     }
 
+    @Override
+    public long parse(BytesStore<?, ?> bytes, long offset, int length) {
+        int letter = length < 2 ? 0 : bytes.readUnsignedByte(offset);
+        if (('A' <= letter && letter <= 'Z') || ('a' <= letter && letter <= 'z')) {
+            int digit = bytes.readUnsignedByte(offset + 1);
+            if ('0' <= digit && digit <= '9') {
+                long watermark = (long) (((letter & 0x31) - 1) * 10 + digit) << -8;
+                long parse = super.parse(bytes, offset + 2, length - 2);
+                return parse | watermark;
+            }
+        }
+        throw new IllegalArgumentException("Unknown watermark");
+    }
+
     @Override
     public void append(StringBuilder text, long value) {
         long time = value & (~0L << -8);
@@ -40,4 +57,13 @@ public class WatermarkedMicroTimestampLongConverter extends MicroTimestampLongCo
         text.append(watermark % 10);
         super.append(text, time);
     }
+
+    @Override
+    public void append(Bytes<?> text, long value) {
+        long time = value & (~0L << -8);
+        long watermark = value >>> -8;
+        text.append((char) ('A' + watermark / 10));
+        text.append(watermark % 10);
+        super.append(text, time);
+    }
 }
@@ -0,0 +1,48 @@
+/*
+ * Copyright 2016-2020 chronicle.software
+ *
+ * https://chronicle.software
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.openhft.chronicle.wire;
+
+import net.openhft.chronicle.bytes.Bytes;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * A block compression for bytes fields, registered by name with {@link WireCompressions}, e.g. for
+ * {@link WireType#COMPRESSED_BINARY}.
+ * <p>
+ * Implementations can also be registered with a <code>META-INF/services/net.openhft.chronicle.wire.WireCompression</code>
+ * file.
+ */
+public interface WireCompression {
+    /**
+     * @return the name written as the type of the compressed bytes field.
+     */
+    @NotNull
+    String name();
+
+    /**
+     * Compress the readable bytes of <code>from</code>, appending the result to <code>to</code>.
+     * On return <code>from</code> has been read to its limit.
+     */
+    void compress(@NotNull Bytes<?> from, @NotNull Bytes<?> to);
+
+    /**
+     * Uncompress the readable bytes of <code>from</code>, appending the result to <code>to</code>.
+     * On return <code>from</code> has been read to its limit.
+     */
+    void uncompress(@NotNull Bytes<?> from, @NotNull Bytes<?> to);
+}
@@ -0,0 +1,108 @@
+/*
+ * Copyright 2016-2020 chronicle.software
+ *
+ * https://chronicle.software
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.openhft.chronicle.wire;
+
+import net.openhft.chronicle.bytes.Bytes;
+import net.openhft.chronicle.bytes.util.Compression;
+import net.openhft.chronicle.core.Jvm;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ServiceLoader;
+
+/**
+ * The {@link WireCompression}s known by name. This includes <code>lz4</code>, plus <code>binary</code>,
+ * <code>gzip</code> and <code>lzw</code> from chronicle-bytes and any found with a {@link ServiceLoader}.
+ */
+public enum WireCompressions {
+    ; // none
+
+    // replaced on each registration so lookups don't need a lock
+    private static volatile CharSequenceObjectMap<WireCompression> compressions = new CharSequenceObjectMap<>(16);
+
+    static {
+        register(Lz4Compression.INSTANCE);
+        for (String name : new String[]{"binary", "gzip", "lzw"})
+            register(new BytesCompression(name));
+        try {
+            for (WireCompression compression : ServiceLoader.load(WireCompression.class))
+                register(compression);
+        } catch (Throwable t) {
+            Jvm.warn().on(WireCompressions.class, "Unable to load WireCompressions", t);
+        }
+    }
+
+    /**
+     * Register a compression, replacing any previous one with the same name.
+     */
+    public static synchronized void register(@NotNull WireCompression compression) {
+        CharSequenceObjectMap<WireCompression> map = new CharSequenceObjectMap<>((compressions.size() + 1) * 2);
+        CharSequenceObjectMap<WireCompression> previous = compressions;
+        for (int i = 0; i < previous.keys.length; i++)
+            if (previous.keys[i] != null)
+                map.put(previous.keys[i], previous.values[i]);
+        map.put(compression.name(), compression);
+        compressions = map;
+    }
+
+    /**
+     * @return the compression with this name, or null if there isn't one.
+     */
+    @Nullable
+    public static WireCompression forName(@NotNull CharSequence name) {
+        return compressions.get(name);
+    }
+
+    /**
+     * @return the compression with this name
+     * @throws IllegalArgumentException if there isn't one.
+     */
+    @NotNull
+    public static WireCompression acquire(@NotNull CharSequence name) {
+        WireCompression compression = forName(name);
+        if (compression == null)
+            throw new IllegalArgumentException("Unknown compression " + name);
+        return compression;
+    }
+
+    static final class BytesCompression implements WireCompression {
+        private final String name;
+
+        BytesCompression(String name) {
+            this.name = name;
+        }
+
+        @NotNull
+        @Override
+        public String name() {
+            return name;
+        }
+
+        @Override
+        public void compress(@NotNull Bytes<?> from, @NotNull Bytes<?> to) {
+            Compression.compress(name, from, to);
+            from.readPosition(from.readLimit());
+        }
+
+        @Override
+        public void uncompress(@NotNull Bytes<?> from, @NotNull Bytes<?> to) {
+            Compression.uncompress(name, from, to);
+            from.readPosition(from.readLimit());
+        }
+    }
+}
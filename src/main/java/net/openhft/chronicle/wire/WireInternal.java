@@ -47,6 +47,7 @@ public enum WireInternal {
     static final StringBuilderPool ASBP = new StringBuilderPool();
     static final ThreadLocal<WeakReference<Bytes>> BYTES_TL = new ThreadLocal<>();
     static final ThreadLocal<WeakReference<Bytes>> BYTES_F2S_TL = new ThreadLocal<>();
+    static final ThreadLocal<WeakReference<Bytes>> UNCOMPRESSED_TL = new ThreadLocal<>();
     static final ThreadLocal<WeakReference<Wire>> BINARY_WIRE_TL = new ThreadLocal<>();
     static final ThreadLocal<WeakReference<Bytes>> ABYTES_TL = new ThreadLocal();
 
@@ -0,0 +1,60 @@
+/*
+ * Copyright 2016-2020 chronicle.software
+ *
+ * https://chronicle.software
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.openhft.chronicle.wire;
+
+import net.openhft.chronicle.bytes.BytesStore;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Turns text read by a wire into a String, returning a String it has seen before where possible so reading the same
+ * text repeatedly doesn't create garbage. See {@link WireInterners} for the strategies available.
+ * <p>
+ * The counters are approximate where a table is shared between threads.
+ */
+public interface WireInterner {
+    @Nullable
+    String intern(@Nullable CharSequence cs);
+
+    /**
+     * Intern text held as 8-bit characters, comparing it in place.
+     */
+    @NotNull
+    String intern8bit(@NotNull BytesStore<?, ?> bs, long offset, int length);
+
+    /**
+     * Intern text held as UTF-8, comparing it in place if it is ASCII.
+     */
+    @NotNull
+    String internUtf8(@NotNull BytesStore<?, ?> bs, long offset, int length);
+
+    /**
+     * @return the number of lookups which found a String, or 0 if the counters are off
+     */
+    long hits();
+
+    /**
+     * @return the number of lookups which created a String, or 0 if the counters are off
+     */
+    long misses();
+
+    /**
+     * @return the number of Strings replaced by another to make room, or 0 if the counters are off
+     */
+    long evictions();
+}
@@ -0,0 +1,241 @@
+/*
+ * Copyright 2016-2020 chronicle.software
+ *
+ * https://chronicle.software
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.openhft.chronicle.wire;
+
+import net.openhft.chronicle.bytes.BytesStore;
+import net.openhft.chronicle.core.Jvm;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.lang.ref.WeakReference;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.ToLongFunction;
+
+/**
+ * The strategies for interning text read by a wire.
+ * <ul>
+ *     <li>shared - one table for all threads, the default</li>
+ *     <li>thread - a table per thread so readers on different cores don't share cache lines or evict each other</li>
+ *     <li>striped - a fixed number of tables, each thread uses one based on its id</li>
+ *     <li>wire - a table per wire, for a long lived wire with its own vocabulary</li>
+ * </ul>
+ * The default is set with <code>-Dwire.interner=shared|thread|striped|wire</code> and the table size with
+ * <code>-Dwire.interner.size</code>. The hit, miss and eviction counters are off unless
+ * <code>-Dwire.interner.stats</code> is set or asked for when the interner is created.
+ */
+public enum WireInterners {
+    ; // none
+    static final int DEFAULT_CAPACITY = Integer.getInteger("wire.interner.size", 4096);
+    static final boolean DEFAULT_STATS = Jvm.getBoolean("wire.interner.stats");
+    private static final String DEFAULT_STRATEGY = System.getProperty("wire.interner", "shared");
+    private static final WireInterner SHARED = new InternerTable(DEFAULT_CAPACITY, DEFAULT_STATS);
+    private static final WireInterner DEFAULT = DEFAULT_STRATEGY.equals("wire") ? null : create(DEFAULT_STRATEGY);
+
+    @NotNull
+    private static WireInterner create(String strategy) {
+        switch (strategy) {
+            case "thread":
+                return perThread(DEFAULT_CAPACITY, DEFAULT_STATS);
+            case "striped":
+                return striped(Runtime.getRuntime().availableProcessors(), DEFAULT_CAPACITY, DEFAULT_STATS);
+            case "shared":
+                return SHARED;
+            default:
+                Jvm.warn().on(WireInterners.class, "Unknown wire.interner=" + strategy + ", using shared");
+                return SHARED;
+        }
+    }
+
+    /**
+     * @return the interner for a new wire, as set by wire.interner
+     */
+    @NotNull
+    public static WireInterner defaultInterner() {
+        return DEFAULT == null ? perWire(DEFAULT_CAPACITY, DEFAULT_STATS) : DEFAULT;
+    }
+
+    /**
+     * @return the table shared by all threads
+     */
+    @NotNull
+    public static WireInterner shared() {
+        return SHARED;
+    }
+
+    /**
+     * @return a new table, to be used by one wire or one thread
+     */
+    @NotNull
+    public static WireInterner perWire(int capacity) {
+        return perWire(capacity, DEFAULT_STATS);
+    }
+
+    /**
+     * @return a new table, to be used by one wire or one thread, which keeps counters if <code>stats</code> is set
+     */
+    @NotNull
+    public static WireInterner perWire(int capacity, boolean stats) {
+        return new InternerTable(capacity, stats);
+    }
+
+    /**
+     * @return an interner with a table for each thread which uses it. The counters are for the threads still running.
+     */
+    @NotNull
+    public static WireInterner perThread(int capacity) {
+        return perThread(capacity, DEFAULT_STATS);
+    }
+
+    /**
+     * @return an interner with a table for each thread which uses it, which keeps counters if <code>stats</code> is set
+     */
+    @NotNull
+    public static WireInterner perThread(int capacity, boolean stats) {
+        return new PerThreadInterner(capacity, stats);
+    }
+
+    /**
+     * @return an interner with a number of tables, a thread always uses the same table.
+     */
+    @NotNull
+    public static WireInterner striped(int stripes, int capacity) {
+        return striped(stripes, capacity, DEFAULT_STATS);
+    }
+
+    /**
+     * @return an interner with a number of tables, which keeps counters if <code>stats</code> is set
+     */
+    @NotNull
+    public static WireInterner striped(int stripes, int capacity, boolean stats) {
+        return new StripedInterner(stripes, capacity, stats);
+    }
+
+    static final class PerThreadInterner implements WireInterner {
+        private final List<WeakReference<InternerTable>> tables = new CopyOnWriteArrayList<>();
+        private final ThreadLocal<InternerTable> tableTL;
+
+        PerThreadInterner(int capacity, boolean stats) {
+            tableTL = ThreadLocal.withInitial(() -> {
+                InternerTable table = new InternerTable(capacity, stats);
+                tables.removeIf(ref -> ref.get() == null);
+                tables.add(new WeakReference<>(table));
+                return table;
+            });
+        }
+
+        @Nullable
+        @Override
+        public String intern(@Nullable CharSequence cs) {
+            return tableTL.get().intern(cs);
+        }
+
+        @NotNull
+        @Override
+        public String intern8bit(@NotNull BytesStore<?, ?> bs, long offset, int length) {
+            return tableTL.get().intern8bit(bs, offset, length);
+        }
+
+        @NotNull
+        @Override
+        public String internUtf8(@NotNull BytesStore<?, ?> bs, long offset, int length) {
+            return tableTL.get().internUtf8(bs, offset, length);
+        }
+
+        private long sum(ToLongFunction<InternerTable> counter) {
+            long sum = 0;
+            for (WeakReference<InternerTable> ref : tables) {
+                InternerTable table = ref.get();
+                if (table != null)
+                    sum += counter.applyAsLong(table);
+            }
+            return sum;
+        }
+
+        @Override
+        public long hits() {
+            return sum(InternerTable::hits);
+        }
+
+        @Override
+        public long misses() {
+            return sum(InternerTable::misses);
+        }
+
+        @Override
+        public long evictions() {
+            return sum(InternerTable::evictions);
+        }
+    }
+
+    static final class StripedInterner implements WireInterner {
+        private final InternerTable[] tables;
+
+        StripedInterner(int stripes, int capacity, boolean stats) {
+            tables = new InternerTable[Math.max(1, stripes)];
+            for (int i = 0; i < tables.length; i++)
+                tables[i] = new InternerTable(capacity, stats);
+        }
+
+        private InternerTable table() {
+            return tables[(int) (Thread.currentThread().getId() % tables.length)];
+        }
+
+        @Nullable
+        @Override
+        public String intern(@Nullable CharSequence cs) {
+            return table().intern(cs);
+        }
+
+        @NotNull
+        @Override
+        public String intern8bit(@NotNull BytesStore<?, ?> bs, long offset, int length) {
+            return table().intern8bit(bs, offset, length);
+        }
+
+        @NotNull
+        @Override
+        public String internUtf8(@NotNull BytesStore<?, ?> bs, long offset, int length) {
+            return table().internUtf8(bs, offset, length);
+        }
+
+        @Override
+        public long hits() {
+            long sum = 0;
+            for (InternerTable table : tables)
+                sum += table.hits();
+            return sum;
+        }
+
+        @Override
+        public long misses() {
+            long sum = 0;
+            for (InternerTable table : tables)
+                sum += table.misses();
+            return sum;
+        }
+
+        @Override
+        public long evictions() {
+            long sum = 0;
+            for (InternerTable table : tables)
+                sum += table.evictions();
+            return sum;
+        }
+    }
+}
@@ -52,13 +52,18 @@ public class WireMarshaller<T> {
             );
     private static final StringBuilderPool RSBP = new StringBuilderPool();
     private static final StringBuilderPool WSBP = new StringBuilderPool();
+    // opt in to compiling a marshaller per class, falling back to reflection if this fails.
+    static final boolean GENERATE_MARSHALLER = Jvm.getBoolean("wire.generateMarshaller");
     @NotNull
     final FieldAccess[] fields;
-    final TreeMap<CharSequence, FieldAccess> fieldMap = new TreeMap<>(WireMarshaller::compare);
+    final CharSequenceObjectMap<FieldAccess> fieldMap;
 
     private final boolean isLeaf;
     @Nullable
     private final T defaultValue;
+    private final long schemaHash;
+    @Nullable
+    private GeneratedMarshaller<T> generated;
 
     protected WireMarshaller(@NotNull Class<T> tClass, @NotNull FieldAccess[] fields, boolean isLeaf) {
         this(fields, isLeaf, defaultValueForType(tClass));
@@ -68,13 +73,38 @@ public class WireMarshaller<T> {
         this.fields = fields;
         this.isLeaf = isLeaf;
         this.defaultValue = defaultValue;
+        this.fieldMap = new CharSequenceObjectMap<>(fields.length * 2);
         for (FieldAccess field : fields) {
             fieldMap.put(field.key.name(), field);
         }
+        this.schemaHash = schemaHash(fields);
+    }
+
+    /**
+     * A fingerprint of the names and types of the fields in order.
+     */
+    static long schemaHash(@NotNull FieldAccess[] fields) {
+        long h = fields.length;
+        for (FieldAccess field : fields) {
+            h = schemaHash(h, field.field.getName());
+            h = schemaHash(h, field.field.getType().getName());
+        }
+        return Maths.agitate(h);
+    }
+
+    private static long schemaHash(long h, String s) {
+        for (int i = 0; i < s.length(); i++)
+            h = h * 0x9E3779B97F4A7C15L + s.charAt(i);
+        return h * 0x9E3779B97F4A7C15L + s.length();
     }
 
     @NotNull
     public static <T> WireMarshaller<T> of(@NotNull Class<T> tClass) {
+        return of(tClass, GENERATE_MARSHALLER);
+    }
+
+    @NotNull
+    static <T> WireMarshaller<T> of(@NotNull Class<T> tClass, boolean generate) {
         if (tClass.isInterface() || (tClass.isEnum() && !DynamicEnum.class.isAssignableFrom(tClass)))
             return new WireMarshaller<>(tClass, NO_FIELDS, true);
 
@@ -93,9 +123,12 @@ public class WireMarshaller<T> {
                 .filter(WireMarshaller::leafable)
                 .collect(Collectors.toList());
         boolean isLeaf = collect.isEmpty();
-        return overridesUnexpectedFields(tClass)
-                ? new WireMarshallerForUnexpectedFields<>(tClass, fields, isLeaf)
-                : new WireMarshaller<>(tClass, fields, isLeaf);
+        if (overridesUnexpectedFields(tClass))
+            return new WireMarshallerForUnexpectedFields<>(tClass, fields, isLeaf);
+        WireMarshaller<T> marshaller = new WireMarshaller<>(tClass, fields, isLeaf);
+        if (generate && fields.length > 0)
+            marshaller.generated = GenerateWireMarshaller.generate(tClass, marshaller);
+        return marshaller;
     }
 
     protected static boolean leafable(FieldAccess c) {
@@ -174,15 +207,6 @@ public class WireMarshaller<T> {
         return null;
     }
 
-    private static int compare(CharSequence cs0, CharSequence cs1) {
-        for (int i = 0, len = Math.min(cs0.length(), cs1.length()); i < len; i++) {
-            int cmp = Character.compare(cs0.charAt(i), cs1.charAt(i));
-            if (cmp != 0)
-                return cmp;
-        }
-        return Integer.compare(cs0.length(), cs1.length());
-    }
-
     public WireMarshaller<T> excludeFields(String... fieldNames) {
         Set<String> fieldSet = new HashSet<>(Arrays.asList(fieldNames));
         return new WireMarshaller(Stream.of(fields)
@@ -194,11 +218,17 @@ public class WireMarshaller<T> {
     public void writeMarshallable(T t, @NotNull WireOut out) {
         BytesComment bytes = out.bytesComment();
         bytes.indent(+1);
-        try {
-            for (@NotNull FieldAccess field : fields)
-                field.write(t, out);
-        } catch (IllegalAccessException e) {
-            throw new AssertionError(e);
+        if (out instanceof BinaryWire && fields.length > 0)
+            ((BinaryWire) out).writeSchemaHash(schemaHash);
+        if (generated != null) {
+            generated.writeMarshallable(t, out);
+        } else {
+            try {
+                for (@NotNull FieldAccess field : fields)
+                    field.write(t, out);
+            } catch (IllegalAccessException e) {
+                throw new AssertionError(e);
+            }
         }
         bytes.indent(-1);
     }
@@ -223,6 +253,51 @@ public class WireMarshaller<T> {
         }
     }
 
+    /**
+     * Write only the fields of <code>t</code> which differ from <code>previous</code>, without their names. Each group
+     * of up to 64 fields is preceded by an int64 bitmap of which of them follow. The fields written are then copied to
+     * <code>previous</code> so it can be passed to the next call.
+     */
+    public void writeDelta(T t, @NotNull WireOut out, @NotNull T previous) {
+        final ValueOut vout = out.getValueOut();
+        try {
+            for (int start = 0; start < fields.length; start += 64) {
+                final int end = Math.min(fields.length, start + 64);
+                long changed = 0;
+                for (int i = start; i < end; i++)
+                    if (!fields[i].isEqual(t, previous))
+                        changed |= 1L << (i - start);
+                vout.int64(changed);
+                for (; changed != 0; changed &= changed - 1) {
+                    final FieldAccess field = fields[start + Long.numberOfTrailingZeros(changed)];
+                    field.getValue(t, vout, null);
+                    field.snapshot(t, previous);
+                }
+            }
+        } catch (IllegalAccessException e) {
+            throw new AssertionError(e);
+        }
+    }
+
+    /**
+     * Read the changes written by {@link #writeDelta(Object, WireOut, Object)} into <code>t</code>, which should hold
+     * the previous message of this type. Fields not in the delta are left as they are.
+     */
+    public void readDelta(T t, @NotNull WireIn in) {
+        final ValueIn vin = in.getValueIn();
+        try {
+            for (int start = 0; start < fields.length; start += 64) {
+                long changed = vin.int64();
+                if ((changed >>> 1 >>> Math.min(63, fields.length - start - 1)) != 0)
+                    throw new IORuntimeException("Delta has more fields than the " + fields.length + " of " + t.getClass().getName());
+                for (; changed != 0; changed &= changed - 1)
+                    fields[start + Long.numberOfTrailingZeros(changed)].readValue(t, defaultValue, vin, true);
+            }
+        } catch (IllegalAccessException e) {
+            throw new AssertionError(e);
+        }
+    }
+
     public void readMarshallable(T t, @NotNull WireIn in, T defaults, boolean overwrite) {
         if (in.hintReadInputOrder())
             readMarshallableInputOrder(t, in, defaults, overwrite);
@@ -232,6 +307,12 @@ public class WireMarshaller<T> {
 
     public void readMarshallableDTOOrder(T t, @NotNull WireIn in, T defaults, boolean overwrite) {
         try {
+            if (readMarshallableBySchema(t, in, defaults, overwrite))
+                return;
+            if (generated != null) {
+                generated.readMarshallable(t, in, defaults, overwrite);
+                return;
+            }
             for (@NotNull FieldAccess field : fields) {
                 ValueIn vin = in.read(field.key);
                 field.readValue(t, defaults, vin, overwrite);
@@ -243,6 +324,8 @@ public class WireMarshaller<T> {
 
     public void readMarshallableInputOrder(T t, @NotNull WireIn in, T defaults, boolean overwrite) {
         try {
+            if (readMarshallableBySchema(t, in, defaults, overwrite))
+                return;
             StringBuilder sb = SBP.acquireStringBuilder();
             for (int i = 0; i < fields.length; i++) {
                 boolean more = in.hasMore();
@@ -259,13 +342,21 @@ public class WireMarshaller<T> {
                     }
                     if (vin == null || sb.length() <= 0)
                         return;
+                    // field names are looked up in place where possible
+                    final BinaryWire binaryIn = in instanceof BinaryWire ? (BinaryWire) in : null;
+                    FieldAccess fieldAccess = fieldMap.get(sb);
                     do {
-                        FieldAccess fieldAccess = fieldMap.get(sb);
                         if (fieldAccess == null)
                             vin.skipValue();
                         else
                             fieldAccess.readValue(t, defaults, vin, overwrite);
-                        vin = in.read(sb);
+                        if (binaryIn == null) {
+                            vin = in.read(sb);
+                            fieldAccess = fieldMap.get(sb);
+                        } else {
+                            fieldAccess = binaryIn.readField(fieldMap, sb);
+                            vin = binaryIn.getValueIn();
+                        }
                     } while (in.hasMore());
                 }
             }
@@ -274,6 +365,30 @@ public class WireMarshaller<T> {
         }
     }
 
+    /**
+     * If the writer had the same fields, read the values in order skipping the field names.
+     *
+     * @return false if the schema hash isn't present or doesn't match, and the fields should be matched by name.
+     */
+    private boolean readMarshallableBySchema(T t, @NotNull WireIn in, T defaults, boolean overwrite) throws IllegalAccessException {
+        if (!(in instanceof BinaryWire) || fields.length == 0)
+            return false;
+        BinaryWire wire = (BinaryWire) in;
+        if (!wire.readSchemaHash(schemaHash))
+            return false;
+        final long start = in.bytes().readPosition();
+        final ValueIn vin = in.getValueIn();
+        for (@NotNull FieldAccess field : fields) {
+            if (!wire.skipFieldName()) {
+                // not as written, fall back to matching by name.
+                in.bytes().readPosition(start);
+                return false;
+            }
+            field.readValue(t, defaults, vin, overwrite);
+        }
+        return true;
+    }
+
     public boolean matchesFieldName(StringBuilder sb, FieldAccess field) {
         return sb.length() == 0 || StringUtils.isEqual(field.field.getName(), sb);
     }
@@ -376,6 +491,66 @@ public class WireMarshaller<T> {
         return isLeaf;
     }
 
+    /**
+     * @return true if this uses a compiled marshaller rather than reflection.
+     */
+    public boolean isGenerated() {
+        return generated != null;
+    }
+
+    // The following are used by generated marshallers for the fields they don't specialise.
+
+    public int fieldCount() {
+        return fields.length;
+    }
+
+    public WireKey fieldKey(int index) {
+        return fields[index].key;
+    }
+
+    public long fieldOffset(int index) {
+        return fields[index].offset;
+    }
+
+    /**
+     * @return the LongConverter, IntConverter or CharConverter of a field, or null if it doesn't have one.
+     */
+    @Nullable
+    public Object fieldConverter(int index) {
+        FieldAccess field = fields[index];
+        if (field instanceof LongConversionFieldAccess)
+            return ((LongConversionFieldAccess) field).longConverter;
+        if (field instanceof IntConversionFieldAccess)
+            return ((IntConversionFieldAccess) field).intConverter;
+        if (field instanceof CharConversionFieldAccess)
+            return ((CharConversionFieldAccess) field).intConverter;
+        return null;
+    }
+
+    public void writeField(int index, T t, @NotNull WireOut out) {
+        try {
+            fields[index].write(t, out);
+        } catch (IllegalAccessException e) {
+            throw new AssertionError(e);
+        }
+    }
+
+    public void readField(int index, T t, T defaults, @NotNull ValueIn in, boolean overwrite) {
+        try {
+            fields[index].readValue(t, defaults, in, overwrite);
+        } catch (IllegalAccessException e) {
+            throw new AssertionError(e);
+        }
+    }
+
+    public void readFieldFailed(int index, T t, T defaults, @NotNull ValueIn in, long pos, Exception e) {
+        try {
+            fields[index].readFailed(t, defaults, in, pos, e);
+        } catch (IllegalAccessException iae) {
+            throw new AssertionError(iae);
+        }
+    }
+
     abstract static class FieldAccess {
         @NotNull
         final Field field;
@@ -394,7 +569,7 @@ public class WireMarshaller<T> {
             this.field = field;
 
             offset = unsafeObjectFieldOffset(field);
-            key = field::getName;
+            key = new EncodedWireKey(field.getName());
             this.isLeaf = isLeaf;
             try {
                 commentAnnotation = field.getAnnotation(Comment.class);
@@ -551,6 +726,71 @@ public class WireMarshaller<T> {
             unsafePutObject(to, offset, unsafeGetObject(from, offset));
         }
 
+        /**
+         * Copy the value so later changes to <code>from</code>, including those made in place, are not seen by
+         * <code>to</code>.
+         */
+        protected void snapshot(Object from, Object to) throws IllegalAccessException {
+            copy(from, to);
+        }
+
+        /**
+         * @return a copy of a value which can be changed in place, or the value itself if it can't be.
+         */
+        static Object snapshotOf(Object v) {
+            if (v == null)
+                return null;
+            if (v instanceof Marshallable)
+                return ObjectUtils.isImmutable(v.getClass()) == ObjectUtils.Immutability.NO
+                        ? Wires.deepCopy((Marshallable) v)
+                        : v;
+            if (v instanceof StringBuilder)
+                return new StringBuilder((StringBuilder) v);
+            if (v.getClass().isArray()) {
+                int len = Array.getLength(v);
+                Object arr = Array.newInstance(v.getClass().getComponentType(), len);
+                for (int i = 0; i < len; i++)
+                    Array.set(arr, i, snapshotOf(Array.get(v, i)));
+                return arr;
+            }
+            if (v instanceof Collection) {
+                Collection c = v instanceof SortedSet ? new TreeSet(((SortedSet) v).comparator())
+                        : v instanceof Set ? new LinkedHashSet()
+                        : new ArrayList();
+                for (Object e : (Collection) v)
+                    c.add(snapshotOf(e));
+                return c;
+            }
+            if (v instanceof Map) {
+                Map m = v instanceof SortedMap ? new TreeMap(((SortedMap) v).comparator()) : new LinkedHashMap();
+                for (Map.Entry e : ((Map<?, ?>) v).entrySet())
+                    m.put(e.getKey(), snapshotOf(e.getValue()));
+                return m;
+            }
+            return v;
+        }
+
+        /**
+         * Copy the elements of a collection into a collection of <code>to</code>'s own, never the one in
+         * <code>from</code>.
+         */
+        void snapshotCollection(Object from, Object to, Supplier<Collection> collectionSupplier) throws IllegalAccessException {
+            Collection fromColl = (Collection) field.get(from);
+            if (fromColl == null) {
+                field.set(to, null);
+                return;
+            }
+            Collection coll = (Collection) field.get(to);
+            if (coll == null || coll == fromColl) {
+                coll = collectionSupplier.get();
+                field.set(to, coll);
+            } else {
+                coll.clear();
+            }
+            for (Object e : fromColl)
+                coll.add(snapshotOf(e));
+        }
+
         protected abstract void getValue(Object o, ValueOut write, Object previous) throws IllegalAccessException;
 
         protected void readValue(Object o, Object defaults, ValueIn read, boolean overwrite) throws IllegalAccessException {
@@ -562,19 +802,22 @@ public class WireMarshaller<T> {
                 try {
                     setValue(o, read, overwrite);
                 }
-                catch (UnexpectedFieldHandlingException e) {
-                    Jvm.rethrow(e);
-                }
                 catch (Exception e) {
-                    read.wireIn().bytes().readPosition(pos);
-                    StringBuilder sb = RSBP.acquireStringBuilder();
-                    read.text(sb);
-                    Jvm.warn().on(getClass(), "Failed to read '" + this.field.getName() + "' with '" + sb + "' taking default", e);
-                    copy(defaults, o);
+                    readFailed(o, defaults, read, pos, e);
                 }
             }
         }
 
+        void readFailed(Object o, Object defaults, ValueIn read, long pos, Exception e) throws IllegalAccessException {
+            if (e instanceof UnexpectedFieldHandlingException)
+                throw Jvm.rethrow(e);
+            read.wireIn().bytes().readPosition(pos);
+            StringBuilder sb = RSBP.acquireStringBuilder();
+            read.text(sb);
+            Jvm.warn().on(getClass(), "Failed to read '" + this.field.getName() + "' with '" + sb + "' taking default", e);
+            copy(defaults, o);
+        }
+
         protected abstract void setValue(Object o, ValueIn read, boolean overwrite) throws IllegalAccessException;
 
         public abstract void getAsBytes(Object o, Bytes bytes) throws IllegalAccessException;
@@ -700,6 +943,20 @@ public class WireMarshaller<T> {
         public void getAsBytes(Object o, @NotNull Bytes bytes) throws IllegalAccessException {
             bytes.writeUtf8(String.valueOf(field.get(o)));
         }
+
+        @Override
+        protected void snapshot(Object from, Object to) throws IllegalAccessException {
+            Object v = field.get(from);
+            if (!(v instanceof Marshallable) || ObjectUtils.isImmutable(v.getClass()) != ObjectUtils.Immutability.NO) {
+                field.set(to, snapshotOf(v));
+                return;
+            }
+            Object v2 = field.get(to);
+            if (v2 == null || v2 == v || v2.getClass() != v.getClass())
+                field.set(to, Wires.deepCopy((Marshallable) v));
+            else
+                Wires.copyTo(v, v2);
+        }
     }
 
     static class StringFieldAccess extends FieldAccess {
@@ -879,6 +1136,11 @@ public class WireMarshaller<T> {
             field.set(o, arr2);
         }
 
+        @Override
+        protected void snapshot(Object from, Object to) throws IllegalAccessException {
+            field.set(to, snapshotOf(field.get(from)));
+        }
+
         @Override
         public void getAsBytes(Object o, Bytes bytes) {
             throw new UnsupportedOperationException();
@@ -996,6 +1258,14 @@ public class WireMarshaller<T> {
             }
         }
 
+        @Override
+        protected void snapshot(final Object from, final Object to) throws IllegalAccessException {
+            // never copy into the set being copied
+            if (field.get(to) == field.get(from))
+                field.set(to, null);
+            copy(from, to);
+        }
+
         @Override
         protected void setValue(final Object o, final ValueIn read, final boolean overwrite) {
             throw new UnsupportedOperationException();
@@ -1111,6 +1381,11 @@ public class WireMarshaller<T> {
             coll.addAll(fromColl);
         }
 
+        @Override
+        protected void snapshot(Object from, Object to) throws IllegalAccessException {
+            snapshotCollection(from, to, collectionSupplier);
+        }
+
         @Override
         protected void readValue(Object o, Object defaults, ValueIn read, boolean overwrite) throws IllegalAccessException {
             Collection coll = (Collection) field.get(o);
@@ -1215,6 +1490,11 @@ public class WireMarshaller<T> {
             }
         }
 
+        @Override
+        protected void snapshot(Object from, Object to) throws IllegalAccessException {
+            snapshotCollection(from, to, collectionSupplier);
+        }
+
         @Override
         protected void setValue(Object o, ValueIn read, boolean overwrite) {
             throw new UnsupportedOperationException();
@@ -1280,6 +1560,24 @@ public class WireMarshaller<T> {
             map.putAll(fromMap);
         }
 
+        @Override
+        protected void snapshot(Object from, Object to) throws IllegalAccessException {
+            Map<?, ?> fromMap = (Map) field.get(from);
+            if (fromMap == null) {
+                field.set(to, null);
+                return;
+            }
+            Map map = (Map) field.get(to);
+            if (map == null || map == fromMap) {
+                map = collectionSupplier.get();
+                field.set(to, map);
+            } else {
+                map.clear();
+            }
+            for (Map.Entry e : fromMap.entrySet())
+                map.put(e.getKey(), snapshotOf(e.getValue()));
+        }
+
         @Override
         protected void readValue(Object o, Object defaults, ValueIn read, boolean overwrite) throws IllegalAccessException {
             Map map = (Map) field.get(o);
@@ -1708,9 +2006,7 @@ public class WireMarshaller<T> {
             if (write.isBinary()) {
                 write.int64(aLong);
             } else {
-                StringBuilder sb = WSBP.acquireStringBuilder();
-                longConverter.append(sb, aLong);
-                write.rawText(sb);
+                write.writeLong(longConverter, aLong);
             }
         }
 
@@ -1720,9 +2016,7 @@ public class WireMarshaller<T> {
             if (read.isBinary()) {
                 i = read.int64();
             } else {
-                StringBuilder sb = RSBP.acquireStringBuilder();
-                read.text(sb);
-                i = longConverter.parse(sb);
+                i = read.readLong(longConverter);
             }
             unsafePutLong(o, offset, i);
         }
@@ -68,6 +68,13 @@ public interface WireOut extends WireCommon, MarshallableOut {
         return write(new MethodWireKey(name, methodId));
     }
 
+    /**
+     * Write an event id using the key's code() as the id and name() as the name where the id can't be written.
+     */
+    default ValueOut writeEventId(WireKey key) {
+        return writeEventId(key.name().toString(), key.code());
+    }
+
     /**
      * Write a key for wires that support fields.
      */
@@ -0,0 +1,102 @@
+/*
+ * Copyright 2016-2020 chronicle.software
+ *
+ * https://chronicle.software
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.openhft.chronicle.wire;
+
+import net.openhft.chronicle.bytes.Bytes;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.WritableByteChannel;
+
+/**
+ * Writes length prefixed messages, which can be read by {@link ChannelToWire} or {@link InputStreamToWire}, to a
+ * channel.
+ * <p>
+ * Each call to getWire() starts a message in a direct buffer and flush() writes all the messages since the last
+ * flush with as few writes as the channel allows, returning what a non-blocking channel couldn't accept yet.
+ */
+public class WireToChannel implements Closeable {
+    private static final boolean LITTLE_ENDIAN = ByteOrder.nativeOrder() == ByteOrder.LITTLE_ENDIAN;
+    private static final int HEADER = 4;
+
+    private final Bytes<ByteBuffer> bytes;
+    private final Wire wire;
+    private final WritableByteChannel channel;
+    private long headerPosition = -1;
+
+    public WireToChannel(WireType wireType, WritableByteChannel channel) {
+        this(wireType, channel, 64 << 10);
+    }
+
+    public WireToChannel(WireType wireType, WritableByteChannel channel, int capacity) {
+        this.bytes = Bytes.elasticByteBuffer(capacity);
+        this.wire = wireType.apply(bytes);
+        this.channel = channel;
+    }
+
+    /**
+     * Start a new message, completing any previous one.
+     */
+    public Wire getWire() {
+        endMessage();
+        headerPosition = bytes.writePosition();
+        bytes.writeInt(0);
+        return wire;
+    }
+
+    private void endMessage() {
+        if (headerPosition < 0)
+            return;
+        int length = Math.toIntExact(bytes.writePosition() - headerPosition - HEADER);
+        bytes.writeInt(headerPosition, LITTLE_ENDIAN ? Integer.reverseBytes(length) : length);
+        headerPosition = -1;
+    }
+
+    /**
+     * Write all the messages since the last flush, or as much of them as the channel will accept.
+     * <p>
+     * A blocking channel accepts everything. A non-blocking channel stops accepting when its buffer is full, in which
+     * case the rest is kept and written first by the next flush, so the caller can wait for OP_WRITE before calling
+     * it again rather than spinning.
+     *
+     * @return the number of bytes still to be written.
+     */
+    public long flush() throws IOException {
+        endMessage();
+        final ByteBuffer bb = bytes.underlyingObject();
+        bb.limit(Math.toIntExact(bytes.writePosition()));
+        bb.position(Math.toIntExact(bytes.readPosition()));
+        while (bb.remaining() > 0) {
+            if (channel.write(bb) <= 0)
+                break;
+        }
+        if (bb.remaining() > 0) {
+            bytes.readPosition(bb.position());
+            return bb.remaining();
+        }
+        wire.clear();
+        return 0;
+    }
+
+    @Override
+    public void close() {
+        bytes.releaseLast();
+    }
+}
@@ -273,7 +273,7 @@ public enum WireType implements Function<Bytes, Wire>, LicenceCheck {
         @NotNull
         @Override
         public Wire apply(@NotNull Bytes bytes) {
-            return new BinaryWire(bytes, false, false, false, COMPRESSED_SIZE, "lzw", true);
+            return new BinaryWire(bytes, false, false, false, COMPRESSED_SIZE, COMPRESSION, true);
         }
 
         @NotNull
@@ -353,6 +353,8 @@ public enum WireType implements Function<Bytes, Wire>, LicenceCheck {
 
     static final BytesStore PREABLE = BytesStore.from("--- ");
     private static final int COMPRESSED_SIZE = Integer.getInteger("WireType.compressedSize", 128);
+    // lzw unless lz4 or another WireCompression is chosen, as existing readers expect.
+    private static final String COMPRESSION = System.getProperty("WireType.compression", "lzw");
     private static final boolean IS_DELTA_AVAILABLE = isDeltaAvailable();
     private static final boolean IS_DEFAULT_ZERO_AVAILABLE = isDefaultZeroAvailable();
 
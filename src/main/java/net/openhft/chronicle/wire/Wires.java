@@ -314,6 +314,17 @@ public enum Wires {
         return bytes;
     }
 
+    /**
+     * @return a buffer for decompressing a field which isn't shared with callers of {@link #acquireBytes()}
+     */
+    @NotNull
+    static Bytes<?> acquireUncompressedBytes() {
+        Bytes bytes = ThreadLocalHelper.getTL(WireInternal.UNCOMPRESSED_TL,
+                Wires::unmonitoredDirectBytes);
+        bytes.clear();
+        return bytes;
+    }
+
     @NotNull
     public static Wire acquireBinaryWire() {
         Wire wire = ThreadLocalHelper.getTL(WireInternal.BINARY_WIRE_TL,
@@ -366,8 +377,11 @@ public enum Wires {
 
     @NotNull
     public static <T extends Marshallable> T deepCopy(@NotNull T marshallable) {
-        Wire wire = acquireBinaryWire();
         @NotNull T t = (T) ObjectUtils.newInstance(marshallable.getClass());
+        // copy field to field where the class has no custom serialization
+        if (FieldCopier.copy(marshallable, t))
+            return t;
+        Wire wire = acquireBinaryWire();
         boolean useSelfDescribing = t.usesSelfDescribingMessage() || !(t instanceof BytesMarshallable);
         if (useSelfDescribing) {
             marshallable.writeMarshallable(wire);
@@ -381,6 +395,8 @@ public enum Wires {
 
     @NotNull
     public static <T> T copyTo(Object source, @NotNull T target) {
+        if (source instanceof Marshallable && target instanceof Marshallable && FieldCopier.copy(source, target))
+            return target;
         Wire wire = acquireBinaryWire();
         wire.getValueOut().object(source);
         wire.getValueIn().typePrefix(); // drop the type prefix.
@@ -625,6 +641,15 @@ public enum Wires {
         return wire;
     }
 
+    /**
+     * Create a flyweight for an interface of getters which reads each field in place from a BinaryWire message
+     * when it is called. The flyweight implements {@link BinaryFlyweight} to bind it to a message.
+     */
+    @NotNull
+    public static <F> F binaryFlyweight(@NotNull Class<F> tClass) {
+        return GenerateBinaryFlyweight.newInstance(tClass);
+    }
+
     enum SerializeEnum implements Function<Class, SerializationStrategy> {
         INSTANCE;
 
@@ -17,6 +17,8 @@
  */
 package net.openhft.chronicle.wire;
 
+import net.openhft.chronicle.bytes.Bytes;
+import net.openhft.chronicle.bytes.BytesStore;
 import net.openhft.chronicle.core.io.IOTools;
 
 import java.io.IOException;
@@ -70,6 +72,43 @@ public class WordsLongConverter implements LongConverter {
         return value;
     }
 
+    private static boolean isLetter(int ch) {
+        return (ch >= 'a' && ch <= 'z') || (ch >= 'A' && ch <= 'Z') || (ch >= '0' && ch <= '9') || ch == '_';
+    }
+
+    @Override
+    public long parse(BytesStore<?, ?> bytes, long offset, int length) {
+        long start = offset;
+        long end = offset + length;
+        while (start < end && bytes.readUnsignedByte(start) <= ' ')
+            start++;
+        while (end > start && bytes.readUnsignedByte(end - 1) <= ' ')
+            end--;
+        if (start == end)
+            throw new IllegalArgumentException("Unknown word''");
+        // like split(), trailing separators don't add empty words.
+        while (end > start && !isLetter(bytes.readUnsignedByte(end - 1)))
+            end--;
+
+        StringBuilder sb = Wires.acquireStringBuilder();
+        long value = 0;
+        int shift = 0;
+        for (long pos = start; start < end; pos++) {
+            if (pos < end && isLetter(bytes.readUnsignedByte(pos)))
+                continue;
+            sb.setLength(0);
+            for (long i = start; i < pos; i++)
+                sb.append((char) bytes.readUnsignedByte(i));
+            Integer id = WORD_ID.get(WireInternal.INTERNER.intern(sb));
+            if (id == null)
+                throw new IllegalArgumentException("Unknown word'" + sb + "'");
+            value += id.longValue() << shift;
+            shift += 11;
+            start = pos + 1;
+        }
+        return value;
+    }
+
     @Override
     public void append(StringBuilder text, long value) {
         String asep = "";
@@ -80,4 +119,15 @@ public class WordsLongConverter implements LongConverter {
             asep = this.sep;
         } while (value > 0);
     }
+
+    @Override
+    public void append(Bytes<?> text, long value) {
+        String asep = "";
+        do {
+            text.append(asep);
+            text.append(WORDS[(int) (value & 2047)]);
+            value >>>= 11;
+            asep = this.sep;
+        } while (value > 0);
+    }
 }
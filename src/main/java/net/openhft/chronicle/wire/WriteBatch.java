@@ -0,0 +1,38 @@
+/*
+ * Copyright 2016-2020 chronicle.software
+ *
+ * https://chronicle.software
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.openhft.chronicle.wire;
+
+import java.io.Closeable;
+
+/**
+ * A batch of documents started by {@link MarshallableOut#writingBatch()} which readers see when it is closed.
+ */
+@FunctionalInterface
+public interface WriteBatch extends Closeable {
+    /**
+     * A batch for wires which publish each document as it is closed.
+     */
+    WriteBatch NONE = () -> {
+    };
+
+    /**
+     * Publish the documents written since the batch was started.
+     */
+    @Override
+    void close();
+}
@@ -17,38 +17,185 @@
  */
 package net.openhft.chronicle.wire;
 
+import org.jetbrains.annotations.NotNull;
+
 import java.util.Arrays;
 
-public class YamlKeys {
+/**
+ * The keys of a mapping which were skipped while looking for another key, so they can be found again without
+ * re-reading every key. Keys are indexed by a hash of their text, so only the keys which might match are re-read.
+ * <p>
+ * A key which has been read is marked as removed, the keys are only moved down once enough of them have been removed,
+ * or when this is written out.
+ */
+public class YamlKeys extends SelfDescribingMarshallable {
     private static final long[] NO_OFFSETS = {};
+    private static final int[] NO_INTS = {};
+    private static final long REMOVED = -1;
+    // the hash of a key which could match any name
+    private static final int ANY = 0;
 
+    // the number of keys not yet removed
     int count = 0;
     long[] offsets = NO_OFFSETS;
+    // the number of offsets used, including those removed
+    transient int size = 0;
+    // the hash of each key, see hash(CharSequence)
+    transient int[] hashes = NO_INTS;
+    // the index + 1 of the first key in each bucket and of the next key in the same bucket, 0 is none.
+    transient int[] buckets = NO_INTS;
+    transient int[] nextInBucket = NO_INTS;
+    // empty keys match any name so while there are any, all keys are candidates
+    transient int anyKeys = 0;
+
+    /**
+     * @return the hash of a non empty key, never zero.
+     */
+    public static int hash(CharSequence key) {
+        int h = 0;
+        for (int i = 0; i < key.length(); i++)
+            h = 31 * h + key.charAt(i);
+        h ^= h >>> 16;
+        return h == ANY ? 1 : h;
+    }
 
+    /**
+     * Add a key without its text, it is a candidate for every name.
+     */
     public void push(long offset) {
-        if (count == offsets.length) {
-            int size = Math.max(7, offsets.length * 2);
-            offsets = Arrays.copyOf(offsets, size);
+        push(offset, ANY);
+    }
+
+    public void push(long offset, CharSequence key) {
+        push(offset, key.length() == 0 ? ANY : hash(key));
+    }
+
+    private void push(long offset, int hash) {
+        // reuse the space of the keys removed if they are at least half of them
+        if (size == offsets.length && count * 2 <= size)
+            compact();
+        if (size == offsets.length) {
+            int length = Math.max(7, offsets.length * 2);
+            offsets = Arrays.copyOf(offsets, length);
+            hashes = Arrays.copyOf(hashes, length);
+            nextInBucket = Arrays.copyOf(nextInBucket, length);
+        }
+        if (size * 2 >= buckets.length)
+            rehash(Math.max(16, buckets.length * 2));
+        if (hash == ANY)
+            anyKeys++;
+        hashes[size] = hash;
+        offsets[size] = offset;
+        addToBucket(size++);
+        count++;
+    }
+
+    private void rehash(int length) {
+        buckets = new int[length];
+        for (int i = 0; i < size; i++)
+            if (offsets[i] != REMOVED)
+                addToBucket(i);
+    }
+
+    // append so keys with the same hash are found in the order they were pushed
+    private void addToBucket(int index) {
+        nextInBucket[index] = 0;
+        int b = hashes[index] & (buckets.length - 1);
+        if (buckets[b] == 0) {
+            buckets[b] = index + 1;
+            return;
         }
-        offsets[count++] = offset;
+        int i = buckets[b] - 1;
+        while (nextInBucket[i] != 0)
+            i = nextInBucket[i] - 1;
+        nextInBucket[i] = index + 1;
     }
 
+    /**
+     * @return the index of the first key remaining which might have this hash, or -1 if there isn't one.
+     */
+    public int first(int hash) {
+        if (anyKeys > 0)
+            return remaining(0);
+        return buckets.length == 0 ? -1 : matching(buckets[hash & (buckets.length - 1)] - 1, hash);
+    }
+
+    /**
+     * @return the index of the next key remaining after <code>index</code> which might have this hash, or -1.
+     */
+    public int next(int index, int hash) {
+        if (anyKeys > 0)
+            return remaining(index + 1);
+        return matching(nextInBucket[index] - 1, hash);
+    }
+
+    private int remaining(int i) {
+        while (i < size && offsets[i] == REMOVED)
+            i++;
+        return i < size ? i : -1;
+    }
+
+    private int matching(int i, int hash) {
+        while (i >= 0 && (hashes[i] != hash || offsets[i] == REMOVED))
+            i = nextInBucket[i] - 1;
+        return i;
+    }
+
+    /**
+     * @return the number of keys not yet removed.
+     */
     public int count() {
         return count;
     }
 
+    /**
+     * @return the offset of each key by index, a removed key is -1.
+     */
     public long[] offsets() {
         return offsets;
     }
 
     public void reset() {
+        if (size > 0)
+            Arrays.fill(buckets, 0);
         count = 0;
+        size = 0;
+        anyKeys = 0;
     }
 
+    /**
+     * Remove a key once it has been read, the index of the other keys doesn't change until the next push.
+     */
     public void removeIndex(int i) {
+        if (offsets[i] == REMOVED)
+            return;
+        offsets[i] = REMOVED;
         count--;
-        int length = count - i;
-        if (length > 0)
-            System.arraycopy(offsets, i + 1, offsets, i, length);
+        if (hashes[i] == ANY)
+            anyKeys--;
+    }
+
+    /**
+     * Move the keys remaining down over those removed.
+     */
+    void compact() {
+        if (count == size)
+            return;
+        int j = 0;
+        for (int i = 0; i < size; i++) {
+            if (offsets[i] == REMOVED)
+                continue;
+            offsets[j] = offsets[i];
+            hashes[j] = hashes[i];
+            j++;
+        }
+        size = j;
+        rehash(buckets.length);
+    }
+
+    @Override
+    public void writeMarshallable(@NotNull WireOut wire) {
+        compact();
+        super.writeMarshallable(wire);
     }
 }
@@ -687,6 +687,15 @@ public class YamlTokeniser {
         in.readPosition(pos);
     }
 
+    /**
+     * @return the text as a number if it is a plain decimal such as 1234.5678, otherwise NaN.
+     */
+    double plainDecimal() {
+        if (blockEnd < 0 || blockStart == blockEnd || NO_TEXT.contains(last))
+            return Double.NaN;
+        return PlainDecimal.parse(in, blockStart, blockEnd);
+    }
+
     public void push(YamlToken token) {
         pushed.add(token);
     }
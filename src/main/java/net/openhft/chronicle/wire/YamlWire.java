@@ -58,7 +58,6 @@ public class YamlWire extends AbstractWire implements Wire {
     static final String SEQ_MAP = "!seqmap";
     static final String NULL = "!null \"\"";
     static final BitSet STARTS_QUOTE_CHARS = new BitSet();
-    static final BitSet QUOTE_CHARS = new BitSet();
     static final BytesStore COMMA_SPACE = BytesStore.from(", ");
     static final BytesStore COMMA_NEW_LINE = BytesStore.from(",\n");
     static final BytesStore NEW_LINE = BytesStore.from("\n");
@@ -72,8 +71,6 @@ public class YamlWire extends AbstractWire implements Wire {
         IOTools.unmonitor(TYPE);
         for (char ch : "?%&@`0123456789+- ',#:{}[]|>!\\".toCharArray())
             STARTS_QUOTE_CHARS.set(ch);
-        for (char ch : "?,#:{}[]|>\\".toCharArray())
-            QUOTE_CHARS.set(ch);
         // make sure it has loaded.
         WireInternal.INTERNER.valueCount();
     }
@@ -441,14 +438,18 @@ public class YamlWire extends AbstractWire implements Wire {
     public ValueIn read(String keyName) {
         startEventIfTop();
 
-        // check the keys we have already seen first.
+        // check the keys we have already seen first, only those with the same hash are re-read.
         YamlKeys keys = yt.keys();
-        int count = keys.count();
-        if (count > 0) {
+        int hash = 0, i = -1;
+        if (keys.count() > 0) {
+            hash = YamlKeys.hash(keyName);
+            i = keys.first(hash);
+        }
+        if (i >= 0) {
             long pos = yt.lastKeyPosition();
             long[] offsets = keys.offsets();
             int contextSize = yt.contextSize();
-            for (int i = 0; i < count; i++) {
+            for (; i >= 0; i = keys.next(i, hash)) {
                 yt.revertToContext(contextSize);
                 YamlToken next = yt.rereadAndNext(offsets[i]);
                 assert next == YamlToken.MAPPING_KEY;
@@ -469,7 +470,7 @@ public class YamlWire extends AbstractWire implements Wire {
             if (checkForMatch(keyName))
                 return valueIn;
 
-            keys.push(lastKeyPosition);
+            keys.push(lastKeyPosition, sb);
             valueIn.consumeAny(minIndent);
         }
 
@@ -610,7 +611,14 @@ public class YamlWire extends AbstractWire implements Wire {
     }
 
     protected void escape0(@NotNull CharSequence s, @NotNull Quotes quotes) {
-        for (int i = 0; i < s.length(); i++) {
+        final int length = s.length();
+        for (int i = 0; i < length; i++) {
+            // write runs of characters which don't need escaping in bulk
+            final int end = TextScanner.plainEnd(s, i);
+            TextScanner.writePlain(bytes, s, i, end);
+            if (end >= length)
+                break;
+            i = end;
             char ch = s.charAt(i);
             switch (ch) {
                 case '\0':
@@ -700,12 +708,12 @@ public class YamlWire extends AbstractWire implements Wire {
         if (STARTS_QUOTE_CHARS.get(s.charAt(0)) ||
                 Character.isWhitespace(s.charAt(s.length() - 1)))
             return Quotes.DOUBLE;
-        for (int i = 0; i < s.length(); i++) {
-            char ch = s.charAt(i);
-            if (QUOTE_CHARS.get(ch) || ch < ' ' || ch > 127)
+        final int length = s.length();
+        for (int i = TextScanner.unquotedEnd(s, 0); i < length; i = TextScanner.unquotedEnd(s, i + 1)) {
+            // only a double quote can be written in single quotes, anything else found needs double quotes
+            if (s.charAt(i) != '"')
                 return Quotes.DOUBLE;
-            if (ch == '"')
-                quotes = Quotes.SINGLE;
+            quotes = Quotes.SINGLE;
         }
         return quotes;
     }
@@ -1252,7 +1260,7 @@ public class YamlWire extends AbstractWire implements Wire {
             if (af >= 1e-3 && af < 1e6)
                 bytes.append(f);
             else
-                bytes.append(floatToString(f));
+                appendFloat(f);
             elementSeparator();
 
             return YamlWire.this;
@@ -1290,19 +1298,19 @@ public class YamlWire extends AbstractWire implements Wire {
                     bytes.append(d);
                 }
             } else {
-                bytes.append(doubleToString(d));
+                appendDouble(d);
             }
             elementSeparator();
 
             return YamlWire.this;
         }
 
-        protected String doubleToString(double d) {
-            return Double.toString(d);
+        protected void appendDouble(double d) {
+            ShortestDecimal.appendDouble(bytes, d);
         }
 
-        protected String floatToString(float f) {
-            return Float.toString(f);
+        protected void appendFloat(float f) {
+            ShortestDecimal.appendFloat(bytes, f);
         }
 
         @NotNull
@@ -2166,7 +2174,9 @@ public class YamlWire extends AbstractWire implements Wire {
 
         public double getADouble() {
             if (yt.current() == YamlToken.TEXT) {
-                double v = Double.parseDouble(yt.text());
+                double v = yt.plainDecimal();
+                if (Double.isNaN(v))
+                    v = Double.parseDouble(yt.text());
                 yt.next();
                 return v;
             } else {
@@ -0,0 +1,97 @@
+package net.openhft.chronicle.wire;
+
+import org.junit.Test;
+
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.time.zone.ZoneOffsetTransition;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+
+public class AbstractTimestampLongConverterTest extends WireTestCommon {
+    private static final String[] ZONES = {"UTC", "Z", "Europe/London", "America/New_York", "Asia/Kolkata", "Australia/Lord_Howe"};
+
+    private static List<AbstractTimestampLongConverter> converters(String zone) {
+        List<AbstractTimestampLongConverter> list = new ArrayList<>();
+        list.add(new MilliTimestampLongConverter(zone));
+        list.add(new MicroTimestampLongConverter(zone));
+        list.add(new NanoTimestampLongConverter(zone));
+        return list;
+    }
+
+    private static List<Long> epochSeconds(String zone) {
+        List<Long> seconds = new ArrayList<>();
+        Random random = new Random(zone.hashCode());
+        for (int i = 0; i < 500; i++)
+            seconds.add(random.nextInt(Integer.MAX_VALUE) + 0L);
+        // either side of each transition for a few years
+        ZoneOffsetTransition t = ZoneId.of(zone).getRules().nextTransition(Instant.ofEpochSecond(1_500_000_000L));
+        for (int i = 0; i < 8 && t != null; i++) {
+            for (long s = -7200; s <= 7200; s += 900)
+                seconds.add(t.toEpochSecond() + s);
+            t = ZoneId.of(zone).getRules().nextTransition(t.getInstant());
+        }
+        return seconds;
+    }
+
+    @Test
+    public void sameAsFormatter() {
+        StringBuilder fast = new StringBuilder();
+        StringBuilder slow = new StringBuilder();
+        long[] fractions = {0, 1, 10, 123, 500};
+        for (String zone : ZONES) {
+            for (AbstractTimestampLongConverter converter : converters(zone)) {
+                long perSecond = converter.parse("1970-01-01T00:00:01Z");
+                for (long second : epochSeconds(zone)) {
+                    for (long fraction : fractions) {
+                        long value = second * perSecond + fraction * perSecond / 1000;
+                        fast.setLength(0);
+                        converter.append(fast, value);
+                        slow.setLength(0);
+                        converter.appendWithFormatter(slow, value);
+                        assertEquals(slow.toString(), fast.toString());
+                        assertEquals(fast.toString(), value, converter.parse(fast));
+
+                        // without the offset, the time is taken to be local.
+                        String local = fast.toString().replaceAll("(Z|[+-]\\d\\d:\\d\\d)$", "");
+                        assertEquals(local, converter.parseWithFormatter(local), converter.parse(local));
+                    }
+                }
+            }
+        }
+    }
+
+    @Test
+    public void unusualFormsUseFormatter() {
+        MicroTimestampLongConverter mtlc = new MicroTimestampLongConverter("UTC");
+        assertEquals(mtlc.parse("2020-09-18T01:02:03.000001"), mtlc.parse("2020/09/18T01:02:03.000001"));
+        assertEquals(mtlc.parseWithFormatter("2020-02-30T01:02:03"), mtlc.parse("2020-02-30T01:02:03"));
+        assertEquals(mtlc.parse("2020-09-18T01:02:03Z"), mtlc.parse("2020-09-18T02:02:03+01:00"));
+        assertEquals(mtlc.parse("2020-09-18T01:02:03Z"), mtlc.parse("2020-09-18T00:32:03-00:30"));
+        assertEquals(1600390923000000L, mtlc.parse("1600390923000000"));
+    }
+
+    @Test
+    public void subclassesUseTheirHooks() {
+        MilliTimestampLongConverter shifted = new MilliTimestampLongConverter("UTC") {
+            @Override
+            protected long parseFormattedDate(ZonedDateTime value) {
+                return super.parseFormattedDate(value) + 1;
+            }
+        };
+        MilliTimestampLongConverter mtlc = new MilliTimestampLongConverter("UTC");
+        assertEquals(mtlc.parse("2020-09-18T01:02:03.004") + 1, shifted.parse("2020-09-18T01:02:03.004"));
+    }
+
+    @Test
+    public void epochDay() {
+        for (long day = -800_000; day < 3_000_000; day += 997) {
+            java.time.LocalDate date = java.time.LocalDate.ofEpochDay(day);
+            assertEquals(day, AbstractTimestampLongConverter.epochDay(date.getYear(), date.getMonthValue(), date.getDayOfMonth()));
+        }
+    }
+}
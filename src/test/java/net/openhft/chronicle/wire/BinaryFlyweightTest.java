@@ -0,0 +1,88 @@
+package net.openhft.chronicle.wire;
+
+import net.openhft.chronicle.bytes.Bytes;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class BinaryFlyweightTest extends WireTestCommon {
+
+    private static void writeOrder(Wire wire, long orderId, String symbol) {
+        VanillaMessageHistory history = new VanillaMessageHistory();
+        history.addSource(1, 128);
+        try (DocumentContext dc = wire.writingDocument()) {
+            dc.wire().writeEventName(MethodReader.HISTORY).marshallable(history);
+            dc.wire().write("orderId").int64(orderId);
+            dc.wire().write("comment").text("ignored by the view");
+            dc.wire().write("symbol").text(symbol);
+            dc.wire().write("clOrdId").text("clOrdId-" + orderId);
+            dc.wire().write("price").float64(1.25);
+            dc.wire().write("side").character('B');
+        }
+    }
+
+    @Test
+    public void readsFieldsInPlace() {
+        Wire wire = new BinaryWire(Bytes.allocateElasticOnHeap());
+        writeOrder(wire, 1001, "EURUSD");
+        writeOrder(wire, 1002, "GBPUSD");
+
+        OrderView view = Wires.binaryFlyweight(OrderView.class);
+        for (long orderId = 1001; orderId <= 1002; orderId++) {
+            try (DocumentContext dc = wire.readingDocument()) {
+                assertTrue(dc.isPresent());
+                long start = dc.wire().bytes().readPosition();
+                view.bind(dc);
+                assertEquals(orderId, view.orderId());
+                assertEquals(orderId == 1001 ? "EURUSD" : "GBPUSD", view.symbol());
+                assertEquals("clOrdId-" + orderId, view.clOrdId().toString());
+                assertEquals(1.25, view.price(), 0.0);
+                assertEquals('B', view.side());
+                assertEquals(0, view.missing());
+                assertNull(view.account());
+                MessageHistory history = view.history();
+                assertEquals(1, history.sources());
+                assertEquals(128, history.sourceIndex(0));
+                // repeat calls use the index
+                assertEquals(orderId, view.orderId());
+                assertEquals(start, dc.wire().bytes().readPosition());
+            }
+        }
+        wire.bytes().releaseLast();
+    }
+
+    @Test
+    public void reusesCharSequence() {
+        Wire wire = new BinaryWire(Bytes.allocateElasticOnHeap());
+        writeOrder(wire, 1, "A");
+        OrderView view = Wires.binaryFlyweight(OrderView.class);
+        try (DocumentContext dc = wire.readingDocument()) {
+            view.bind(dc);
+            assertSame(view.clOrdId(), view.clOrdId());
+        }
+        wire.bytes().releaseLast();
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void notBound() {
+        Wires.binaryFlyweight(OrderView.class).orderId();
+    }
+
+    interface OrderView extends BinaryFlyweight {
+        MessageHistory history();
+
+        long orderId();
+
+        String symbol();
+
+        CharSequence clOrdId();
+
+        double price();
+
+        char side();
+
+        int missing();
+
+        String account();
+    }
+}
@@ -540,6 +540,11 @@ public class BinaryWire2Test extends WireTestCommon {
         testCompression("lzw");
     }
 
+    @Test
+    public void testLz4Compression() {
+        testCompression("lz4");
+    }
+
     public void testCompression(String comp) {
         bytes.clear();
         @NotNull Wire wire = new BinaryWire(bytes, false, false, false, 32, comp, false);
@@ -0,0 +1,90 @@
+package net.openhft.chronicle.wire;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.LongAdder;
+
+import static org.junit.Assert.assertEquals;
+
+public class CSVLoaderTest extends WireTestCommon {
+    private static final int ROWS = 1000;
+    private File file;
+
+    @Before
+    public void writeFile() throws IOException {
+        file = Files.createTempFile("prices-", ".csv").toFile();
+        file.deleteOnExit();
+        StringBuilder sb = new StringBuilder("symbol,company,price,volume\n");
+        for (int i = 0; i < ROWS; i++)
+            sb.append("S").append(i)
+                    .append(i % 3 == 0 ? ",\"Acme, Inc\"," : ",Widgets,")
+                    .append(i).append(".25,")
+                    .append(i * 100L).append('\n');
+        Files.write(file.toPath(), sb.toString().getBytes(StandardCharsets.ISO_8859_1));
+    }
+
+    @After
+    public void deleteFile() {
+        file.delete();
+    }
+
+    @Test
+    public void loadInParallel() throws IOException {
+        LongAdder volume = new LongAdder();
+        LongAdder acme = new LongAdder();
+        CSVLoader loader = new CSVLoader().chunkSize(512);
+        long rows = loader.load(file.getPath(), Price.class, p -> {
+            volume.add(p.volume);
+            if (p.company.equals("Acme, Inc"))
+                acme.increment();
+        });
+        assertEquals(ROWS, rows);
+        assertEquals(Arrays.asList("symbol", "company", "price", "volume"), loader.header());
+        assertEquals(100L * ROWS * (ROWS - 1) / 2, volume.sum());
+        assertEquals((ROWS + 2) / 3, acme.sum());
+    }
+
+    @Test
+    public void loadInOrder() throws IOException {
+        List<Price> prices = new ArrayList<>();
+        long rows = new CSVLoader().chunkSize(300).ordered(true).load(file.getPath(), Price.class, prices::add);
+        assertEquals(ROWS, rows);
+        assertEquals(ROWS, prices.size());
+        for (int i = 0; i < ROWS; i++) {
+            Price price = prices.get(i);
+            assertEquals("S" + i, price.symbol);
+            assertEquals(i + 0.25, price.price, 0.0);
+            assertEquals(i * 100L, price.volume);
+        }
+    }
+
+    @Test
+    public void rowsAreNotSplitInsideQuotes() throws IOException {
+        String text = "a,b\n\"x\ny\",1\n\"p\\\"\nq\",2\nz,3\n";
+        Files.write(file.toPath(), text.getBytes(StandardCharsets.ISO_8859_1));
+        try (FileChannel channel = FileChannel.open(file.toPath())) {
+            long size = channel.size();
+            assertEquals(4, CSVLoader.nextRowStart(channel, 0, 1, size, 3));
+            assertEquals(text.indexOf(",1\n") + 3, CSVLoader.nextRowStart(channel, 4, 5, size, 3));
+            assertEquals(text.indexOf(",2\n") + 3, CSVLoader.nextRowStart(channel, 4, text.indexOf(",1\n") + 4, size, 3));
+            assertEquals(size, CSVLoader.nextRowStart(channel, 4, size, size, 3));
+        }
+    }
+
+    static class Price extends SelfDescribingMarshallable {
+        String symbol;
+        String company;
+        double price;
+        long volume;
+    }
+}
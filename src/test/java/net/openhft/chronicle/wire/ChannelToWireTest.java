@@ -0,0 +1,151 @@
+package net.openhft.chronicle.wire;
+
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.nio.channels.WritableByteChannel;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+
+public class ChannelToWireTest extends WireTestCommon {
+    private static final int MESSAGES = 1000;
+
+    private static void writeMessages(WireToChannel wtc) throws IOException {
+        for (int i = 0; i < MESSAGES; i++) {
+            Wire wire = wtc.getWire();
+            wire.write("id").int32(i);
+            wire.write("text").text("message-" + i);
+            // flush in batches of varying size
+            if (i % 7 == 0)
+                wtc.flush();
+        }
+        wtc.flush();
+    }
+
+    private static void readMessages(ChannelToWire ctw) throws IOException {
+        for (int i = 0; i < MESSAGES; i++) {
+            Wire wire = ctw.readOne();
+            assertEquals(i, wire.read("id").int32());
+            assertEquals("message-" + i, wire.read("text").text());
+        }
+    }
+
+    @Test
+    public void viaStreams() throws IOException {
+        for (WireType wireType : new WireType[]{WireType.BINARY, WireType.TEXT}) {
+            ByteArrayOutputStream baos = new ByteArrayOutputStream();
+            try (WireToChannel wtc = new WireToChannel(wireType, Channels.newChannel(baos))) {
+                writeMessages(wtc);
+            }
+            // a small buffer so messages span reads
+            try (ChannelToWire ctw = new ChannelToWire(wireType, Channels.newChannel(new ByteArrayInputStream(baos.toByteArray())), 64)) {
+                readMessages(ctw);
+                try {
+                    ctw.readOne();
+                    fail();
+                } catch (EOFException expected) {
+                    // end of stream
+                }
+            }
+        }
+    }
+
+    @Test
+    public void compatibleWithStreams() throws IOException {
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        WireToOutputStream wtos = new WireToOutputStream(WireType.BINARY, baos);
+        wtos.getWire().write("id").int32(1);
+        wtos.flush();
+        try (WireToChannel wtc = new WireToChannel(WireType.BINARY, Channels.newChannel(baos))) {
+            wtc.getWire().write("id").int32(2);
+            wtc.flush();
+        }
+        byte[] written = baos.toByteArray();
+
+        try (ChannelToWire ctw = new ChannelToWire(WireType.BINARY, Channels.newChannel(new ByteArrayInputStream(written)))) {
+            assertEquals(1, ctw.readOne().read("id").int32());
+            assertEquals(2, ctw.readOne().read("id").int32());
+        }
+        InputStreamToWire istw = new InputStreamToWire(WireType.BINARY, new ByteArrayInputStream(written));
+        assertEquals(1, istw.readOne().read("id").int32());
+        assertEquals(2, istw.readOne().read("id").int32());
+    }
+
+    @Test
+    public void partialWritesAreKept() throws IOException {
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        WritableByteChannel out = Channels.newChannel(baos);
+        int[] allowed = {0};
+        // accepts at most allowed bytes like a non-blocking channel with a full buffer
+        WritableByteChannel limited = new WritableByteChannel() {
+            @Override
+            public int write(ByteBuffer src) throws IOException {
+                int n = Math.min(allowed[0], src.remaining());
+                allowed[0] -= n;
+                ByteBuffer slice = src.duplicate();
+                slice.limit(slice.position() + n);
+                out.write(slice);
+                src.position(src.position() + n);
+                return n;
+            }
+
+            @Override
+            public boolean isOpen() {
+                return true;
+            }
+
+            @Override
+            public void close() {
+            }
+        };
+        try (WireToChannel wtc = new WireToChannel(WireType.BINARY, limited)) {
+            for (int i = 0; i < MESSAGES; i++) {
+                Wire wire = wtc.getWire();
+                wire.write("id").int32(i);
+                wire.write("text").text("message-" + i);
+                if (i % 7 == 0) {
+                    allowed[0] = 10;
+                    wtc.flush();
+                }
+            }
+            allowed[0] = Integer.MAX_VALUE;
+            assertEquals(0, wtc.flush());
+        }
+        try (ChannelToWire ctw = new ChannelToWire(WireType.BINARY, Channels.newChannel(new ByteArrayInputStream(baos.toByteArray())))) {
+            readMessages(ctw);
+        }
+    }
+
+    @Test
+    public void viaSocketChannel() throws IOException {
+        try (ServerSocketChannel ssc = ServerSocketChannel.open()) {
+            ssc.bind(new InetSocketAddress("localhost", 0));
+            try (SocketChannel client = SocketChannel.open(ssc.getLocalAddress());
+                 SocketChannel server = ssc.accept();
+                 WireToChannel wtc = new WireToChannel(WireType.BINARY, client);
+                 ChannelToWire ctw = new ChannelToWire(WireType.BINARY, server)) {
+                Thread writer = new Thread(() -> {
+                    try {
+                        writeMessages(wtc);
+                    } catch (IOException e) {
+                        throw new AssertionError(e);
+                    }
+                });
+                writer.start();
+                readMessages(ctw);
+                writer.join();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+}
@@ -1,8 +1,10 @@
 package net.openhft.chronicle.wire;
 
+import net.openhft.chronicle.bytes.Bytes;
 import org.junit.Test;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
 
 public class CharSequenceObjectMapTest extends WireTestCommon {
     @Test
@@ -15,4 +17,52 @@ public class CharSequenceObjectMapTest extends WireTestCommon {
             assertEquals("" + i, map.get("" + i));
         }
     }
-}
\ No newline at end of file
+
+    @Test
+    public void growsAndReplaces() {
+        CharSequenceObjectMap<Integer> map = new CharSequenceObjectMap<>(4);
+        for (int i = 0; i < 1000; i++)
+            map.put("key" + i, i);
+        map.put(new StringBuilder("key10"), -10);
+        assertEquals(1000, map.size());
+        for (int i = 0; i < 1000; i++)
+            assertEquals(i == 10 ? -10 : i, (int) map.get(new StringBuilder("key" + i)));
+        assertNull(map.get("key1000"));
+        assertNull(map.get(""));
+    }
+
+    @Test
+    public void getFromBytes() {
+        CharSequenceObjectMap<String> map = new CharSequenceObjectMap<>(8);
+        map.put("alpha", "a");
+        map.put("beta", "b");
+        Bytes<?> bytes = Bytes.from("--alphabetagamma");
+        assertEquals("a", map.get(bytes, 2, 5));
+        assertEquals("b", map.get(bytes, 7, 4));
+        assertNull(map.get(bytes, 11, 5));
+        assertNull(map.get(bytes, 2, 4));
+        assertEquals("a", map.get("alpha", CharSequenceObjectMap.hashOf("alpha")));
+        bytes.releaseLast();
+    }
+
+    @Test
+    public void outOfOrderFields() {
+        Wire wire = new BinaryWire(Bytes.allocateElasticOnHeap());
+        wire.write("c").text("C");
+        wire.write("unknown").int32(1);
+        wire.write("aFieldWithANameLongerThanThirtyOneChars").int64(2);
+        wire.write("b").int32(3);
+        Dto dto = new Dto();
+        dto.readMarshallable(wire);
+        assertEquals("C", dto.c);
+        assertEquals(2, dto.aFieldWithANameLongerThanThirtyOneChars);
+        assertEquals(3, dto.b);
+        wire.bytes().releaseLast();
+    }
+
+    static class Dto extends SelfDescribingMarshallable {
+        long aFieldWithANameLongerThanThirtyOneChars;
+        int b;
+        String c;
+    }
+}
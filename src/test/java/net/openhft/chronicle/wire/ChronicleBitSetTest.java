@@ -56,6 +56,7 @@ public class ChronicleBitSetTest extends WireTestCommon {
         return Arrays.asList(new Object[][]{
                 {LongArrayValueBitSet.class},
                 {LongValueBitSet.class},
+                {SummarisedLongValueBitSet.class},
         });
     }
 
@@ -1139,4 +1140,10 @@ public class ChronicleBitSetTest extends WireTestCommon {
             throw new AssertionError(t);
         }
     }
-}
\ No newline at end of file
+
+    public static class SummarisedLongValueBitSet extends LongValueBitSet {
+        public SummarisedLongValueBitSet(long maxNumberOfBits, Wire w) {
+            super(maxNumberOfBits, w, true);
+        }
+    }
+}
@@ -0,0 +1,184 @@
+package net.openhft.chronicle.wire;
+
+import net.openhft.chronicle.bytes.Bytes;
+import net.openhft.chronicle.core.pool.ClassAliasPool;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.Assert.*;
+
+public class DeltaMarshallerTest extends WireTestCommon {
+    static {
+        ClassAliasPool.CLASS_ALIASES.addAlias(Wide.class, Inner.class, Other.class, Tags.class);
+    }
+
+    private static Wide newWide() {
+        Wide wide = new Wide();
+        long value = 1_000_000_000_000L;
+        wide.field00 = value++;
+        wide.field01 = value++;
+        wide.field02 = value++;
+        wide.field03 = value++;
+        wide.field04 = value++;
+        wide.field05 = value++;
+        wide.field06 = value++;
+        wide.field07 = value++;
+        wide.field08 = value++;
+        wide.field09 = value++;
+        wide.field10 = value++;
+        wide.field11 = value++;
+        wide.field12 = value++;
+        wide.field13 = value++;
+        wide.field14 = value++;
+        wide.field15 = value++;
+        wide.field16 = value++;
+        wide.field17 = value++;
+        wide.field18 = value++;
+        wide.field19 = value++;
+        wide.field20 = value++;
+        wide.field21 = value++;
+        wide.field22 = value++;
+        wide.field23 = value++;
+        wide.field24 = value++;
+        wide.field25 = value++;
+        wide.field26 = value++;
+        wide.field27 = value;
+        wide.symbol = "EURUSD";
+        wide.inner = new Inner("ACC-1", 10);
+        return wide;
+    }
+
+    @Test
+    public void onlyChangedFieldsAreWritten() {
+        Wide wide = newWide();
+        BinaryWire first = new BinaryWire(Bytes.allocateElasticOnHeap());
+        BinaryWire delta = new BinaryWire(Bytes.allocateElasticOnHeap());
+        BinaryWire full = new BinaryWire(Bytes.allocateElasticOnHeap());
+        DeltaMarshaller out = new DeltaMarshaller();
+        out.write(first, wide);
+
+        wide.field03++;
+        wide.field17++;
+        out.write(delta, wide);
+        full.getValueOut().object(wide);
+        long deltaSize = delta.bytes().readRemaining();
+        long fullSize = full.bytes().readRemaining();
+        assertTrue(deltaSize + " vs " + fullSize, deltaSize * 10 <= fullSize);
+
+        DeltaMarshaller in = new DeltaMarshaller();
+        assertEquals(newWide(), in.read(first));
+        assertEquals(wide, in.read(delta));
+
+        first.bytes().releaseLast();
+        delta.bytes().releaseLast();
+        full.bytes().releaseLast();
+    }
+
+    @Test
+    public void roundTripInterleavedTypes() {
+        BinaryWire wire = new BinaryWire(Bytes.allocateElasticOnHeap());
+        DeltaMarshaller out = new DeltaMarshaller();
+        Wide wide = newWide();
+        Other other = new Other();
+        List<Marshallable> expected = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            if (i % 3 == 0) {
+                other.name = i % 2 == 0 ? "even" : null;
+                other.values = new int[]{i, i + 1};
+                out.write(wire, other);
+                expected.add(other.deepCopy());
+            } else {
+                wide.field00 = i;
+                wide.field27 = -i;
+                wide.symbol = i % 4 == 0 ? null : "GBPUSD";
+                // changed in place
+                wide.inner.qty = i / 2;
+                out.write(wire, wide);
+                expected.add(wide.deepCopy());
+            }
+        }
+
+        DeltaMarshaller in = new DeltaMarshaller();
+        for (Marshallable m : expected)
+            assertEquals(m, in.read(wire));
+        assertEquals(0, wire.bytes().readRemaining());
+        wire.bytes().releaseLast();
+    }
+
+    @Test
+    public void unchangedMessageIsOnlyTheBitmap() {
+        BinaryWire wire = new BinaryWire(Bytes.allocateElasticOnHeap());
+        DeltaMarshaller out = new DeltaMarshaller();
+        Wide wide = newWide();
+        out.write(wire, wide);
+        long start = wire.bytes().writePosition();
+        out.write(wire, wide);
+        // the type, the length and an empty bitmap
+        assertTrue(wire.bytes().writePosition() - start < 16);
+
+        DeltaMarshaller in = new DeltaMarshaller();
+        Wide first = in.read(wire);
+        assertSame(first, in.read(wire));
+        assertEquals(wide, first);
+        wire.bytes().releaseLast();
+    }
+
+    @Test
+    public void collectionsChangedInPlace() {
+        BinaryWire wire = new BinaryWire(Bytes.allocateElasticOnHeap());
+        DeltaMarshaller out = new DeltaMarshaller();
+        Tags tags = new Tags();
+        List<Tags> expected = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            tags.names.add("name" + i);
+            tags.sides.add(i % 2 == 0 ? Side.BUY : Side.SELL);
+            tags.others.add(new Inner("ACC-" + i, i));
+            // changed in place
+            tags.others.get(0).qty = i;
+            out.write(wire, tags);
+            expected.add(tags.deepCopy());
+        }
+
+        DeltaMarshaller in = new DeltaMarshaller();
+        for (Tags t : expected)
+            assertEquals(t, in.read(wire));
+        wire.bytes().releaseLast();
+    }
+
+    enum Side {
+        BUY, SELL
+    }
+
+    static class Tags extends SelfDescribingMarshallable {
+        final List<String> names = new ArrayList<>();
+        final Set<Side> sides = EnumSet.noneOf(Side.class);
+        final List<Inner> others = new ArrayList<>();
+    }
+
+    static class Wide extends SelfDescribingMarshallable {
+        long field00, field01, field02, field03, field04, field05, field06, field07, field08, field09;
+        long field10, field11, field12, field13, field14, field15, field16, field17, field18, field19;
+        long field20, field21, field22, field23, field24, field25, field26, field27;
+        String symbol;
+        Inner inner;
+    }
+
+    static class Inner extends SelfDescribingMarshallable {
+        String account;
+        int qty;
+
+        Inner(String account, int qty) {
+            this.account = account;
+            this.qty = qty;
+        }
+    }
+
+    static class Other extends SelfDescribingMarshallable {
+        String name;
+        int[] values;
+    }
+}
@@ -0,0 +1,142 @@
+package net.openhft.chronicle.wire;
+
+import net.openhft.chronicle.bytes.Bytes;
+import net.openhft.chronicle.bytes.MethodId;
+import net.openhft.chronicle.bytes.MethodReader;
+import org.jetbrains.annotations.NotNull;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static net.openhft.chronicle.bytes.Bytes.allocateElasticOnHeap;
+import static org.junit.Assert.*;
+
+public class EncodedWireKeyTest extends WireTestCommon {
+    private static final String LONG_NAME = "aVeryLongFieldNameWhichIsMoreThan31Characters";
+
+    @Test
+    public void encodingMatchesBinaryWire() {
+        for (String name : new String[]{"", "a", "price", "smallInt", LONG_NAME, repeat('x', 200)}) {
+            @NotNull Wire wire = new BinaryWire(allocateElasticOnHeap());
+            wire.write(name);
+            Bytes<?> bytes = wire.bytes();
+            byte[] expected = bytes.toByteArray();
+            assertArrayEquals(name, expected, new EncodedWireKey(name).binaryField());
+            bytes.releaseLast();
+        }
+    }
+
+    @Test
+    public void numericNamesHaveNoEncoding() {
+        assertNull(new EncodedWireKey("123").binaryField());
+        assertEquals(123, new EncodedWireKey("123").code());
+    }
+
+    @Test
+    public void eventEncodingMatchesBinaryWire() {
+        for (String name : new String[]{"", "a", "123", LONG_NAME, repeat('x', 200)}) {
+            @NotNull Wire wire = new BinaryWire(allocateElasticOnHeap());
+            wire.writeEventName(name);
+            byte[] expected = wire.bytes().toByteArray();
+            assertArrayEquals(name, expected, new EncodedWireKey(name).binaryEvent());
+
+            wire.bytes().clear();
+            wire.writeEventName(new EncodedWireKey(name));
+            assertArrayEquals(name, expected, wire.bytes().toByteArray());
+            wire.bytes().releaseLast();
+        }
+        for (int id : new int[]{0, 1, 127, 128, 20000, Integer.MAX_VALUE}) {
+            @NotNull Wire wire = new BinaryWire(allocateElasticOnHeap());
+            wire.writeEventId("name", id);
+            byte[] expected = wire.bytes().toByteArray();
+            assertArrayEquals(expected, new EncodedWireKey("name", id).binaryEventId());
+
+            wire.bytes().clear();
+            wire.writeEventId(new EncodedWireKey("name", id));
+            assertArrayEquals(expected, wire.bytes().toByteArray());
+            wire.bytes().releaseLast();
+        }
+        assertNull(new EncodedWireKey("name", -1).binaryEventId());
+    }
+
+    @Test
+    public void methodWriterUsesEncodedEvents() {
+        @NotNull Wire wire = new BinaryWire(allocateElasticOnHeap());
+        Events events = wire.methodWriter(Events.class);
+        events.named("hello");
+        events.withId(12);
+
+        List<String> calls = new ArrayList<>();
+        MethodReader reader = wire.methodReader(new Events() {
+            @Override
+            public void named(String text) {
+                calls.add("named " + text);
+            }
+
+            @Override
+            public void withId(long value) {
+                calls.add("withId " + value);
+            }
+        });
+        assertTrue(reader.readOne());
+        assertTrue(reader.readOne());
+        assertFalse(reader.readOne());
+        assertEquals("[named hello, withId 12]", calls.toString());
+
+        wire.bytes().releaseLast();
+    }
+
+    @Test
+    public void readInOrderAndOutOfOrder() {
+        @NotNull Wire wire = new BinaryWire(allocateElasticOnHeap());
+        wire.write("one").int32(1)
+                .write("two").int32(2)
+                .write(LONG_NAME).int32(3);
+
+        assertEquals(1, wire.read(new EncodedWireKey("one")).int32());
+        assertEquals(3, wire.read(new EncodedWireKey(LONG_NAME)).int32());
+        assertEquals(2, wire.read(new EncodedWireKey("two")).int32());
+
+        wire.bytes().releaseLast();
+    }
+
+    @Test
+    public void readMarshallable() {
+        @NotNull Wire wire = new BinaryWire(allocateElasticOnHeap());
+        Dto dto = new Dto();
+        dto.flag = true;
+        dto.price = 1.5;
+        dto.quantity = 1234567890123L;
+        dto.text = "hello";
+        dto.aVeryLongFieldNameWhichIsMoreThan31Characters = 3;
+        wire.getValueOut().object(dto);
+
+        Dto dto2 = wire.getValueIn().object(Dto.class);
+        assertEquals(dto, dto2);
+
+        wire.bytes().releaseLast();
+    }
+
+    interface Events {
+        void named(String text);
+
+        @MethodId(300)
+        void withId(long value);
+    }
+
+    static class Dto extends SelfDescribingMarshallable {
+        boolean flag;
+        double price;
+        long quantity;
+        String text;
+        int aVeryLongFieldNameWhichIsMoreThan31Characters;
+    }
+
+    private static String repeat(char ch, int count) {
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < count; i++)
+            sb.append(ch);
+        return sb.toString();
+    }
+}
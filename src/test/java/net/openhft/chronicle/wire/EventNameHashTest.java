@@ -0,0 +1,60 @@
+package net.openhft.chronicle.wire;
+
+import org.jetbrains.annotations.NotNull;
+import org.junit.Test;
+
+import static net.openhft.chronicle.bytes.Bytes.allocateElasticOnHeap;
+import static org.junit.Assert.assertEquals;
+
+public class EventNameHashTest extends WireTestCommon {
+    private static final String[] NAMES = {
+            "history", "newOrderSingle", "executionReport", "cancel", "cancelReplace",
+            "heartbeat", "logon", "logout", "aMethodNameWhichIsLongerThanThirtyOneCharacters"};
+
+    private static EventNameHash createHash() {
+        long seedAndCapacity = EventNameHash.findSeed(0, NAMES);
+        return new EventNameHash((int) seedAndCapacity, (int) (seedAndCapacity >>> 32), NAMES);
+    }
+
+    @Test
+    public void indexOf() {
+        EventNameHash hash = createHash();
+        for (int i = 0; i < NAMES.length; i++)
+            assertEquals(i, hash.indexOf(new StringBuilder(NAMES[i])));
+        assertEquals(-1, hash.indexOf("unknown"));
+        assertEquals(-1, hash.indexOf(null));
+    }
+
+    @Test
+    public void readEventIndex() {
+        EventNameHash hash = createHash();
+        @NotNull Wire wire = new BinaryWire(allocateElasticOnHeap());
+        for (String name : NAMES)
+            wire.writeEventName(name).int32(1);
+        wire.write("cancel").int32(2);
+        wire.writeEventName("unknown").int32(3);
+
+        for (int i = 0; i < NAMES.length; i++) {
+            assertEquals(i, hash.readEventIndex(wire));
+            assertEquals(1, wire.getValueIn().int32());
+        }
+        assertEquals(3, hash.readEventIndex(wire));
+        assertEquals(2, wire.getValueIn().int32());
+
+        long pos = wire.bytes().readPosition();
+        assertEquals(-1, hash.readEventIndex(wire));
+        assertEquals(pos, wire.bytes().readPosition());
+        assertEquals("unknown", wire.readEvent(String.class));
+
+        wire.bytes().releaseLast();
+    }
+
+    @Test
+    public void notBinary() {
+        EventNameHash hash = createHash();
+        @NotNull Wire wire = new TextWire(allocateElasticOnHeap());
+        wire.writeEventName("cancel").int32(1);
+        assertEquals(-1, hash.readEventIndex(wire));
+        wire.bytes().releaseLast();
+    }
+}
@@ -0,0 +1,153 @@
+package net.openhft.chronicle.wire;
+
+import net.openhft.chronicle.bytes.Bytes;
+import org.jetbrains.annotations.NotNull;
+import org.junit.Test;
+
+import java.time.LocalDate;
+import java.util.*;
+
+import static org.junit.Assert.*;
+
+public class FieldCopierTest extends WireTestCommon {
+
+    private static Outer createOuter() {
+        Outer outer = new Outer();
+        outer.flag = true;
+        outer.ch = 'x';
+        outer.id = 123;
+        outer.price = 1.25;
+        outer.name = "outer";
+        outer.date = LocalDate.of(2020, 2, 29);
+        outer.side = Side.SELL;
+        outer.sb.append("builder");
+        outer.inner = new Inner(1, "one");
+        outer.ints = new int[]{1, 2, 3};
+        outer.inners = new Inner[]{new Inner(2, "two"), null};
+        outer.list.add(new Inner(3, "three"));
+        outer.map.put("four", new Inner(4, "four"));
+        outer.sides = EnumSet.of(Side.BUY);
+        outer.bytes.append("bytes");
+        return outer;
+    }
+
+    @Test
+    public void deepCopy() {
+        Outer outer = createOuter();
+        Outer copy = Wires.deepCopy(outer);
+        assertEquals(outer, copy);
+        assertEquals(viaWire(outer), copy);
+
+        assertNotSame(outer.inner, copy.inner);
+        assertNotSame(outer.ints, copy.ints);
+        assertNotSame(outer.inners[0], copy.inners[0]);
+        assertNotSame(outer.list.get(0), copy.list.get(0));
+        assertNotSame(outer.map.get("four"), copy.map.get("four"));
+        assertNotSame(outer.sb, copy.sb);
+
+        copy.inner.value = 10;
+        copy.list.get(0).name = "changed";
+        copy.sb.append("!");
+        assertEquals(1, outer.inner.value);
+        assertEquals("three", outer.list.get(0).name);
+        assertEquals("builder", outer.sb.toString());
+    }
+
+    @Test
+    public void projectResetsFieldsOnlyInTheTarget() {
+        Outer outer = createOuter();
+        Projection projection = new Projection();
+        projection.extra = "not in the source";
+        projection.id = -1;
+        Wires.copyTo(outer, projection);
+        assertEquals(123, projection.id);
+        assertEquals("outer", projection.name);
+        assertEquals(outer.inner, projection.inner);
+        assertNotSame(outer.inner, projection.inner);
+        assertEquals("default", projection.extra);
+
+        Projection projection2 = Wires.project(Projection.class, outer);
+        assertEquals(projection, projection2);
+    }
+
+    @Test
+    public void customReadMarshallableUsesTheWire() {
+        Custom custom = new Custom();
+        custom.value = 5;
+        Custom copy = Wires.deepCopy(custom);
+        // readMarshallable doubles the value, which a direct copy would skip
+        assertEquals(10, copy.value);
+
+        HasCustom hasCustom = new HasCustom();
+        hasCustom.custom = custom;
+        HasCustom copy2 = Wires.deepCopy(hasCustom);
+        assertEquals(10, copy2.custom.value);
+    }
+
+    @NotNull
+    private static Outer viaWire(Outer outer) {
+        Wire wire = WireType.BINARY.apply(Bytes.allocateElasticOnHeap());
+        outer.writeMarshallable(wire);
+        Outer outer2 = new Outer();
+        outer2.readMarshallable(wire);
+        wire.bytes().releaseLast();
+        return outer2;
+    }
+
+    enum Side {
+        BUY, SELL
+    }
+
+    static class Inner extends SelfDescribingMarshallable {
+        int value;
+        String name;
+
+        Inner(int value, String name) {
+            this.value = value;
+            this.name = name;
+        }
+    }
+
+    static class Outer extends SelfDescribingMarshallable {
+        boolean flag;
+        char ch;
+        int id;
+        double price;
+        String name;
+        LocalDate date;
+        Side side;
+        StringBuilder sb = new StringBuilder();
+        Inner inner;
+        int[] ints;
+        Inner[] inners;
+        List<Inner> list = new ArrayList<>();
+        Map<String, Inner> map = new LinkedHashMap<>();
+        Set<Side> sides = EnumSet.noneOf(Side.class);
+        Bytes<?> bytes = Bytes.allocateElasticOnHeap();
+    }
+
+    static class Projection extends SelfDescribingMarshallable {
+        String name;
+        int id;
+        Inner inner;
+        String extra = "default";
+    }
+
+    static class Custom extends SelfDescribingMarshallable {
+        int value;
+
+        @Override
+        public void readMarshallable(@NotNull WireIn wire) {
+            value = wire.read("value").int32() * 2;
+        }
+
+        @Override
+        public void writeMarshallable(@NotNull WireOut wire) {
+            wire.write("value").int32(value);
+        }
+    }
+
+    static class HasCustom extends SelfDescribingMarshallable {
+        Custom custom;
+    }
+}
@@ -0,0 +1,101 @@
+package net.openhft.chronicle.wire;
+
+import net.openhft.chronicle.bytes.Bytes;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class GenerateWireMarshallerTest extends WireTestCommon {
+
+    private static AllTypes createAllTypes() {
+        AllTypes at = new AllTypes();
+        at.flag = true;
+        at.b = 1;
+        at.s = 2;
+        at.ch = 'c';
+        at.i = 3;
+        at.l = 4;
+        at.f = 5.5f;
+        at.d = 6.25;
+        at.text = "hello";
+        at.symbol = Base85LongConverter.INSTANCE.parse("EURUSD");
+        at.hex = 0x1234;
+        at.list.add("one");
+        at.list.add("two");
+        return at;
+    }
+
+    @Test
+    public void isGenerated() {
+        WireMarshaller<AllTypes> wm = WireMarshaller.of(AllTypes.class, true);
+        assertTrue(wm.isGenerated());
+    }
+
+    @Test
+    public void binaryRoundTrip() {
+        doRoundTrip(WireType.BINARY);
+    }
+
+    @Test
+    public void textRoundTrip() {
+        doRoundTrip(WireType.TEXT);
+    }
+
+    private void doRoundTrip(WireType wireType) {
+        WireMarshaller<AllTypes> generated = WireMarshaller.of(AllTypes.class, true);
+        WireMarshaller<AllTypes> reflective = WireMarshaller.of(AllTypes.class, false);
+        AllTypes at = createAllTypes();
+        AllTypes defaults = new AllTypes();
+
+        Wire wire = wireType.apply(Bytes.allocateElasticOnHeap());
+        generated.writeMarshallable(at, wire);
+        String generatedOut = wire.bytes().toHexString();
+        AllTypes at2 = new AllTypes();
+        reflective.readMarshallable(at2, wire, defaults, true);
+        assertEquals(at.toString(), at2.toString());
+
+        wire.bytes().clear();
+        reflective.writeMarshallable(at, wire);
+        assertEquals(generatedOut, wire.bytes().toHexString());
+        AllTypes at3 = new AllTypes();
+        generated.readMarshallable(at3, wire, defaults, true);
+        assertEquals(at.toString(), at3.toString());
+
+        wire.bytes().releaseLast();
+    }
+
+    @Test
+    public void missingFieldsTakeDefaults() {
+        WireMarshaller<AllTypes> generated = WireMarshaller.of(AllTypes.class, true);
+        Wire wire = WireType.BINARY.apply(Bytes.allocateElasticOnHeap());
+        wire.write("l").int64(128);
+        AllTypes defaults = createAllTypes();
+        AllTypes at = new AllTypes();
+        generated.readMarshallable(at, wire, defaults, true);
+        assertEquals(128, at.l);
+        assertEquals(defaults.text, at.text);
+        assertEquals(defaults.d, at.d, 0.0);
+        wire.bytes().releaseLast();
+    }
+
+    static class AllTypes extends SelfDescribingMarshallable {
+        boolean flag;
+        byte b;
+        short s;
+        char ch;
+        int i;
+        long l;
+        float f;
+        double d;
+        String text;
+        @LongConversion(Base85LongConverter.class)
+        long symbol;
+        @IntConversion(HexadecimalIntConverter.class)
+        int hex;
+        List<String> list = new ArrayList<>();
+    }
+}
@@ -0,0 +1,94 @@
+package net.openhft.chronicle.wire;
+
+import net.openhft.chronicle.bytes.Bytes;
+import net.openhft.chronicle.bytes.BytesStore;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+import java.util.Random;
+
+import static net.openhft.chronicle.core.io.Closeable.closeQuietly;
+import static org.junit.Assert.*;
+
+public class LongArrayValueBitSetTest extends WireTestCommon {
+    private static final int BITS = 10_000;
+
+    private final List<Object> closeables = new ArrayList<>();
+
+    @Override
+    protected void preAfter() {
+        closeQuietly(closeables);
+        super.preAfter();
+    }
+
+    private LongArrayValueBitSet createBitSet(BitSet bits) {
+        Bytes<Void> bytes = Bytes.allocateElasticDirect();
+        closeables.add(bytes);
+        LongArrayValueBitSet set = new LongArrayValueBitSet(BITS, new BinaryWire(bytes));
+        closeables.add(set);
+        bits.stream().forEach(set::set);
+        return set;
+    }
+
+    private static BitSet randomBits(long seed, int count) {
+        Random random = new Random(seed);
+        BitSet bits = new BitSet();
+        for (int i = 0; i < count; i++)
+            bits.set(random.nextInt(BITS - 1000));
+        return bits;
+    }
+
+    @Test
+    public void snapshotReads() {
+        BitSet expected = randomBits(1, 2000);
+        LongArrayValueBitSet set = createBitSet(expected);
+        assertEquals(expected.cardinality(), set.cardinalitySnapshot());
+        assertEquals(set.cardinality(), set.cardinalitySnapshot());
+
+        BitSet actual = new BitSet();
+        set.forEachSetBit(actual::set);
+        assertEquals(expected, actual);
+
+        long[] words = set.toLongArray();
+        assertEquals(set.getWordsInUse(), words.length);
+        assertArrayEquals(expected.toLongArray(), BitSet.valueOf(words).toLongArray());
+
+        BytesStore<?, Void> store = BytesStore.nativeStoreWithFixedCapacity(8 + words.length * 8L);
+        try {
+            assertEquals(words.length, set.copyTo(store, 8));
+            for (int i = 0; i < words.length; i++)
+                assertEquals(words[i], store.readLong(8 + i * 8L));
+        } finally {
+            store.releaseLast();
+        }
+    }
+
+    @Test
+    public void exclusiveOrAndAnd() {
+        BitSet a = randomBits(2, 3000);
+        BitSet b = randomBits(3, 3000);
+        b.set(BITS - 1);
+
+        LongArrayValueBitSet or = createBitSet(a);
+        LongArrayValueBitSet orExclusive = createBitSet(a);
+        or.or(createBitSet(b));
+        orExclusive.orExclusive(createBitSet(b));
+        assertEquals(or, orExclusive);
+        BitSet expected = (BitSet) a.clone();
+        expected.or(b);
+        assertEquals(expected.cardinality(), orExclusive.cardinality());
+        assertTrue(orExclusive.get(BITS - 1));
+
+        LongArrayValueBitSet and = createBitSet(b);
+        LongArrayValueBitSet andExclusive = createBitSet(b);
+        and.and(createBitSet(a));
+        andExclusive.andExclusive(createBitSet(a));
+        assertEquals(and, andExclusive);
+        expected = (BitSet) a.clone();
+        expected.and(b);
+        assertEquals(expected.cardinality(), andExclusive.cardinality());
+        assertFalse(andExclusive.get(BITS - 1));
+    }
+}
@@ -9,6 +9,7 @@ import java.io.StringWriter;
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
 
 public class LongConversionTest extends WireTestCommon {
     static {
@@ -30,6 +31,63 @@ public class LongConversionTest extends WireTestCommon {
         assertEquals(lh2, lh);
     }
 
+    @Test
+    public void dtoQuotedAndEscaped() {
+        LongHolder lh = new LongHolder();
+        lh.hex = 0XFEDCBA9876543210L;
+        lh.unsigned = Long.MIN_VALUE;
+        lh.timestamp = 0x05432108090a0bL;
+        LongConversionTest.LongHolder lh2 = Marshallable.fromString("!LongHolder {\n" +
+                "  unsigned: \"9223372036854775808\",\n" +
+                "  hex: 'fedcba9876543210',\n" +
+                "  timestamp: \"2016-12-08T08:00:\\u003031.345163\" # escaped\n" +
+                "}\n");
+        assertEquals(lh, lh2);
+    }
+
+    @Test
+    public void dtoJSON() {
+        LongHolder lh = new LongHolder();
+        lh.hex = 0XFEDCBA9876543210L;
+        lh.unsigned = Long.MIN_VALUE;
+        lh.timestamp = 0x05432108090a0bL;
+        Wire wire = new JSONWire(Bytes.allocateElasticOnHeap(64));
+        lh.writeMarshallable(wire);
+        LongHolder lh2 = new LongHolder();
+        lh2.readMarshallable(wire);
+        assertEquals(lh, lh2);
+    }
+
+    @Test
+    public void emptyPlainValueReadAsText() {
+        for (String text : new String[]{"hex: \n", "hex: ,\n", "hex:\n", "hex:   # comment\n"}) {
+            Wire wire = new TextWire(Bytes.from(text));
+            Wire wire2 = new TextWire(Bytes.from(text));
+            assertEquals(text, readAsText(wire2), readWithConverter(wire));
+            assertEquals(text, wire2.bytes().readRemaining(), wire.bytes().readRemaining());
+            wire.bytes().releaseLast();
+            wire2.bytes().releaseLast();
+        }
+    }
+
+    private static String readWithConverter(Wire wire) {
+        try {
+            return "" + wire.read("hex").readLong(new HexadecimalLongConverter());
+        } catch (Exception e) {
+            return e.getClass().getName();
+        }
+    }
+
+    private static String readAsText(Wire wire) {
+        try {
+            StringBuilder sb = new StringBuilder();
+            wire.read("hex").text(sb);
+            return "" + new HexadecimalLongConverter().parse(sb);
+        } catch (Exception e) {
+            return e.getClass().getName();
+        }
+    }
+
     @Test
     public void method() {
         Wire wire = new TextWire(Bytes.allocateElasticOnHeap(64))
@@ -64,6 +122,23 @@ public class LongConversionTest extends WireTestCommon {
         assertEquals("to[74565]\n", sw.toString().replaceAll("\r", ""));
     }
 
+    @Test
+    public void intAndLongMethod() {
+        Wire wire = new TextWire(Bytes.allocateElasticOnHeap(64))
+                .useTextDocuments();
+        LongConversionTest.WriteWithIntAndLong write = wire.methodWriter(LongConversionTest.WriteWithIntAndLong.class);
+        write.to(0xABC, 0x12345, 0x6789A);
+
+        String text = wire.toString();
+        assertTrue(text, text.matches("(?s)to: \\[\\s*abc,\\s*12345,\\s*6789a\\s*]\\s*"));
+    }
+
+    interface WriteWithIntAndLong {
+        void to(@IntConversion(HexadecimalIntConverter.class) int x,
+                @LongConversion(HexadecimalLongConverter.class) long y,
+                @LongConversion(HexadecimalLongConverter.class) long z);
+    }
+
     interface WriteWithLong {
         LongConversionTest.WriteWithLong to(@LongConversion(HexadecimalLongConverter.class) int x);
     }
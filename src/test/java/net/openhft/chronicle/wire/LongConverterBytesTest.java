@@ -0,0 +1,79 @@
+package net.openhft.chronicle.wire;
+
+import net.openhft.chronicle.bytes.Bytes;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.Parameterized;
+
+import java.util.Arrays;
+import java.util.Collection;
+
+import static org.junit.Assert.assertEquals;
+
+@RunWith(value = Parameterized.class)
+public class LongConverterBytesTest extends WireTestCommon {
+    private static final long[] VALUES = {0, 1, 63, 64, 12345678, 1L << 50};
+    private static final long[] MILLIS = {1, 1_600_000_000_123L, 1_600_000_000_000L};
+    private static final long[] MICROS = {1, 1_600_000_000_123_456L, 1_600_000_000_000_000L};
+    private static final long[] NANOS = {1, 1_600_000_000_123_456_789L, 1_600_000_000_000_000_000L};
+
+    private final LongConverter longConverter;
+    private final long[] values;
+
+    public LongConverterBytesTest(String name, LongConverter longConverter, long[] values) {
+        this.longConverter = longConverter;
+        this.values = values;
+    }
+
+    @Parameterized.Parameters(name = "{0}")
+    public static Collection<Object[]> data() {
+        return Arrays.asList(new Object[][]{
+                {"Base32", Base32LongConverter.INSTANCE, VALUES},
+                {"Base40", Base40LongConverter.INSTANCE, VALUES},
+                {"Base64", Base64LongConverter.INSTANCE, VALUES},
+                {"Base85", Base85LongConverter.INSTANCE, new long[]{0, 1, 1L << 50, Long.MAX_VALUE, -1}},
+                {"Base95", Base95LongConverter.INSTANCE, VALUES},
+                {"Base128", Base128LongConverter.INSTANCE, VALUES},
+                {"Hexadecimal", new HexadecimalLongConverter(), new long[]{0, 1, 0xABCDEF, -1, Long.MIN_VALUE}},
+                {"OxHexadecimal", new OxHexadecimalLongConverter(), new long[]{0, 0xABCDEF, -1}},
+                {"Unsigned", new UnsignedLongConverter(), new long[]{0, 1, 123456789012345678L, Long.MAX_VALUE, -1}},
+                {"Words", new WordsLongConverter(), new long[]{0, 1, 2047, 2048, 123456789012345678L, -1}},
+                {"Milli", MilliTimestampLongConverter.INSTANCE, MILLIS},
+                {"MilliLondon", new MilliTimestampLongConverter("Europe/London"), MILLIS},
+                {"Micro", MicroTimestampLongConverter.INSTANCE, MICROS},
+                {"MicroNewYork", new MicroTimestampLongConverter("America/New_York"), MICROS},
+                {"Nano", NanoTimestampLongConverter.INSTANCE, NANOS},
+                {"NanoDuration", new NanoDurationLongConverter(), new long[]{0, 1, 1_500_000_000L}}
+        });
+    }
+
+    @Test
+    public void appendMatchesStringBuilder() {
+        Bytes<?> bytes = Bytes.allocateElasticOnHeap(64);
+        try {
+            for (long value : values) {
+                StringBuilder sb = new StringBuilder("x=");
+                longConverter.append(sb, value);
+                bytes.clear().append("x=");
+                longConverter.append(bytes, value);
+                assertEquals(sb.toString(), bytes.toString());
+            }
+        } finally {
+            bytes.releaseLast();
+        }
+    }
+
+    @Test
+    public void parseMatchesCharSequence() {
+        Bytes<?> bytes = Bytes.allocateElasticOnHeap(64);
+        try {
+            for (long value : values) {
+                String text = longConverter.asString(value);
+                bytes.clear().append("x=").append(text).append(",");
+                assertEquals(text, longConverter.parse(text), longConverter.parse(bytes, bytes.readPosition() + 2, text.length()));
+            }
+        } finally {
+            bytes.releaseLast();
+        }
+    }
+}
@@ -0,0 +1,137 @@
+package net.openhft.chronicle.wire;
+
+import net.openhft.chronicle.bytes.Bytes;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.*;
+
+import static net.openhft.chronicle.core.io.Closeable.closeQuietly;
+import static org.junit.Assert.*;
+
+public class LongValueBitSetTest extends WireTestCommon {
+    private final List<Object> closeables = new ArrayList<>();
+
+    @Override
+    protected void preAfter() {
+        closeQuietly(closeables);
+        super.preAfter();
+    }
+
+    private BinaryWire newWire() {
+        Bytes<Void> bytes = Bytes.allocateElasticDirect();
+        closeables.add(bytes);
+        return new BinaryWire(bytes);
+    }
+
+    @Test
+    public void summarisedScansMatchBitSet() {
+        int bits = 1 << 20;
+        LongValueBitSet set = new LongValueBitSet(bits, newWire(), true);
+        closeables.add(set);
+        assertTrue(set.isSummarised());
+        BitSet expected = new BitSet(bits);
+
+        Random random = new Random(1);
+        for (int i = 0; i < 2000; i++) {
+            int bit = random.nextInt(bits);
+            switch (random.nextInt(4)) {
+                case 0:
+                    set.clear(bit);
+                    expected.clear(bit);
+                    break;
+                case 1:
+                    // a full word
+                    int from = bit & ~63;
+                    set.set(from, from + 64);
+                    expected.set(from, from + 64);
+                    break;
+                default:
+                    set.set(bit);
+                    expected.set(bit);
+                    break;
+            }
+        }
+        assertEquals(expected.cardinality(), set.cardinality());
+        for (int i = expected.nextSetBit(0), j = set.nextSetBit(0); ; i = expected.nextSetBit(i + 1), j = set.nextSetBit(j + 1)) {
+            assertEquals(i, j);
+            if (i < 0)
+                break;
+        }
+        for (int i = 0; i < 1000; i++) {
+            int from = random.nextInt(bits);
+            assertEquals(expected.nextSetBit(from), set.nextSetBit(from));
+            assertEquals(expected.nextClearBit(from), set.nextClearBit(from));
+        }
+
+        set.clear();
+        assertEquals(-1, set.nextSetBit(0));
+        assertEquals(0, set.cardinality());
+    }
+
+    @Test
+    public void summaryIsShared() {
+        BinaryWire wire = newWire();
+        LongValueBitSet writer = new LongValueBitSet(100_000, wire, true);
+        closeables.add(writer);
+        wire.bytes().readPosition(0);
+        LongValueBitSet reader = new LongValueBitSet(0);
+        closeables.add(reader);
+        reader.readMarshallable(wire);
+        assertTrue(reader.isSummarised());
+
+        writer.set(77_777);
+        assertEquals(77_777, reader.nextSetBit(10));
+        writer.set(0, 70_000);
+        assertEquals(70_000, reader.nextClearBit(0));
+        reader.clear(77_777);
+        assertEquals(-1, writer.nextSetBit(70_000));
+    }
+
+    @Test
+    public void unsummarisedFormatIsUnchanged() {
+        BinaryWire wire = newWire();
+        LongValueBitSet set = new LongValueBitSet(128, wire);
+        closeables.add(set);
+        assertFalse(set.isSummarised());
+        wire.bytes().readPosition(0);
+        assertEquals("numberOfLongValues", wire.readEvent(String.class));
+    }
+
+    @Test
+    public void claimNextClearBitConcurrently() throws InterruptedException, ExecutionException {
+        int bits = 64 * 200;
+        LongValueBitSet set = new LongValueBitSet(bits, newWire(), true);
+        closeables.add(set);
+        set.set(5);
+        int threads = 4;
+        ExecutorService es = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<List<Integer>>> futures = new ArrayList<>();
+            for (int t = 0; t < threads; t++)
+                futures.add(es.submit(() -> {
+                    List<Integer> claimed = new ArrayList<>();
+                    for (int bit; (bit = set.claimNextClearBit(0)) >= 0; )
+                        claimed.add(bit);
+                    return claimed;
+                }));
+            BitSet claimed = new BitSet();
+            int count = 0;
+            for (Future<List<Integer>> future : futures)
+                for (int bit : future.get()) {
+                    assertFalse(claimed.get(bit));
+                    claimed.set(bit);
+                    count++;
+                }
+            assertEquals(bits - 1, count);
+            assertFalse(claimed.get(5));
+            assertEquals(-1, set.claimNextClearBit(0));
+            assertEquals(bits, set.nextClearBit(0));
+        } finally {
+            es.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,164 @@
+package net.openhft.chronicle.wire;
+
+import net.openhft.chronicle.bytes.Bytes;
+import org.jetbrains.annotations.NotNull;
+import org.junit.Test;
+
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+public class Lz4CompressionTest extends WireTestCommon {
+
+    private static void roundTrip(byte[] data) {
+        Bytes<?> from = Bytes.wrapForRead(data);
+        Bytes<?> compressed = Bytes.allocateElasticOnHeap();
+        Bytes<?> to = Bytes.allocateElasticOnHeap();
+        Lz4Compression.INSTANCE.compress(from, compressed);
+        assertEquals(0, from.readRemaining());
+        Lz4Compression.INSTANCE.uncompress(compressed, to);
+        assertEquals(0, compressed.readRemaining());
+        assertArrayEquals(data, to.toByteArray());
+        compressed.releaseLast();
+        to.releaseLast();
+    }
+
+    @Test
+    public void shortAndEmpty() {
+        for (int i = 0; i <= 20; i++) {
+            byte[] data = new byte[i];
+            for (int j = 0; j < i; j++)
+                data[j] = (byte) ('a' + j % 3);
+            roundTrip(data);
+        }
+    }
+
+    @Test
+    public void longRunsAndLiterals() {
+        Random random = new Random(1);
+        for (int length : new int[]{100, 300, 1000, 70_000, 300_000}) {
+            byte[] data = new byte[length];
+            // runs of repeated bytes, repeated phrases and random literals of many lengths
+            for (int i = 0; i < length; ) {
+                int run = random.nextInt(600);
+                switch (random.nextInt(3)) {
+                    case 0:
+                        byte b = (byte) random.nextInt();
+                        for (int j = 0; j < run && i < length; j++)
+                            data[i++] = b;
+                        break;
+                    case 1:
+                        for (int j = 0; j < run && i < length; j++)
+                            data[i++] = (byte) "the quick brown fox ".charAt(j % 20);
+                        break;
+                    default:
+                        for (int j = 0; j < run && i < length; j++)
+                            data[i++] = (byte) random.nextInt();
+                        break;
+                }
+            }
+            roundTrip(data);
+        }
+    }
+
+    @Test
+    public void compresses() {
+        byte[] data = new byte[4096];
+        for (int i = 0; i < data.length; i++)
+            data[i] = (byte) "abcdefgh".charAt(i % 8);
+        Bytes<?> compressed = Bytes.allocateElasticOnHeap();
+        Lz4Compression.INSTANCE.compress(Bytes.wrapForRead(data), compressed);
+        assertTrue(compressed.readRemaining() + " bytes", compressed.readRemaining() < 64);
+        compressed.releaseLast();
+    }
+
+    @Test
+    public void registeredByName() {
+        assertSame(Lz4Compression.INSTANCE, WireCompressions.acquire("lz4"));
+        assertNotNull(WireCompressions.forName(new StringBuilder("gzip")));
+        assertNull(WireCompressions.forName("unknown"));
+
+        WireCompression reversed = new ReversedCompression();
+        WireCompressions.register(reversed);
+        assertSame(reversed, WireCompressions.acquire("reversed"));
+
+        BinaryWire wire = new BinaryWire(Bytes.allocateElasticOnHeap(), false, false, false, 32, "lz4", false);
+        wire.setCompression("reversed");
+        String text = "01234567890123456789012345678901234567890123456789012345678901234567890123456789";
+        Bytes<?> bytes = Bytes.from(text);
+        wire.write("text").bytes(bytes);
+        assertEquals(text, wire.read("text").text());
+        wire.bytes().releaseLast();
+        bytes.releaseLast();
+    }
+
+    @Test
+    public void compressedBinaryCanUseLz4() {
+        BinaryWire wire = (BinaryWire) WireType.COMPRESSED_BINARY.apply(Bytes.allocateElasticOnHeap());
+        assertEquals("lzw", wire.getCompression());
+        wire.setCompression("lz4");
+        StringBuilder sb = new StringBuilder();
+        while (sb.length() < 1000)
+            sb.append("repeated text ");
+        Bytes<?> bytes = Bytes.from(sb.toString());
+        wire.write("text").bytes(bytes);
+        assertTrue(wire.bytes().readRemaining() < 200);
+        assertEquals(sb.toString(), wire.read("text").text());
+        wire.bytes().releaseLast();
+        bytes.releaseLast();
+    }
+
+    @Test
+    public void copyToDumpsLz4AsText() {
+        Wire wire = ((BinaryWire) WireType.COMPRESSED_BINARY.apply(Bytes.allocateElasticOnHeap())).setCompression("lz4");
+        StringBuilder sb = new StringBuilder();
+        while (sb.length() < 1000)
+            sb.append("abcdefgh");
+        Bytes<?> bytes = Bytes.from(sb.toString());
+        wire.write("message").bytes(bytes);
+
+        Bytes<?> asText = Bytes.allocateElasticOnHeap();
+        wire.copyTo(new TextWire(asText));
+        assertEquals("message: # lz4\n" + sb + "\n", asText.toString());
+        wire.bytes().releaseLast();
+        bytes.releaseLast();
+        asText.releaseLast();
+    }
+
+    @Test
+    public void uncompressingDoesNotClearSharedBytes() {
+        Wire wire = ((BinaryWire) WireType.COMPRESSED_BINARY.apply(Bytes.allocateElasticOnHeap())).setCompression("lz4");
+        StringBuilder sb = new StringBuilder();
+        while (sb.length() < 1000)
+            sb.append("abcdefgh");
+        Bytes<?> bytes = Bytes.from(sb.toString());
+        wire.write("text").bytes(bytes);
+
+        Bytes<?> held = Wires.acquireBytes();
+        held.append("in use");
+        assertEquals(sb.toString(), wire.read("text").text());
+        assertEquals("in use", held.toString());
+        wire.bytes().releaseLast();
+        bytes.releaseLast();
+    }
+
+    static class ReversedCompression implements WireCompression {
+        @NotNull
+        @Override
+        public String name() {
+            return "reversed";
+        }
+
+        @Override
+        public void compress(@NotNull Bytes<?> from, @NotNull Bytes<?> to) {
+            for (long i = from.readLimit() - 1; i >= from.readPosition(); i--)
+                to.writeByte(from.readByte(i));
+            from.readPosition(from.readLimit());
+        }
+
+        @Override
+        public void uncompress(@NotNull Bytes<?> from, @NotNull Bytes<?> to) {
+            compress(from, to);
+        }
+    }
+}
@@ -0,0 +1,98 @@
+package net.openhft.chronicle.wire;
+
+import net.openhft.chronicle.bytes.MethodReader;
+import net.openhft.chronicle.core.OS;
+import net.openhft.chronicle.core.io.IOTools;
+import net.openhft.chronicle.threads.Pauser;
+import org.junit.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+public class MappedDocumentLogTest extends WireTestCommon {
+    private static final long CHUNK_SIZE = 64 << 10;
+
+    private static File createFile(String name) {
+        File file = new File(OS.getTarget(), name + "-" + System.nanoTime() + ".log");
+        file.deleteOnExit();
+        return file;
+    }
+
+    @Test
+    public void writeAndTailAcrossChunks() throws IOException {
+        File file = createFile("writeAndTail");
+        int count = 10_000;
+        List<String> read = new ArrayList<>();
+        try (MappedDocumentLog log = new MappedDocumentLog(file, CHUNK_SIZE, true);
+             MappedDocumentTailer tailer = log.createTailer()) {
+            tailer.pauser(Pauser.busy());
+            Says says = log.wire().methodWriter(Says.class);
+            MethodReader reader = tailer.wire().methodReader((Says) read::add);
+            assertFalse(reader.readOne());
+
+            for (int i = 0; i < count; i++) {
+                says.say("message " + i);
+                if (i % 100 == 0)
+                    while (reader.readOne()) {
+                        // catch up
+                    }
+            }
+            while (reader.readOne()) {
+                // catch up
+            }
+            assertFalse(tailer.isEndOfLog());
+            log.writeEndOfLog();
+            assertTrue(tailer.isEndOfLog());
+        }
+        assertEquals(count, read.size());
+        for (int i = 0; i < count; i++)
+            assertEquals("message " + i, read.get(i));
+        assertTrue(file.length() > CHUNK_SIZE * 2);
+        IOTools.deleteDirWithFiles(file);
+    }
+
+    @Test
+    public void reopenAppendsAtTheEnd() throws IOException {
+        File file = createFile("reopen");
+        for (int i = 0; i < 3; i++) {
+            try (MappedDocumentLog log = new MappedDocumentLog(file, CHUNK_SIZE, false)) {
+                try (DocumentContext dc = log.wire().writingDocument()) {
+                    dc.wire().write("run").int32(i);
+                }
+            }
+        }
+        try (MappedDocumentTailer tailer = new MappedDocumentTailer(file, CHUNK_SIZE)) {
+            for (int i = 0; i < 3; i++) {
+                try (DocumentContext dc = tailer.readingDocument()) {
+                    assertTrue(dc.isPresent());
+                    assertEquals(i, dc.wire().read("run").int32());
+                }
+            }
+            try (DocumentContext dc = tailer.readingDocument()) {
+                assertFalse(dc.isPresent());
+            }
+        }
+        IOTools.deleteDirWithFiles(file);
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void cannotAppendToAnEndedLog() throws IOException {
+        File file = createFile("ended");
+        try (MappedDocumentLog log = new MappedDocumentLog(file, CHUNK_SIZE, false)) {
+            log.writeEndOfLog();
+        }
+        try {
+            new MappedDocumentLog(file, CHUNK_SIZE, false).close();
+        } finally {
+            IOTools.deleteDirWithFiles(file);
+        }
+    }
+
+    interface Says {
+        void say(String text);
+    }
+}
@@ -0,0 +1,81 @@
+package net.openhft.chronicle.wire;
+
+import net.openhft.chronicle.bytes.Bytes;
+import org.junit.Test;
+
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class PlainDecimalTest extends WireTestCommon {
+
+    private static double parse(Bytes<?> bytes, String s) {
+        bytes.clear().append(s);
+        return PlainDecimal.parse(bytes, bytes.readPosition(), bytes.readLimit());
+    }
+
+    @Test
+    public void plainDecimals() {
+        Bytes<?> bytes = Bytes.allocateElasticOnHeap();
+        for (String s : new String[]{"0", "-0", "1", "1.", ".5", "-.5", "1234.5678", "-1234.5678", "0.1", "0.3",
+                "0.000001", "123456789012345", "9007199254740992"}) {
+            double expected = Double.parseDouble(s);
+            assertEquals(s, Double.doubleToLongBits(expected), Double.doubleToLongBits(parse(bytes, s)));
+        }
+        bytes.releaseLast();
+    }
+
+    @Test
+    public void leavesTheRestToTheGeneralParser() {
+        Bytes<?> bytes = Bytes.allocateElasticOnHeap();
+        for (String s : new String[]{"", "-", ".", "1e3", "1.2.3", "1-2", "9007199254740993", "12345678901234567890",
+                "1.0000000000000000000001",
+                "0.00000000000000000000001", "NaN"})
+            assertTrue(s, Double.isNaN(parse(bytes, s)));
+        bytes.releaseLast();
+    }
+
+    @Test
+    public void randomPrices() {
+        Bytes<?> bytes = Bytes.allocateElasticOnHeap();
+        Random random = new Random(1);
+        for (int i = 0; i < 100_000; i++) {
+            long units = random.nextLong() % 10_000_000_000L;
+            int scale = random.nextInt(9);
+            StringBuilder sb = new StringBuilder().append(Math.abs(units));
+            while (sb.length() <= scale)
+                sb.insert(0, '0');
+            sb.insert(sb.length() - scale, '.');
+            if (units < 0)
+                sb.insert(0, '-');
+            String s = sb.toString();
+            assertEquals(s, Double.parseDouble(s), parse(bytes, s), 0.0);
+        }
+        bytes.releaseLast();
+    }
+
+    @Test
+    public void readFromWires() {
+        for (WireType wireType : new WireType[]{WireType.TEXT, WireType.YAML, WireType.JSON}) {
+            Wire wire = wireType.apply(Bytes.allocateElasticOnHeap());
+            wire.write("a").float64(1234.5678)
+                    .write("b").float64(-0.25)
+                    .write("c").float64(1e-20)
+                    .write("d").text("end");
+            assertEquals(wire.toString(), 1234.5678, wire.read("a").float64(), 0.0);
+            assertEquals(-0.25, wire.read("b").float64(), 0.0);
+            assertEquals(1e-20, wire.read("c").float64(), 0.0);
+            assertEquals("end", wire.read("d").text());
+            wire.bytes().releaseLast();
+        }
+    }
+
+    @Test
+    public void skipsTypes() {
+        Wire wire = WireType.TEXT.apply(Bytes.from("a: !double 1234.5678,\nb: !!float 1.5\n"));
+        assertEquals(1234.5678, wire.read("a").float64(), 0.0);
+        assertEquals(1.5, wire.read("b").float64(), 0.0);
+        wire.bytes().releaseLast();
+    }
+}
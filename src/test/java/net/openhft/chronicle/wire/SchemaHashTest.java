@@ -0,0 +1,80 @@
+package net.openhft.chronicle.wire;
+
+import net.openhft.chronicle.bytes.Bytes;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class SchemaHashTest extends WireTestCommon {
+
+    private static BinaryWire createWire(boolean writeSchemaHash) {
+        return new BinaryWire(Bytes.allocateElasticOnHeap())
+                .setWriteSchemaHash(writeSchemaHash);
+    }
+
+    @Test
+    public void sameSchemaReadsPositionally() {
+        BinaryWire wire = createWire(true);
+        V1 v1 = new V1(12, "hello", 1.5);
+        wire.write("v").marshallable(v1);
+        wire.write("next").int32(99);
+
+        V1 v1b = new V1(0, null, 0);
+        wire.read("v").object(v1b, V1.class);
+        assertEquals(v1, v1b);
+        assertEquals(99, wire.read("next").int32());
+        assertFalse(wire.hasMore());
+
+        wire.bytes().releaseLast();
+    }
+
+    @Test
+    public void schemaHashIsSkippedByText() {
+        BinaryWire wire = createWire(true);
+        V1 v1 = new V1(12, "hello", 1.5);
+        wire.getValueOut().marshallable(v1);
+        Wire text = WireType.TEXT.apply(Bytes.allocateElasticOnHeap());
+        wire.copyTo(text);
+        String s = text.toString();
+        assertTrue(s, s.contains("a: 12"));
+        assertTrue(s, s.contains("c: 1.5"));
+        wire.bytes().releaseLast();
+        text.bytes().releaseLast();
+    }
+
+    @Test
+    public void differentSchemaFallsBackToNames() {
+        for (boolean writeSchemaHash : new boolean[]{false, true}) {
+            BinaryWire wire = createWire(writeSchemaHash);
+            wire.write("v").marshallable(new V1(12, "hello", 1.5));
+
+            V2 v2 = new V2();
+            wire.read("v").object(v2, V2.class);
+            assertEquals(12, v2.a);
+            assertEquals("hello", v2.b);
+            assertEquals(0L, v2.d);
+
+            wire.bytes().releaseLast();
+        }
+    }
+
+    static class V1 extends SelfDescribingMarshallable {
+        int a;
+        String b;
+        double c;
+
+        V1(int a, String b, double c) {
+            this.a = a;
+            this.b = b;
+            this.c = c;
+        }
+    }
+
+    static class V2 extends SelfDescribingMarshallable {
+        String b;
+        int a;
+        long d;
+    }
+}
@@ -0,0 +1,104 @@
+package net.openhft.chronicle.wire;
+
+import net.openhft.chronicle.bytes.Bytes;
+import org.junit.Test;
+
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class ShortestDecimalTest extends WireTestCommon {
+
+    private static String toString(double d) {
+        Bytes<?> bytes = Bytes.allocateElasticOnHeap();
+        ShortestDecimal.appendDouble(bytes, d);
+        String s = bytes.toString();
+        bytes.releaseLast();
+        return s;
+    }
+
+    private static String toString(float f) {
+        Bytes<?> bytes = Bytes.allocateElasticOnHeap();
+        ShortestDecimal.appendFloat(bytes, f);
+        String s = bytes.toString();
+        bytes.releaseLast();
+        return s;
+    }
+
+    @Test
+    public void formats() {
+        assertEquals("0.0", toString(0.0));
+        assertEquals("-0.0", toString(-0.0));
+        assertEquals("NaN", toString(Double.NaN));
+        assertEquals("Infinity", toString(Double.POSITIVE_INFINITY));
+        assertEquals("-Infinity", toString(Double.NEGATIVE_INFINITY));
+        assertEquals("0.1", toString(0.1));
+        assertEquals("0.001", toString(0.001));
+        assertEquals("1.0E-4", toString(1e-4));
+        assertEquals("100.0", toString(100.0));
+        assertEquals("1234567.0", toString(1234567.0));
+        assertEquals("1.0E7", toString(1e7));
+        assertEquals("1.0E23", toString(1e23));
+        assertEquals("-1.234E-8", toString(-1.234e-8));
+        assertEquals("1.7976931348623157E308", toString(Double.MAX_VALUE));
+        assertEquals("4.9E-324", toString(Double.MIN_VALUE));
+        assertEquals("0.3", toString(0.3f));
+        assertEquals("3.4028235E38", toString(Float.MAX_VALUE));
+        assertEquals("1.4E-45", toString(Float.MIN_VALUE));
+        assertEquals("1.0E-10", toString(1e-10f));
+    }
+
+    @Test
+    public void doublesRoundTrip() {
+        Random random = new Random(1);
+        for (int i = 0; i < 1_000_000; i++) {
+            double d = Double.longBitsToDouble(random.nextLong());
+            if (Double.isNaN(d))
+                continue;
+            String s = toString(d);
+            assertEquals(s, d, Double.parseDouble(s), 0.0);
+            // no more digits than Double.toString which isn't always the shortest before Java 19
+            assertTrue(s, s.length() <= Double.toString(d).length());
+        }
+    }
+
+    @Test
+    public void floatsRoundTrip() {
+        Random random = new Random(1);
+        for (int i = 0; i < 1_000_000; i++) {
+            float f = Float.intBitsToFloat(random.nextInt());
+            if (Float.isNaN(f))
+                continue;
+            String s = toString(f);
+            assertEquals(s, f, Float.parseFloat(s), 0.0f);
+            assertTrue(s, s.length() <= Float.toString(f).length());
+        }
+    }
+
+    @Test
+    public void wiresRoundTrip() {
+        double[] values = {1e-9, -2.5e-12, 1.2345678901234567e20, 6.02214076e23, Double.MIN_VALUE, Double.MAX_VALUE};
+        for (WireType wireType : new WireType[]{WireType.TEXT, WireType.YAML, WireType.JSON}) {
+            Wire wire = wireType.apply(Bytes.allocateElasticOnHeap());
+            for (double value : values) {
+                wire.bytes().clear();
+                wire.write("d").float64(value);
+                assertEquals(wire.toString(), value, wire.read("d").float64(), 0.0);
+            }
+            wire.bytes().clear();
+            wire.write("f").float32(1.2345e-7f);
+            assertEquals(wire.toString(), 1.2345e-7f, wire.read("f").float32(), 0.0f);
+            wire.bytes().releaseLast();
+        }
+    }
+
+    @Test
+    public void jsonWritesNaNAsNull() {
+        Wire wire = WireType.JSON.apply(Bytes.allocateElasticOnHeap());
+        wire.write("d").float64(Double.NaN);
+        String json = wire.toString();
+        assertTrue(json, json.contains(":null"));
+        wire.bytes().releaseLast();
+    }
+}
@@ -0,0 +1,156 @@
+package net.openhft.chronicle.wire;
+
+import net.openhft.chronicle.bytes.Bytes;
+import net.openhft.chronicle.core.io.IORuntimeException;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class StringDictionaryTest extends WireTestCommon {
+
+    private static void writeOrders(BinaryWire wire, int count) {
+        for (int i = 0; i < count; i++) {
+            try (DocumentContext dc = wire.writingDocument()) {
+                dc.wire().write("symbol").text(i % 2 == 0 ? "EURUSD" : "GBPUSD")
+                        .write("venue").text("XLON")
+                        .write("account").text("ACC-000123456")
+                        .write("qty").int32(i);
+            }
+        }
+    }
+
+    @Test
+    public void repeatedTextIsSentByReference() {
+        BinaryWire plain = new BinaryWire(Bytes.allocateElasticOnHeap());
+        BinaryWire dictionary = new BinaryWire(Bytes.allocateElasticOnHeap()).setStringDictionary(1024);
+        writeOrders(plain, 100);
+        writeOrders(dictionary, 100);
+        assertTrue(dictionary.bytes().readRemaining() + " < " + plain.bytes().readRemaining(),
+                dictionary.bytes().readRemaining() * 4 < plain.bytes().readRemaining() * 3);
+
+        for (int i = 0; i < 100; i++) {
+            try (DocumentContext dc = dictionary.readingDocument()) {
+                assertEquals(i % 2 == 0 ? "EURUSD" : "GBPUSD", dc.wire().read("symbol").text());
+                assertEquals("XLON", dc.wire().read("venue").text());
+                StringBuilder sb = new StringBuilder();
+                dc.wire().read("account").textTo(sb);
+                assertEquals("ACC-000123456", sb.toString());
+                assertEquals(i, dc.wire().read("qty").int32());
+            }
+        }
+        plain.bytes().releaseLast();
+        dictionary.bytes().releaseLast();
+    }
+
+    @Test
+    public void skippedAnchorsAreStillRemembered() {
+        BinaryWire wire = new BinaryWire(Bytes.allocateElasticOnHeap()).setStringDictionary(16);
+        writeOrders(wire, 2);
+        try (DocumentContext dc = wire.readingDocument()) {
+            // only read the last field so the anchors are skipped
+            assertEquals(0, dc.wire().read("qty").int32());
+        }
+        try (DocumentContext dc = wire.readingDocument()) {
+            assertEquals("GBPUSD", dc.wire().read("symbol").text());
+            assertEquals("XLON", dc.wire().read("venue").text());
+        }
+        wire.bytes().releaseLast();
+    }
+
+    @Test
+    public void unreadTrailingFieldsStillAnchor() {
+        BinaryWire wire = new BinaryWire(Bytes.allocateElasticOnHeap()).setStringDictionary(16);
+        writeOrders(wire, 2);
+        try (DocumentContext dc = wire.readingDocument()) {
+            // venue and account are never read
+            assertEquals("EURUSD", dc.wire().read("symbol").text());
+        }
+        try (DocumentContext dc = wire.readingDocument()) {
+            assertEquals("GBPUSD", dc.wire().read("symbol").text());
+            assertEquals("XLON", dc.wire().read("venue").text());
+            assertEquals("ACC-000123456", dc.wire().read("account").text());
+        }
+        wire.bytes().releaseLast();
+    }
+
+    @Test
+    public void anchorsInIgnoredMarshallablesAreRemembered() {
+        BinaryWire wire = new BinaryWire(Bytes.allocateElasticOnHeap()).setStringDictionary(16);
+        for (int i = 0; i < 2; i++) {
+            try (DocumentContext dc = wire.writingDocument()) {
+                dc.wire().write("skipped").marshallable(w -> w.write("venue").text("XLON"));
+                dc.wire().write("partial").marshallable(w -> w.write("id").int32(1)
+                        .write("account").text("ACC-000123456"));
+                dc.wire().write("qty").int32(1);
+            }
+        }
+        try (DocumentContext dc = wire.readingDocument()) {
+            // "skipped" is skipped by the name lookup and only part of "partial" is read
+            assertEquals(1, dc.wire().read("partial").applyToMarshallable(w -> w.read("id").int32()).intValue());
+            assertEquals(1, dc.wire().read("qty").int32());
+        }
+        try (DocumentContext dc = wire.readingDocument()) {
+            assertEquals("XLON", dc.wire().read("skipped").applyToMarshallable(w -> w.read("venue").text()));
+            assertEquals("ACC-000123456", dc.wire().read("partial").applyToMarshallable(w -> w.read("account").text()));
+        }
+        wire.bytes().releaseLast();
+    }
+
+    @Test
+    public void readerWithoutDictionaryDoesNotWalkSkippedValues() {
+        BinaryWire wire = new BinaryWire(Bytes.allocateElasticOnHeap()).setStringDictionary(16);
+        writeOrders(wire, 2);
+        BinaryWire reader = new BinaryWire(wire.bytes());
+        try (DocumentContext dc = reader.readingDocument()) {
+            assertEquals("EURUSD", dc.wire().read("symbol").text());
+        }
+        try (DocumentContext dc = reader.readingDocument()) {
+            // venue was never read so it isn't known
+            assertEquals("GBPUSD", dc.wire().read("symbol").text());
+            try {
+                dc.wire().read("venue").text();
+                fail();
+            } catch (IORuntimeException expected) {
+                // expected
+            }
+        }
+        wire.bytes().releaseLast();
+    }
+
+    @Test(expected = IORuntimeException.class)
+    public void referenceBeyondCapacityIsRejected() {
+        Bytes<?> bytes = Bytes.allocateElasticOnHeap();
+        bytes.writeUnsignedByte(BinaryWireCode.STRING_ANCHOR);
+        bytes.writeStopBit(1L << 30);
+        bytes.writeUtf8("abcd");
+        BinaryWire wire = new BinaryWire(bytes).setStringDictionary(16);
+        try {
+            wire.getValueIn().text();
+        } finally {
+            bytes.releaseLast();
+        }
+    }
+
+    @Test
+    public void resetAndDump() {
+        BinaryWire wire = new BinaryWire(Bytes.allocateElasticOnHeap()).setStringDictionary(16);
+        writeOrders(wire, 2);
+        wire.resetStringDictionary();
+        writeOrders(wire, 1);
+        String dump = WireDumper.of(wire).asString();
+        assertTrue(dump, dump.contains("resetStringDictionary: 4"));
+        assertEquals(3, dump.split("symbol: EURUSD", -1).length - 1);
+        assertEquals(3, dump.split("venue: XLON", -1).length - 1);
+        wire.bytes().releaseLast();
+    }
+
+    @Test
+    public void fullDictionaryWritesTextInFull() {
+        BinaryWire wire = new BinaryWire(Bytes.allocateElasticOnHeap()).setStringDictionary(2);
+        for (String s : new String[]{"alpha", "bravo", "charlie", "alpha", "charlie"})
+            wire.write("s").text(s);
+        for (String s : new String[]{"alpha", "bravo", "charlie", "alpha", "charlie"})
+            assertEquals(s, wire.read("s").text());
+        wire.bytes().releaseLast();
+    }
+}
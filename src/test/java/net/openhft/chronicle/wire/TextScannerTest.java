@@ -0,0 +1,80 @@
+package net.openhft.chronicle.wire;
+
+import net.openhft.chronicle.bytes.Bytes;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+
+public class TextScannerTest extends WireTestCommon {
+
+    private static int plainEndByChar(CharSequence s, int from) {
+        int i = from;
+        while (i < s.length() && !TextScanner.needsEscaping(s.charAt(i)))
+            i++;
+        return i;
+    }
+
+    private static int unquotedEndByChar(CharSequence s, int from) {
+        int i = from;
+        while (i < s.length() && !TextScanner.needsQuotes(s.charAt(i)))
+            i++;
+        return i;
+    }
+
+    @Test
+    public void everyCharacterInEveryPosition() {
+        Bytes<?> bytes = Bytes.allocateElasticOnHeap();
+        StringBuilder sb = new StringBuilder();
+        for (char fill : "a ~0".toCharArray()) {
+            for (int length = 1; length <= 20; length++) {
+                for (int pos = 0; pos < length; pos++) {
+                    for (char ch = 0; ch < 256; ch++) {
+                        sb.setLength(0);
+                        for (int i = 0; i < length; i++)
+                            sb.append(i == pos ? ch : fill);
+                        String s = sb.toString();
+                        bytes.clear().append8bit(s);
+                        for (int from = 0; from < length; from += 3) {
+                            assertEquals(plainEndByChar(s, from), TextScanner.plainEnd(s, from));
+                            assertEquals(plainEndByChar(s, from), TextScanner.plainEnd(bytes, from));
+                            assertEquals(unquotedEndByChar(s, from), TextScanner.unquotedEnd(s, from));
+                            assertEquals(unquotedEndByChar(s, from), TextScanner.unquotedEnd(bytes, from));
+                        }
+                    }
+                }
+            }
+        }
+        bytes.releaseLast();
+    }
+
+    @Test
+    public void nonLatin1() {
+        String s = "hello world €1 and more";
+        assertEquals(s.indexOf('€'), TextScanner.plainEnd(s, 0));
+        assertEquals(s.indexOf('€'), TextScanner.unquotedEnd(s, 0));
+    }
+
+    @Test
+    public void roundTripsEscapedText() {
+        for (WireType wireType : new WireType[]{WireType.TEXT, WireType.YAML})
+            roundTripsEscapedText(wireType.apply(Bytes.allocateElasticOnHeap()));
+    }
+
+    private void roundTripsEscapedText(Wire wire) {
+        String[] texts = {
+                "identifier",
+                "a much longer piece of text without anything to escape in it at all",
+                "it's \"quoted\" text",
+                "tab\there, newline\nthere and a back\\slash in the middle of a long line",
+                "café costs €3",
+                "key: value",
+                "trailing tab\t",
+        };
+        for (String text : texts) {
+            wire.bytes().clear();
+            wire.write("t").text(text);
+            assertEquals(wire.toString(), text, wire.read("t").text());
+        }
+        wire.bytes().releaseLast();
+    }
+}
@@ -0,0 +1,94 @@
+package net.openhft.chronicle.wire;
+
+import net.openhft.chronicle.bytes.Bytes;
+import org.junit.Test;
+
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.Assert.*;
+
+public class WireInternerTest extends WireTestCommon {
+
+    @Test
+    public void countsHitsMissesAndEvictions() {
+        WireInterner interner = WireInterners.perWire(128, true);
+        String hello = interner.intern(new StringBuilder("hello"));
+        assertSame(hello, interner.intern("hello"));
+        assertEquals(1, interner.hits());
+        assertEquals(1, interner.misses());
+        assertEquals(0, interner.evictions());
+
+        for (int i = 0; i < 1000; i++)
+            interner.intern("text-" + i);
+        assertEquals(1001, interner.misses());
+        assertTrue(interner.evictions() > 0);
+        assertNull(interner.intern(null));
+    }
+
+    @Test
+    public void countersAreOffByDefault() {
+        WireInterner interner = WireInterners.perWire(128);
+        String hello = interner.intern(new StringBuilder("hello"));
+        assertSame(hello, interner.intern("hello"));
+        assertEquals(0, interner.hits());
+        assertEquals(0, interner.misses());
+        assertEquals(0, interner.evictions());
+    }
+
+    @Test
+    public void bytesFindTheSameString() {
+        WireInterner interner = WireInterners.perWire(128);
+        Bytes<?> bytes = Bytes.allocateElasticOnHeap();
+        bytes.appendUtf8("..hello..héllo");
+        String hello = interner.intern8bit(bytes, 2, 5);
+        assertEquals("hello", hello);
+        assertSame(hello, interner.intern("hello"));
+        assertSame(hello, interner.internUtf8(bytes, 2, 5));
+
+        String utf8 = interner.internUtf8(bytes, 9, 6);
+        assertEquals("héllo", utf8);
+        assertSame(utf8, interner.intern("héllo"));
+        bytes.releaseLast();
+    }
+
+    @Test
+    public void perThreadTables() throws InterruptedException {
+        WireInterner interner = WireInterners.perThread(128, true);
+        String a = interner.intern("text");
+        assertSame(a, interner.intern("text"));
+
+        AtomicReference<String> other = new AtomicReference<>();
+        Thread t = new Thread(() -> other.set(interner.intern(new StringBuilder("text"))));
+        t.start();
+        t.join();
+        assertEquals(a, other.get());
+        assertNotSame(a, other.get());
+        assertEquals(1, interner.hits());
+    }
+
+    @Test
+    public void striped() {
+        WireInterner interner = WireInterners.striped(4, 128, true);
+        String a = interner.intern("text");
+        assertSame(a, interner.intern(new StringBuilder("text")));
+        assertEquals(1, interner.hits());
+        assertEquals(1, interner.misses());
+    }
+
+    @Test
+    public void wiresUseTheirInterner() {
+        for (WireType wireType : new WireType[]{WireType.BINARY, WireType.TEXT}) {
+            Wire wire = wireType.apply(Bytes.allocateElasticOnHeap());
+            WireInterner interner = WireInterners.perWire(128, true);
+            ((AbstractWire) wire).interner(interner);
+            wire.write("a").text("value")
+                    .write("b").text("value");
+            String a = wire.read("a").text();
+            String b = wire.read("b").text();
+            assertEquals("value", a);
+            assertSame(wireType.toString(), a, b);
+            assertTrue(interner.hits() > 0);
+            wire.bytes().releaseLast();
+        }
+    }
+}
@@ -0,0 +1,94 @@
+package net.openhft.chronicle.wire;
+
+import net.openhft.chronicle.bytes.Bytes;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class WriteBatchTest extends WireTestCommon {
+
+    private static BinaryWire createWire() {
+        BinaryWire wire = new BinaryWire(Bytes.allocateElasticOnHeap());
+        wire.usePadding(true);
+        return wire;
+    }
+
+    private static void assertNotReadable(Wire wire) {
+        long pos = wire.bytes().readPosition();
+        try (DocumentContext dc = wire.readingDocument()) {
+            assertFalse(dc.isPresent());
+        }
+        wire.bytes().readPosition(pos);
+    }
+
+    @Test
+    public void documentsVisibleOnlyOnClose() {
+        BinaryWire wire = createWire();
+        Says says = wire.methodWriter(Says.class);
+        try (WriteBatch batch = wire.writingBatch()) {
+            says.say("one");
+            says.say("two");
+            try (DocumentContext dc = wire.writingDocument(true)) {
+                dc.wire().write("meta").text("data");
+            }
+            says.say("three");
+            assertNotReadable(wire);
+
+            // nested batches are part of the outer one
+            try (WriteBatch nested = wire.writingBatch()) {
+                assertSame(WriteBatch.NONE, nested);
+                says.say("four");
+            }
+            assertNotReadable(wire);
+        }
+
+        StringBuilder sb = new StringBuilder();
+        MethodReader reader = wire.methodReader((Says) s -> sb.append(s).append(','));
+        while (reader.readOne()) {
+            // read them all
+        }
+        assertEquals("one,two,three,four,", sb.toString());
+
+        wire.bytes().releaseLast();
+    }
+
+    @Test
+    public void sameBytesAsWithoutBatch() {
+        BinaryWire batched = createWire();
+        BinaryWire unbatched = createWire();
+        try (WriteBatch batch = batched.writingBatch()) {
+            for (int i = 0; i < 3; i++)
+                batched.methodWriter(Says.class).say("hello " + i);
+        }
+        for (int i = 0; i < 3; i++)
+            unbatched.methodWriter(Says.class).say("hello " + i);
+        assertEquals(unbatched.bytes().toHexString(), batched.bytes().toHexString());
+
+        batched.bytes().releaseLast();
+        unbatched.bytes().releaseLast();
+    }
+
+    @Test
+    public void emptyBatch() {
+        BinaryWire wire = createWire();
+        wire.writingBatch().close();
+        assertEquals(0, wire.bytes().writePosition());
+        wire.bytes().releaseLast();
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void documentStillOpen() {
+        BinaryWire wire = createWire();
+        try {
+            WriteBatch batch = wire.writingBatch();
+            wire.writingDocument().wire().write("a").int32(1);
+            batch.close();
+        } finally {
+            wire.bytes().releaseLast();
+        }
+    }
+
+    interface Says {
+        void say(String text);
+    }
+}
@@ -0,0 +1,92 @@
+package net.openhft.chronicle.wire;
+
+import net.openhft.chronicle.bytes.Bytes;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+
+public class YamlKeysTest extends WireTestCommon {
+    @Test
+    public void findsOnlyKeysWithTheSameHash() {
+        YamlKeys keys = new YamlKeys();
+        for (int i = 0; i < 100; i++)
+            keys.push(i * 10, "key" + i);
+        int hash = YamlKeys.hash("key42");
+        int i = keys.first(hash);
+        assertEquals(42, i);
+        assertEquals(-1, keys.next(i, hash));
+        keys.removeIndex(i);
+        assertEquals(-1, keys.first(hash));
+        assertEquals(99, keys.count());
+        assertEquals(990, keys.offsets()[keys.first(YamlKeys.hash("key99"))]);
+        assertEquals(440, keys.offsets()[keys.first(YamlKeys.hash("key44"))]);
+
+        keys.compact();
+        assertEquals(990, keys.offsets()[98]);
+        assertEquals(43, keys.first(YamlKeys.hash("key44")));
+    }
+
+    @Test
+    public void readManyKeysAfterRemovals() {
+        StringBuilder yaml = new StringBuilder();
+        for (int i = 0; i < 200; i++)
+            yaml.append("key").append(i).append(": ").append(i).append('\n');
+        Wire wire = new YamlWire(Bytes.from(yaml.toString()));
+        // the last key first so every other key is skipped, then the rest in reverse
+        for (int i = 199; i >= 0; i--)
+            assertEquals(i, wire.read("key" + i).int32());
+        wire.bytes().releaseLast();
+
+        YamlKeys keys = new YamlKeys();
+        for (int i = 0; i < 200; i++)
+            keys.push(i * 10, "key" + i);
+        for (int i = 198; i >= 0; i -= 2) {
+            int index = keys.first(YamlKeys.hash("key" + i));
+            assertEquals(i * 10, keys.offsets()[index]);
+            keys.removeIndex(index);
+        }
+        assertEquals(100, keys.count());
+        for (int i = 200; i < 300; i++)
+            keys.push(i * 10, "key" + i);
+        assertEquals(200, keys.count());
+        for (int i = 1; i < 300; i++) {
+            int index = keys.first(YamlKeys.hash("key" + i));
+            if (i < 200 && i % 2 == 0)
+                assertEquals(-1, index);
+            else
+                assertEquals(i * 10, keys.offsets()[index]);
+        }
+    }
+
+    @Test
+    public void sameHashInPushOrder() {
+        YamlKeys keys = new YamlKeys();
+        // "Aa" and "BB" have the same hash
+        keys.push(1, "Aa");
+        keys.push(2, "x");
+        keys.push(3, "BB");
+        int hash = YamlKeys.hash("BB");
+        int i = keys.first(hash);
+        assertEquals(0, i);
+        assertEquals(2, i = keys.next(i, hash));
+        assertEquals(-1, keys.next(i, hash));
+    }
+
+    @Test
+    public void emptyKeysMatchAnyName() {
+        YamlKeys keys = new YamlKeys();
+        keys.push(1, "a");
+        keys.push(2, "");
+        keys.push(3, "b");
+        int hash = YamlKeys.hash("c");
+        assertEquals(0, keys.first(hash));
+        assertEquals(1, keys.next(0, hash));
+        assertEquals(2, keys.next(1, hash));
+        keys.removeIndex(1);
+        assertEquals(-1, keys.first(hash));
+
+        keys.reset();
+        assertEquals(0, keys.count());
+        assertEquals(-1, keys.first(YamlKeys.hash("a")));
+    }
+}
@@ -1054,6 +1054,23 @@ public class YamlWireTest extends WireTestCommon {
         }
     }
 
+    @Test
+    public void readManyKeysInReverse() {
+        StringBuilder yaml = new StringBuilder();
+        for (int i = 0; i < 2000; i++)
+            yaml.append("key").append(i).append(": ").append(i * 3).append('\n');
+        yaml.append("\"\": blank\n");
+        Bytes<?> from = Bytes.from(yaml.toString());
+        try {
+            YamlWire yw = new YamlWire(from);
+            for (int i = 1999; i >= 0; i--)
+                assertEquals(i * 3, yw.read("key" + i).int32());
+            assertEquals("blank", yw.read("").text());
+        } finally {
+            from.releaseLast();
+        }
+    }
+
     @Test
     public void testContextDump2() {
         Bytes<?> from = Bytes.from("#\nb: AA\nc: {}\nd: \n  A: 1\n  B: 2\ne: end");
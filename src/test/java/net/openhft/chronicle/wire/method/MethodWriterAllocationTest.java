@@ -0,0 +1,110 @@
+package net.openhft.chronicle.wire.method;
+
+import net.openhft.chronicle.bytes.Bytes;
+import net.openhft.chronicle.bytes.MethodReader;
+import net.openhft.chronicle.wire.*;
+import org.junit.Test;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.*;
+import static org.junit.Assume.assumeTrue;
+
+public class MethodWriterAllocationTest extends WireTestCommon {
+    private static final int CALLS = 20_000;
+
+    private static long allocatedBytes() {
+        return ((com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean())
+                .getThreadAllocatedBytes(Thread.currentThread().getId());
+    }
+
+    @Test
+    public void multipleArgumentsRoundTrip() {
+        Wire wire = WireType.BINARY.apply(Bytes.allocateElasticOnHeap());
+        Calls writer = wire.methodWriter(Calls.class);
+        Dto dto = new Dto(1, 2.5);
+        writer.two(1, 2L);
+        writer.four(1, 2L, 3.5, dto);
+        writer.eight((byte) 1, (short) 2, 'c', 4, 5L, 6.5f, 7.5, dto);
+
+        List<String> calls = new ArrayList<>();
+        MethodReader reader = wire.methodReader(new Calls() {
+            @Override
+            public void two(int a, long b) {
+                calls.add("two " + a + " " + b);
+            }
+
+            @Override
+            public void four(int a, long b, double c, Dto d) {
+                calls.add("four " + a + " " + b + " " + c + " " + d.id + " " + d.price);
+            }
+
+            @Override
+            public void eight(byte a, short b, char c, int d, long e, float f, double g, Dto h) {
+                calls.add("eight " + a + " " + b + " " + c + " " + d + " " + e + " " + f + " " + g + " " + h.id);
+            }
+        });
+        while (reader.readOne()) {
+            // read all
+        }
+        assertEquals("[two 1 2, four 1 2 3.5 1 2.5, eight 1 2 c 4 5 6.5 7.5 1]", calls.toString());
+        wire.bytes().releaseLast();
+    }
+
+    @Test
+    public void noAllocationPerCall() {
+        assumeTrue(ManagementFactory.getThreadMXBean() instanceof com.sun.management.ThreadMXBean);
+        Wire wire = WireType.BINARY.apply(Bytes.allocateElasticOnHeap(1 << 16));
+        Calls writer = wire.methodWriter(Calls.class);
+        Dto dto = new Dto(1, 2.5);
+
+        for (int arguments : new int[]{2, 4, 8}) {
+            // warm up and allocate anything needed once
+            for (int i = 0; i < 1000; i++)
+                call(wire, writer, dto, arguments, i);
+
+            long start = allocatedBytes();
+            for (int i = 0; i < CALLS; i++)
+                call(wire, writer, dto, arguments, i);
+            long allocated = allocatedBytes() - start;
+            // allow for a small fixed overhead of measuring
+            assertTrue(arguments + " arguments allocated " + allocated + " bytes", allocated < CALLS);
+        }
+        wire.bytes().releaseLast();
+    }
+
+    private static void call(Wire wire, Calls writer, Dto dto, int arguments, int i) {
+        wire.bytes().clear();
+        switch (arguments) {
+            case 2:
+                writer.two(i, i);
+                break;
+            case 4:
+                writer.four(i, i, i, dto);
+                break;
+            default:
+                writer.eight((byte) i, (short) i, (char) i, i, i, i, i, dto);
+                break;
+        }
+    }
+
+    interface Calls {
+        void two(int a, long b);
+
+        void four(int a, long b, double c, Dto d);
+
+        void eight(byte a, short b, char c, int d, long e, float f, double g, Dto h);
+    }
+
+    static class Dto extends SelfDescribingMarshallable {
+        int id;
+        double price;
+
+        Dto(int id, double price) {
+            this.id = id;
+            this.price = price;
+        }
+    }
+}